@@ -26,9 +26,13 @@ package net.iceyleagons.icicle.bukkit;
 
 import lombok.Getter;
 import net.iceyleagons.icicle.bukkit.impl.BukkitExecutionHandler;
+import net.iceyleagons.icicle.bukkit.impl.VirtualThreadExecutionHandler;
+import net.iceyleagons.icicle.bukkit.listeners.PlayerScopeListener;
 import net.iceyleagons.icicle.core.AbstractIcicleApplication;
+import net.iceyleagons.icicle.core.metrics.MetricsRegistry;
 import org.bukkit.Bukkit;
 import org.bukkit.Server;
+import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -37,9 +41,10 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class BukkitApplication extends AbstractIcicleApplication {
 
     private final JavaPlugin javaPlugin;
+    private PlayerScopeListener playerScopeListener;
 
     public BukkitApplication(String rootPackage, JavaPlugin javaPlugin) {
-        super(rootPackage, new BukkitExecutionHandler(javaPlugin));
+        super(rootPackage, new VirtualThreadExecutionHandler(javaPlugin));
         this.javaPlugin = javaPlugin;
 
 
@@ -49,4 +54,25 @@ public class BukkitApplication extends AbstractIcicleApplication {
         super.getBeanManager().getBeanRegistry().registerBean(JavaPlugin.class, javaPlugin);
         super.getBeanManager().getBeanRegistry().registerBean(PluginManager.class, Bukkit.getPluginManager()); //removed due to the introduction of GlobalBeanRegistry
     }
+
+    @Override
+    public void start() throws Exception {
+        super.start();
+
+        getBeanManager().getBeanRegistry().getBean(MetricsRegistry.class)
+                .ifPresent(metrics -> ((BukkitExecutionHandler) getExecutionHandler()).getMainThreadQueue().bindMetrics(metrics));
+
+        this.playerScopeListener = new PlayerScopeListener(super.getBeanManager().getBeanScopes());
+        this.playerScopeListener.openAll(javaPlugin.getServer().getOnlinePlayers());
+        javaPlugin.getServer().getPluginManager().registerEvents(playerScopeListener, javaPlugin);
+    }
+
+    @Override
+    public void shutdown() {
+        if (this.playerScopeListener != null) {
+            HandlerList.unregisterAll(this.playerScopeListener);
+        }
+
+        super.shutdown();
+    }
 }
@@ -27,6 +27,7 @@ package net.iceyleagons.icicle.bukkit.annotations;
 import net.iceyleagons.icicle.core.annotations.handlers.AnnotationHandler;
 import net.iceyleagons.icicle.core.annotations.handlers.CustomAutoCreateAnnotationHandler;
 import net.iceyleagons.icicle.utilities.lang.Autowired;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -62,4 +63,11 @@ public class EventListenerAutoCreateHandler implements CustomAutoCreateAnnotatio
 
         this.plugin.getServer().getPluginManager().registerEvents((Listener) bean, this.plugin);
     }
+
+    @Override
+    public void onDestroyed(Object bean, Class<?> type) {
+        if (bean instanceof Listener) {
+            HandlerList.unregisterAll((Listener) bean);
+        }
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.bukkit.annotations;
+
+import net.iceyleagons.icicle.core.annotations.AutoCreate;
+import net.iceyleagons.icicle.core.annotations.scope.Scope;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Every online player gets its own instance of the bean: instances are created when the player joins, and released when they quit.
+ * Beans implementing {@link net.iceyleagons.icicle.core.beans.scope.Poolable} are reset and reused for the next joining player.
+ * <p>
+ * Instances can be retrieved by the player's unique id:
+ * <pre>beanScopes.&lt;UUID&gt;getStore(PlayerScoped.SCOPE).get(player.getUniqueId(), MyBean.class)</pre>
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 17, 2022
+ */
+@AutoCreate
+@Scope(PlayerScoped.SCOPE)
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface PlayerScoped {
+
+    String SCOPE = "player";
+}
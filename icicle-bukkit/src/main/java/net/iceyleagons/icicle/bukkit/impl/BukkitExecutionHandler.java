@@ -24,115 +24,59 @@
 
 package net.iceyleagons.icicle.bukkit.impl;
 
-import lombok.RequiredArgsConstructor;
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.execution.AbstractExecutionHandler;
 import net.iceyleagons.icicle.core.utils.ExecutionHandler;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitScheduler;
 
-import java.util.concurrent.Callable;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
-@RequiredArgsConstructor
-public class BukkitExecutionHandler implements ExecutionHandler {
+/**
+ * {@link ExecutionHandler} backed by the Bukkit scheduler: the queued main-thread work and the main-thread timers are handled by a single
+ * repeating task (see {@link AbstractExecutionHandler}), the async work is run by the async scheduler of Bukkit.
+ *
+ * @author TOTHTOMI
+ * @version 1.4.0
+ * @since Nov. 13, 2021
+ */
+public class BukkitExecutionHandler extends AbstractExecutionHandler {
 
     private final JavaPlugin javaPlugin;
     private final BukkitScheduler scheduler = Bukkit.getScheduler();
 
-    @Override
-    public <T> CompletableFuture<T> runSync(Callable<T> callable) {
-        CompletableFuture<T> completableFuture = new CompletableFuture<>();
-
-        scheduler.runTask(this.javaPlugin, () -> {
-            try {
-                completableFuture.complete(callable.call());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
-
-        return completableFuture;
+    public BukkitExecutionHandler(JavaPlugin javaPlugin) {
+        this(javaPlugin, Icicle.MAIN_THREAD_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
     }
 
-    @Override
-    public <T> CompletableFuture<T> runSyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay) {
-        CompletableFuture<T> completableFuture = new CompletableFuture<>();
-
-        scheduler.runTaskLater(this.javaPlugin, () -> {
-            try {
-                completableFuture.complete(callable.call());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, timeUnit.toSeconds(delay) * 20);
-
-        return completableFuture;
+    /**
+     * @param javaPlugin the plugin owning the tasks
+     * @param budget     the time the queued main-thread tasks can take per tick
+     * @param unit       the unit of the budget
+     */
+    public BukkitExecutionHandler(JavaPlugin javaPlugin, long budget, TimeUnit unit) {
+        super(javaPlugin.getName(), budget, unit);
+        this.javaPlugin = javaPlugin;
     }
 
     @Override
-    public <T> CompletableFuture<T> runSyncPeriodically(Callable<T> callable, TimeUnit periodUnit, long period, TimeUnit delayUnit, long delay) {
-        CompletableFuture<T> completableFuture = new CompletableFuture<>();
-
-        scheduler.runTaskTimer(this.javaPlugin, () -> {
-            try {
-                T obj = callable.call();
-
-                if (!completableFuture.isDone())
-                    completableFuture.complete(obj);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, delayUnit.toSeconds(delay) * 20L, periodUnit.toSeconds(period) * 20);
-
-        return completableFuture;
+    protected void startTicking() {
+        scheduler.runTaskTimer(this.javaPlugin, this::tick, 0L, 1L);
     }
 
     @Override
-    public <T> CompletableFuture<T> runAsync(Callable<T> callable) {
-        CompletableFuture<T> completableFuture = new CompletableFuture<>();
-
-        scheduler.runTaskAsynchronously(this.javaPlugin, () -> {
-            try {
-                completableFuture.complete(callable.call());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        });
-
-        return completableFuture;
-    }
-
-    @Override
-    public <T> CompletableFuture<T> runAsyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay) {
-        CompletableFuture<T> completableFuture = new CompletableFuture<>();
-
-        scheduler.runTaskLaterAsynchronously(this.javaPlugin, () -> {
-            try {
-                completableFuture.complete(callable.call());
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, timeUnit.toSeconds(delay) * 20);
-
-        return completableFuture;
+    public boolean isMainThread() {
+        return Bukkit.isPrimaryThread();
     }
 
+    /**
+     * Runs the task off the main thread. By default it is handed over to the async scheduler of Bukkit.
+     *
+     * @param task the task to run
+     */
     @Override
-    public <T> CompletableFuture<T> runAsyncPeriodically(Callable<T> callable, TimeUnit periodUnit, long period, TimeUnit delayUnit, long delay) {
-        CompletableFuture<T> completableFuture = new CompletableFuture<>();
-
-        scheduler.runTaskTimerAsynchronously(this.javaPlugin, () -> {
-            try {
-                T obj = callable.call();
-
-                if (!completableFuture.isDone())
-                    completableFuture.complete(obj);
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }, delayUnit.toSeconds(delay) * 20L, periodUnit.toSeconds(period) * 20);
-
-        return completableFuture;
+    protected void executeAsync(Runnable task) {
+        scheduler.runTaskAsynchronously(this.javaPlugin, task);
     }
 }
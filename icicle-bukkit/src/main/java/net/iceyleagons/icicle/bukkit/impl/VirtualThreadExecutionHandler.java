@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.bukkit.impl;
+
+import net.iceyleagons.icicle.core.execution.AsyncExecutors;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * {@link BukkitExecutionHandler} running the async work on virtual threads (where supported, see {@link AsyncExecutors})
+ * instead of the async scheduler of Bukkit, whose pool creates a new platform thread for every blocking task.
+ * The main-thread work is still handled by the Bukkit scheduler.
+ * <p>
+ * Delayed and periodic async tasks are still timed by the async timer of the handler, which only hands them over to the executor.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class VirtualThreadExecutionHandler extends BukkitExecutionHandler {
+
+    private final ExecutorService executor;
+
+    public VirtualThreadExecutionHandler(JavaPlugin javaPlugin) {
+        super(javaPlugin);
+        this.executor = AsyncExecutors.newAsyncExecutor(javaPlugin.getName());
+    }
+
+    @Override
+    protected void executeAsync(Runnable task) {
+        executor.execute(task);
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        executor.shutdown();
+    }
+}
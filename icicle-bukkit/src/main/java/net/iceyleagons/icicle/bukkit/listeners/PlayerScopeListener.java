@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.bukkit.listeners;
+
+import net.iceyleagons.icicle.bukkit.annotations.PlayerScoped;
+import net.iceyleagons.icicle.core.beans.scope.BeanScopes;
+import net.iceyleagons.icicle.core.beans.scope.ScopedBeanStore;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Opens and closes the {@link PlayerScoped} contexts of an application as players join and quit.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 17, 2022
+ */
+public class PlayerScopeListener implements Listener {
+
+    private final ScopedBeanStore<UUID> store;
+
+    public PlayerScopeListener(BeanScopes beanScopes) {
+        this.store = beanScopes.getStore(PlayerScoped.SCOPE);
+    }
+
+    /**
+     * Opens the context of the players already online (ex. after a reload).
+     *
+     * @param players the online players
+     */
+    public void openAll(Collection<? extends Player> players) {
+        for (Player player : players) {
+            store.open(player.getUniqueId());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        store.open(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        store.close(event.getPlayer().getUniqueId());
+    }
+}
@@ -28,9 +28,11 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import net.iceyleagons.icicle.utilities.ReflectionUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandMap;
 import org.bukkit.command.PluginCommand;
+import org.bukkit.command.SimpleCommandMap;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -38,7 +40,9 @@ import org.bukkit.plugin.java.JavaPlugin;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @since Nov. 1, 2021
@@ -96,4 +100,35 @@ public class CommandInjector {
             throw new CommandInjectionException(command, e);
         }
     }
+
+    /**
+     * Removes every command (label) injected with the supplied executor, ex. when the bean behind it is reloaded.
+     *
+     * @param command         the command (only used for error messages)
+     * @param commandExecutor the executor of the command
+     * @throws CommandInjectionException if errors happen during the removal
+     */
+    @SuppressWarnings("unchecked")
+    public void removeCommand(@NonNull String command, @NonNull CommandExecutor commandExecutor) throws CommandInjectionException {
+        try {
+            final Field bukkitCommandMap = ReflectionUtils.getField(Bukkit.getServer().getClass(), "commandMap", true);
+            if (bukkitCommandMap == null) throw new CommandInjectionException(command, "CommandMap is unavailable");
+
+            CommandMap commandMap = (CommandMap) bukkitCommandMap.get(Bukkit.getServer());
+            Map<String, Command> knownCommands = (Map<String, Command>) ReflectionUtils.getField(SimpleCommandMap.class, "knownCommands", true).get(commandMap);
+
+            // the command is registered with its fallback prefix ("plugin:command") as well
+            Iterator<Command> iterator = knownCommands.values().iterator();
+            while (iterator.hasNext()) {
+                Command known = iterator.next();
+
+                if (known instanceof PluginCommand && ((PluginCommand) known).getExecutor() == commandExecutor) {
+                    iterator.remove();
+                    known.unregister(commandMap);
+                }
+            }
+        } catch (Exception e) {
+            throw new CommandInjectionException(command, e);
+        }
+    }
 }
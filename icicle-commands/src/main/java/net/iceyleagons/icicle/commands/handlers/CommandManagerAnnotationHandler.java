@@ -36,6 +36,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.lang.annotation.Annotation;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
 
 /**
@@ -70,4 +71,18 @@ public class CommandManagerAnnotationHandler implements CustomAutoCreateAnnotati
 
         PerformanceLog.end(application);
     }
+
+    @Override
+    public void onDestroyed(Object bean, Class<?> type) throws Exception {
+        Iterator<RegisteredCommandManager> iterator = commandService.getCommandManagers().iterator();
+        while (iterator.hasNext()) {
+            RegisteredCommandManager manager = iterator.next();
+            if (manager.getOrigin() != bean) continue;
+
+            iterator.remove();
+            if (!manager.getCommandManager().isSubCommand()) {
+                commandService.getInjector().removeCommand(manager.getCommandManager().value().toLowerCase(), manager);
+            }
+        }
+    }
 }
@@ -57,4 +57,11 @@ public class CommandMiddlewareAnnotationHandler implements CustomAutoCreateAnnot
             commandService.getMiddlewareStore().registerMiddleware((CommandMiddlewareTemplate) bean, type, type.getAnnotation(CommandMiddleware.class));
         }
     }
+
+    @Override
+    public void onDestroyed(Object bean, Class<?> type) {
+        if (bean instanceof CommandMiddlewareTemplate) {
+            commandService.getMiddlewareStore().unregisterMiddleware((CommandMiddlewareTemplate) bean, type);
+        }
+    }
 }
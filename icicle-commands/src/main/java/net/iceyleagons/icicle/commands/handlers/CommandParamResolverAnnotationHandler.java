@@ -76,4 +76,9 @@ public class CommandParamResolverAnnotationHandler implements CustomAutoCreateAn
 
         PerformanceLog.end(this.application);
     }
+
+    @Override
+    public void onDestroyed(Object bean, Class<?> type) {
+        commandService.getParamResolvers().values().removeIf(resolver -> resolver == bean);
+    }
 }
@@ -35,6 +35,7 @@ import net.iceyleagons.icicle.commands.annotations.meta.Alias;
 import net.iceyleagons.icicle.commands.annotations.meta.Usage;
 import net.iceyleagons.icicle.commands.annotations.params.FlagOptional;
 import net.iceyleagons.icicle.commands.annotations.params.Optional;
+import net.iceyleagons.icicle.commands.command.CommandExecutionEvent;
 import net.iceyleagons.icicle.commands.command.CommandNotFoundException;
 import net.iceyleagons.icicle.commands.command.RegisteredCommand;
 import net.iceyleagons.icicle.commands.middleware.CommandMiddlewareTemplate;
@@ -142,9 +143,14 @@ public class RegisteredCommandManager implements CommandExecutor, TabCompleter {
     }
 
     private String handleCommand(RegisteredCommand toExecute, String[] args, CommandSender commandSender) throws Exception {
+        CommandExecutionEvent event = CommandExecutionEvent.start();
+        boolean successful = false;
+
         try {
             Object[] params = getParams(toExecute.getMethod().getParameters(), args, commandSender);
-            return toExecute.execute(params);
+            String result = toExecute.execute(params);
+            successful = true;
+            return result;
         } catch (IllegalArgumentException e) {
             String usage;
             if (toExecute.getUsage() == null) {
@@ -159,6 +165,8 @@ public class RegisteredCommandManager implements CommandExecutor, TabCompleter {
             }
 
             throw new IllegalArgumentException("Too few arguments!\nUsage: " + usage);
+        } finally {
+            event.finish(toExecute, args.length, successful);
         }
     }
 
@@ -45,6 +45,10 @@ public class MiddlewareStore {
         System.out.println("Registered: " + middlewareClass.getName());
     }
 
+    public void unregisterMiddleware(CommandMiddlewareTemplate commandMiddlewareTemplate, Class<?> middlewareClass) {
+        middlewares.remove(middlewareClass, commandMiddlewareTemplate);
+    }
+
     public CommandMiddlewareTemplate[] getMiddlewares() {
         return middlewares.values().toArray(CommandMiddlewareTemplate[]::new);
     }
@@ -45,6 +45,7 @@ dependencies {
     implementation("org.slf4j:slf4j-api:1.7.32")
     implementation("net.bytebuddy:byte-buddy:1.11.15")
     implementation("net.bytebuddy:byte-buddy-agent:1.11.15")
+    implementation("org.objenesis:objenesis:3.2")
 
     // https://mvnrepository.com/artifact/org.jetbrains.kotlin/kotlin-reflect
     implementation("org.jetbrains.kotlin:kotlin-reflect:1.5.31")
@@ -93,6 +94,22 @@ tasks.withType<Test> {
 }
 
 
+// Hot reload is a JVM-wide switch, so its tests run in their own JVM
+val hotReloadTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Runs the hot reload tests"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    systemProperty("icicle.beans.hotreload", "true")
+    filter {
+        includeTestsMatching("net.iceyleagons.test.icicle.core.bean.reload.*")
+    }
+}
+
+tasks.check {
+    dependsOn(hotReloadTest)
+}
+
 tasks.test {
     extensions.configure(JacocoTaskExtension::class) {
         setDestinationFile(file("$buildDir/jacoco/jacoco.exec"))
@@ -26,6 +26,8 @@ package net.iceyleagons.icicle.core;
 
 import net.iceyleagons.icicle.core.beans.BeanManager;
 import net.iceyleagons.icicle.core.beans.DefaultBeanManager;
+import net.iceyleagons.icicle.core.beans.index.BeanIndex;
+import net.iceyleagons.icicle.core.beans.index.ClassMetadataIndex;
 import net.iceyleagons.icicle.core.configuration.environment.ConfigurationEnvironment;
 import net.iceyleagons.icicle.core.configuration.environment.ConfigurationEnvironmentImpl;
 import net.iceyleagons.icicle.core.performance.PerformanceLog;
@@ -36,20 +38,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
 
 public abstract class AbstractIcicleApplication implements Application {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractIcicleApplication.class);
 
-    private final Reflections reflections;
+    private final String rootPackage;
+    private final BeanIndex beanIndex;
     private final ExecutionHandler executionHandler;
 
     private final BeanManager beanManager;
     private final ConfigurationEnvironment configurationEnvironment;
 
+    private Reflections reflections; // only created if something still requires classpath scanning
+
     public AbstractIcicleApplication(String rootPackage, ExecutionHandler executionHandler) {
         PerformanceLog.begin(this, "Application Creation", AbstractIcicleApplication.class);
-        this.reflections = new Reflections(rootPackage).merge(Icicle.ICICLE_REFLECTIONS);
+        this.rootPackage = rootPackage;
+        this.beanIndex = BeanIndex.load(rootPackage).merge(BeanIndex.load("net.iceyleagons.icicle", Icicle.ICICLE_CLASS_LOADERS));
         this.beanManager = new DefaultBeanManager(this);
         this.executionHandler = executionHandler;
 
@@ -69,6 +77,18 @@ public abstract class AbstractIcicleApplication implements Application {
         PerformanceLog.begin(this, "Application start", AbstractIcicleApplication.class);
         this.beanManager.scanAndCreateBeans();
         PerformanceLog.end(this);
+
+        if (PerformanceLog.isEnabled()) {
+            LOGGER.debug(PerformanceLog.dumpExecutionLog(this));
+
+            if (Icicle.PERFORMANCE_TRACE_FILE != null) {
+                try {
+                    PerformanceLog.exportChromeTrace(Path.of(Icicle.PERFORMANCE_TRACE_FILE));
+                } catch (IOException e) {
+                    LOGGER.warn("Could not export performance trace to {}.", Icicle.PERFORMANCE_TRACE_FILE, e);
+                }
+            }
+        }
     }
 
     @Override
@@ -76,6 +96,9 @@ public abstract class AbstractIcicleApplication implements Application {
         LOGGER.info("Shutting down Icicle application named: TODO");
         this.beanManager.cleanUp();
         this.configurationEnvironment.cleanUp();
+        this.executionHandler.shutdown(); // after the beans, @PreDestroy hooks may still schedule work
+        PerformanceLog.clear(this);
+        ClassMetadataIndex.getShared().evict(this.beanIndex.getRoots()); // a reloaded plugin must not see the old metadata
     }
 
     @Override
@@ -89,10 +112,19 @@ public abstract class AbstractIcicleApplication implements Application {
     }
 
     @Override
-    public Reflections getReflections() {
+    public synchronized Reflections getReflections() {
+        if (this.reflections == null) {
+            this.reflections = ClassMetadataIndex.getShared().getReflections(rootPackage);
+        }
+
         return this.reflections;
     }
 
+    @Override
+    public BeanIndex getBeanIndex() {
+        return this.beanIndex;
+    }
+
     @Override
     public ExecutionHandler getExecutionHandler() {
         return this.executionHandler;
@@ -25,6 +25,7 @@
 package net.iceyleagons.icicle.core;
 
 import net.iceyleagons.icicle.core.beans.BeanManager;
+import net.iceyleagons.icicle.core.beans.index.BeanIndex;
 import net.iceyleagons.icicle.core.configuration.environment.ConfigurationEnvironment;
 import net.iceyleagons.icicle.core.utils.ExecutionHandler;
 import org.reflections.Reflections;
@@ -41,5 +42,7 @@ public interface Application {
 
     Reflections getReflections();
 
+    BeanIndex getBeanIndex();
+
     ExecutionHandler getExecutionHandler();
 }
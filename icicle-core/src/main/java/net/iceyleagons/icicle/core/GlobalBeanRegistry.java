@@ -28,12 +28,16 @@ import net.iceyleagons.icicle.core.beans.BeanRegistry;
 import net.iceyleagons.icicle.utilities.Asserts;
 import net.iceyleagons.icicle.utilities.ReflectionUtils;
 import net.iceyleagons.icicle.utilities.lang.Experimental;
+import net.iceyleagons.icicle.utilities.lang.Internal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * @author TOTHTOMI
@@ -47,6 +51,7 @@ public class GlobalBeanRegistry implements BeanRegistry {
     private static final Logger logger = LoggerFactory.getLogger(GlobalBeanRegistry.class);
     private static final Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
     private static boolean registered = false;
+    private static final AtomicInteger version = new AtomicInteger(); // incremented on every change, so registries caching our beans know when to refresh
 
     public GlobalBeanRegistry() {
         if (registered) {
@@ -59,12 +64,28 @@ public class GlobalBeanRegistry implements BeanRegistry {
         INSTANCE.registerBean(service, provider);
     }
 
+    /**
+     * @return the current version of the registry, changes every time a bean is (un)registered
+     */
+    @Internal
+    public static int getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return an unmodifiable view of the registered beans
+     */
+    @Internal
+    public static Map<Class<?>, Object> getRegisteredBeans() {
+        return Collections.unmodifiableMap(beans);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public <T> Optional<T> getBean(Class<T> type) {
-        return beans.containsKey(type) ? Optional.ofNullable(ReflectionUtils.castIfNecessary(type, beans.get(type))) : Optional.empty();
+        return Optional.ofNullable(getBeanNullable(type));
     }
 
     /**
@@ -72,7 +93,7 @@ public class GlobalBeanRegistry implements BeanRegistry {
      */
     @Override
     public <T> T getBeanNullable(Class<T> type) {
-        return beans.containsKey(type) ? ReflectionUtils.castIfNecessary(type, beans.get(type)) : null;
+        return ReflectionUtils.castIfNecessary(type, beans.get(type));
     }
 
     /**
@@ -83,6 +104,14 @@ public class GlobalBeanRegistry implements BeanRegistry {
         return beans.containsKey(type);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isResolvable(Class<?> type) {
+        return isRegistered(type); // supertypes are indexed by the registries delegating to this one
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -92,6 +121,7 @@ public class GlobalBeanRegistry implements BeanRegistry {
 
         if (!isRegistered(type)) {
             beans.put(type, object);
+            version.incrementAndGet();
             logger.info("Registered bean of type: {}", type.getName());
             return;
         }
@@ -107,6 +137,16 @@ public class GlobalBeanRegistry implements BeanRegistry {
         this.registerBean(object.getClass(), object);
     }
 
+    /**
+     * Not supported, scoped beans are bound to an application.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void registerProvider(Class<?> type, Supplier<?> provider) {
+        throw new UnsupportedOperationException("Providers cannot be registered into the global bean registry!");
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -114,6 +154,7 @@ public class GlobalBeanRegistry implements BeanRegistry {
     public void unregisterBean(Class<?> type) {
         logger.debug("Unregistering bean of type {}", type.getName());
         beans.remove(type);
+        version.incrementAndGet();
     }
 
     /**
@@ -123,5 +164,6 @@ public class GlobalBeanRegistry implements BeanRegistry {
     public void cleanUp() {
         logger.info("Cleaning up...");
         beans.clear();
+        version.incrementAndGet();
     }
 }
@@ -28,7 +28,6 @@ package net.iceyleagons.icicle.core;
 import net.iceyleagons.icicle.core.maven.MavenDependency;
 import net.iceyleagons.icicle.core.maven.MavenLibraryLoader;
 import net.iceyleagons.icicle.core.proxy.ByteBuddyProxyHandler;
-import org.reflections.Reflections;
 
 import java.net.URL;
 import java.net.URLClassLoader;
@@ -44,14 +43,31 @@ public class Icicle {
 
     public static final String ICICLE_VERSION = "1.0.0";
 
-    public static final boolean PERFORMANCE_DEBUG = true;
+    // Initial state of the PerformanceLog (it can be switched at runtime with PerformanceLog#setEnabled), can be enabled with -Dicicle.performance.debug=true
+    public static final boolean PERFORMANCE_DEBUG = Boolean.getBoolean("icicle.performance.debug");
+    // Exports the PerformanceLog (in Chrome trace-event format) to this file after every application start, ex. -Dicicle.performance.trace=icicle-trace.json
+    public static final String PERFORMANCE_TRACE_FILE = System.getProperty("icicle.performance.trace");
+    // Creates independent beans in parallel (level-by-level), can be enabled with -Dicicle.beans.parallel=true
+    public static final boolean PARALLEL_BEAN_CREATION = Boolean.getBoolean("icicle.beans.parallel");
+    // Stores the generated proxy classes in icicleCache/proxies, so they don't have to be generated on every startup. Can be disabled with -Dicicle.proxy.cache=false
+    public static final boolean PROXY_CLASS_CACHE = !"false".equals(System.getProperty("icicle.proxy.cache"));
+    // Replays the bean graph resolved in the previous startup (stored in icicleCache/snapshots) if the jars haven't changed. Can be disabled with -Dicicle.startup.snapshot=false
+    public static final boolean STARTUP_SNAPSHOT = !"false".equals(System.getProperty("icicle.startup.snapshot"));
+    // Registers every bean through a swappable proxy, so it can be reloaded with BeanManager#reloadBean. Can be enabled with -Dicicle.beans.hotreload=true
+    public static final boolean HOT_RELOAD = Boolean.getBoolean("icicle.beans.hotreload");
+    // Maximum time (in milliseconds) the @PreDestroy hooks of an application can take altogether, can be changed with -Dicicle.shutdown.timeout=<millis>
+    public static final long SHUTDOWN_TIMEOUT_MILLIS = Long.getLong("icicle.shutdown.timeout", 10000L);
+    // Time (in milliseconds) the queued main-thread tasks of an application can take per tick (the rest is carried over), can be changed with -Dicicle.sync.budget=<millis>
+    public static final long MAIN_THREAD_BUDGET_MILLIS = Long.getLong("icicle.sync.budget", 5L);
+    // Runs the async work on virtual threads where the JVM supports them, can be disabled with -Dicicle.async.virtual=false
+    public static final boolean VIRTUAL_THREADS = !"false".equals(System.getProperty("icicle.async.virtual"));
+    // Maximum amount of async threads of an application, if virtual threads are not used. Can be changed with -Dicicle.async.parallelism=<threads>
+    public static final int ASYNC_PARALLELISM = Integer.getInteger("icicle.async.parallelism", Math.max(16, Runtime.getRuntime().availableProcessors() * 4));
     public static final ClassLoader ICICLE_CLASS_LOADER = URLClassLoader.newInstance(new URL[0], Icicle.class.getClassLoader());
 
     // In newer version of Java, the default class loader is AppClassLoader, which cannot be cast to URLClassLoader, so we do it this way:
     public static final ClassLoader[] ICICLE_CLASS_LOADERS = new ClassLoader[]{ICICLE_CLASS_LOADER};
 
-
-    public static final Reflections ICICLE_REFLECTIONS = new Reflections("net.iceyleagons.icicle", ICICLE_CLASS_LOADERS);
     // TODO Gradle plugin --> icicle.yml and the core searches for its dependencies rather than this \/
     public static final MavenDependency[] CORE_DEPENDENCIES = new MavenDependency[]{
             new MavenDependency("net.bytebuddy", "byte-buddy", "1.11.15", MavenLibraryLoader.MAVEN_CENTRAL_REPO),
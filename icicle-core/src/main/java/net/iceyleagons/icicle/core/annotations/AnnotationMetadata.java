@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.annotations;
+
+import net.iceyleagons.icicle.core.annotations.scope.Scope;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+
+/**
+ * Cached annotation metadata of a class: its annotations and their meta-annotations (transitively), with the lookups
+ * needed during bean creation precomputed.
+ * <p>
+ * The metadata is computed once per class (stored in a {@link ClassValue}), so every further query is O(1) and does not
+ * allocate (unlike {@link Class#getAnnotations()}, which copies its array on every call).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @see MergedAnnotationResolver
+ * @since Mar. 21, 2022
+ */
+public final class AnnotationMetadata {
+
+    private static final ClassValue<AnnotationMetadata> CACHE = new ClassValue<>() {
+        @Override
+        protected AnnotationMetadata computeValue(Class<?> type) {
+            return new AnnotationMetadata(type);
+        }
+    };
+
+    private final List<Class<? extends Annotation>> annotations;
+    private final Set<Class<? extends Annotation>> mergedAnnotations;
+    private final boolean autoCreate;
+    private final String scope;
+
+    private AnnotationMetadata(Class<?> type) {
+        Annotation[] declared = type.getAnnotations();
+        List<Class<? extends Annotation>> annotations = new ArrayList<>(declared.length);
+        Set<Class<? extends Annotation>> merged = new HashSet<>();
+        Deque<Class<? extends Annotation>> stack = new ArrayDeque<>();
+        String scope = null;
+
+        for (Annotation annotation : declared) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            annotations.add(annotationType);
+            stack.push(annotationType);
+
+            Scope scopeAnnotation = annotationType.getAnnotation(Scope.class);
+            if (scope == null && scopeAnnotation != null) {
+                scope = scopeAnnotation.value();
+            }
+        }
+
+        while (!stack.isEmpty()) {
+            Class<? extends Annotation> current = stack.pop();
+            if (current.getName().startsWith("java.lang.annotation.") || !merged.add(current)) continue; // @Documented, @Retention, etc. annotate themselves
+
+            for (Annotation meta : current.getAnnotations()) {
+                stack.push(meta.annotationType());
+            }
+        }
+
+        this.annotations = Collections.unmodifiableList(annotations);
+        this.mergedAnnotations = Collections.unmodifiableSet(merged);
+        this.autoCreate = merged.contains(AutoCreate.class);
+        this.scope = scope;
+    }
+
+    /**
+     * @param type the class
+     * @return the (cached) metadata of the class
+     */
+    public static AnnotationMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * @return the types of the annotations present on the class (same as {@link Class#getAnnotations()})
+     */
+    public List<Class<? extends Annotation>> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * @return the annotations present on the class and all of their meta-annotations (excluding the ones from java.lang.annotation)
+     */
+    public Set<Class<? extends Annotation>> getMergedAnnotations() {
+        return mergedAnnotations;
+    }
+
+    /**
+     * @param annotation the annotation
+     * @return true if the class is annotated with the annotation directly or through meta-annotations
+     */
+    public boolean isAnnotated(Class<? extends Annotation> annotation) {
+        return mergedAnnotations.contains(annotation);
+    }
+
+    /**
+     * @return true if the class is annotated with @{@link AutoCreate} (directly or through meta-annotations)
+     */
+    public boolean isAutoCreate() {
+        return autoCreate;
+    }
+
+    /**
+     * @return the value of the @{@link Scope} of the first annotation having one, or null if there's none
+     */
+    @Nullable
+    public String getScope() {
+        return scope;
+    }
+}
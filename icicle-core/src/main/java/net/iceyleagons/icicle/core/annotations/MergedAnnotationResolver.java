@@ -25,6 +25,7 @@
 package net.iceyleagons.icicle.core.annotations;
 
 import lombok.Getter;
+import net.iceyleagons.icicle.core.beans.index.BeanIndex;
 import net.iceyleagons.icicle.utilities.lang.Internal;
 import org.reflections.Reflections;
 
@@ -39,13 +40,17 @@ public class MergedAnnotationResolver {
 
     private final Class<? extends Annotation> annotation;
     private final Set<Class<? extends Annotation>> childrenAnnotations;
-    private final Reflections reflections;
+    private final BeanIndex beanIndex;
 
     public MergedAnnotationResolver(Class<? extends Annotation> annotation, Reflections reflections) {
+        this(annotation, BeanIndex.fromReflections(reflections));
+    }
+
+    public MergedAnnotationResolver(Class<? extends Annotation> annotation, BeanIndex beanIndex) {
         this.annotation = annotation;
-        this.reflections = reflections;
+        this.beanIndex = beanIndex;
 
-        this.childrenAnnotations = getChildren(reflections);
+        this.childrenAnnotations = getChildren(beanIndex);
         this.childrenAnnotations.add(annotation); //we want to add the "root" annotation as well, because non-annotation types may annotate it
     }
 
@@ -54,7 +59,7 @@ public class MergedAnnotationResolver {
 
         for (Class<? extends Annotation> childrenAnnotation : childrenAnnotations) {
             result.addAll(
-                    reflections.getTypesAnnotatedWith(childrenAnnotation)
+                    beanIndex.getTypesAnnotatedWith(childrenAnnotation)
                             .stream().filter(c -> !c.isAnnotation()).collect(Collectors.toSet())
             );
         }
@@ -63,11 +68,7 @@ public class MergedAnnotationResolver {
     }
 
     public boolean isAnnotated(Class<?> clazz) {
-        for (Annotation clazzAnnotation : clazz.getAnnotations()) {
-            if (childrenAnnotations.contains(clazzAnnotation.annotationType())) return true;
-        }
-
-        return false;
+        return AnnotationMetadata.of(clazz).isAnnotated(annotation);
     }
 
     @Internal
@@ -76,7 +77,7 @@ public class MergedAnnotationResolver {
     }
 
     @SuppressWarnings("unchecked")
-    private Set<Class<? extends Annotation>> getChildren(Reflections reflections) {
+    private Set<Class<? extends Annotation>> getChildren(BeanIndex beanIndex) {
         Set<Class<? extends Annotation>> children = new HashSet<>();
         Stack<Class<? extends Annotation>> stack = new Stack<>();
 
@@ -88,7 +89,7 @@ public class MergedAnnotationResolver {
             if (!children.contains(current)) {
                 children.add(current);
 
-                for (Class<?> aClass : reflections.getTypesAnnotatedWith(current)) {
+                for (Class<?> aClass : beanIndex.getTypesAnnotatedWith(current)) {
                     if (!children.contains(aClass) && aClass.isAnnotation()) {
                         stack.add((Class<? extends Annotation>) aClass);
                     }
@@ -24,6 +24,8 @@
 
 package net.iceyleagons.icicle.core.annotations.execution;
 
+import net.iceyleagons.icicle.core.execution.TaskPriority;
+
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
@@ -33,4 +35,9 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Target(METHOD)
 @Retention(RUNTIME)
 public @interface Sync {
+
+    /**
+     * @return the priority of the call in the main thread's queue (only used for immediate execution)
+     */
+    TaskPriority priority() default TaskPriority.NORMAL;
 }
@@ -24,6 +24,8 @@
 
 package net.iceyleagons.icicle.core.annotations.execution.extra;
 
+import net.iceyleagons.icicle.core.execution.CatchUpPolicy;
+
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.util.concurrent.TimeUnit;
@@ -32,8 +34,11 @@ import static java.lang.annotation.ElementType.METHOD;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 /**
+ * Runs the method periodically, delayed by {@link After} if present.
+ * If the method returns {@link net.iceyleagons.icicle.core.execution.ScheduledTask}, the proxy returns the handle of the task (to cancel, pause or reschedule it).
+ *
  * @author TOTHTOMI
- * @version 1.0.0
+ * @version 1.1.0
  * @since Nov. 14, 2021
  */
 @Target(METHOD)
@@ -44,4 +49,11 @@ public @interface Periodically {
 
     TimeUnit unit();
 
+    /**
+     * @return the maximum of the random extra initial delay (in {@link #unit()}), spreading tasks with the same period across ticks
+     */
+    long jitter() default 0;
+
+    CatchUpPolicy catchUp() default CatchUpPolicy.SKIP;
+
 }
@@ -36,4 +36,15 @@ public interface CustomAutoCreateAnnotationHandler {
 
     void onCreated(Object bean, Class<?> type) throws Exception;
 
+    /**
+     * Called when a bean passed to {@link #onCreated(Object, Class)} is destroyed while the application keeps running (ex. hot reload),
+     * before its @{@link net.iceyleagons.icicle.core.annotations.PreDestroy} methods run. Registrations bound to the bean should be removed here,
+     * the replacing instance is passed to {@link #onCreated(Object, Class)} afterwards.
+     *
+     * @param bean the destroyed bean
+     * @param type the type of the bean
+     * @throws Exception if the bean cannot be unregistered
+     */
+    default void onDestroyed(Object bean, Class<?> type) throws Exception {
+    }
 }
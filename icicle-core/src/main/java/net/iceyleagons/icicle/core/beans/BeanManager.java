@@ -26,6 +26,7 @@ package net.iceyleagons.icicle.core.beans;
 
 import net.iceyleagons.icicle.core.beans.resolvers.ConstructorParameterResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.DependencyTreeResolver;
+import net.iceyleagons.icicle.core.beans.scope.BeanScopes;
 import net.iceyleagons.icicle.core.exceptions.BeanCreationException;
 import net.iceyleagons.icicle.core.exceptions.CircularDependencyException;
 import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
@@ -69,9 +70,28 @@ public interface BeanManager {
      */
     void createAndRegisterBean(Class<?> beanClass) throws Exception;
 
+    /**
+     * Re-creates the bean of the supplied type and every bean depending on it (directly or indirectly), without touching the rest of the application.
+     * The classes of the reloaded beans are redefined with their current class files first (only method bodies can be changed),
+     * then the new instances are created in dependency order. Only if all of them could be created, the old instances are unbound from the
+     * custom auto-create annotation handlers, their {@link net.iceyleagons.icicle.core.annotations.PreDestroy} hooks are called,
+     * and the new instances take their place: they are passed to the handlers and their @{@link net.iceyleagons.icicle.core.annotations.Bean} methods
+     * are called again (replacing the products of the old instances).
+     * <p>
+     * Requires {@link net.iceyleagons.icicle.core.Icicle#HOT_RELOAD}: every bean is registered through an indirection proxy,
+     * whose target is swapped atomically, so the references held by others (including the ones outside the reloaded subgraph) point to the new bean.
+     *
+     * @param beanClass the type of the bean to reload
+     * @throws IllegalStateException          if hot reload is disabled
+     * @throws IllegalArgumentException       if the bean has not been created by this manager (yet)
+     * @throws BeanCreationException          if a class cannot be redefined, or any other exception prevents the creation of a bean
+     * @throws UnsatisfiedDependencyException if a bean cannot be created due to missing dependencies
+     */
+    void reloadBean(Class<?> beanClass) throws Exception;
+
     /**
      * Cleans up the bean manager.
-     * (Mainly calling other classes' cleanUp method)
+     * (Calling the {@link net.iceyleagons.icicle.core.annotations.PreDestroy} hooks of the beans, then other classes' cleanUp method)
      *
      * <b>WARNING!</b> Internal method: should only be called internally by the implementation of
      * {@link net.iceyleagons.icicle.core.Application} at shutdown.
@@ -102,4 +122,9 @@ public interface BeanManager {
     Reflections getReflectionsInstance();
 
     BeanProxyHandler getProxyHandler();
+
+    /**
+     * @return the {@link BeanScopes} managing the instances of the scoped (non-singleton) beans
+     */
+    BeanScopes getBeanScopes();
 }
@@ -28,6 +28,7 @@ import net.iceyleagons.icicle.utilities.lang.Internal;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * A BeanRegistry is responsible for storing all the beans created during the application's runtime.
@@ -40,6 +41,8 @@ public interface BeanRegistry {
 
     /**
      * Returns the bean for the supplied class or an empty optional.
+     * If no bean has been registered with the class, the beans registered with one of its subtypes are considered
+     * (if multiple beans are registered with subtypes of the class, an empty optional is returned).
      *
      * @param type the class of the wanted bean
      * @param <T>  type of the bean
@@ -65,6 +68,15 @@ public interface BeanRegistry {
      */
     boolean isRegistered(Class<?> type);
 
+    /**
+     * Checks whether a bean can be looked up for the supplied class.
+     * Unlike {@link #isRegistered(Class)} this also accounts for beans registered with a subtype of the class.
+     *
+     * @param type the class to check
+     * @return true if {@link #getBean(Class)} would find a bean for this class
+     */
+    boolean isResolvable(Class<?> type);
+
     /**
      * Registers a bean with the specified class (type).
      *
@@ -80,6 +92,15 @@ public interface BeanRegistry {
      */
     void registerBean(Object object);
 
+    /**
+     * Registers a provider for the specified class (type): every lookup of the type calls the provider instead of
+     * returning a single instance. (Used for scoped beans, ex. {@link net.iceyleagons.icicle.core.annotations.scope.Prototype})
+     *
+     * @param type     the type to register the provider as
+     * @param provider the provider supplying the bean
+     */
+    void registerProvider(Class<?> type, Supplier<?> provider);
+
     /**
      * Unregister a bean from the registry.
      * <p>
@@ -25,15 +25,21 @@
 package net.iceyleagons.icicle.core.beans;
 
 import net.iceyleagons.icicle.core.Application;
+import net.iceyleagons.icicle.core.Icicle;
 import net.iceyleagons.icicle.core.annotations.AutoCreate;
 import net.iceyleagons.icicle.core.annotations.Bean;
+import net.iceyleagons.icicle.core.annotations.Lazy;
 import net.iceyleagons.icicle.core.annotations.MergedAnnotationResolver;
 import net.iceyleagons.icicle.core.annotations.config.Config;
+import net.iceyleagons.icicle.core.annotations.scope.Scope;
 import net.iceyleagons.icicle.core.annotations.handlers.AnnotationHandler;
 import net.iceyleagons.icicle.core.annotations.handlers.AutowiringAnnotationHandler;
 import net.iceyleagons.icicle.core.annotations.handlers.CustomAutoCreateAnnotationHandler;
 import net.iceyleagons.icicle.core.annotations.handlers.proxy.MethodAdviceHandler;
 import net.iceyleagons.icicle.core.annotations.handlers.proxy.MethodInterceptionHandler;
+import net.iceyleagons.icicle.core.beans.index.BeanIndex;
+import net.iceyleagons.icicle.core.beans.lifecycle.BeanDependencies;
+import net.iceyleagons.icicle.core.beans.lifecycle.BeanDestroyer;
 import net.iceyleagons.icicle.core.beans.resolvers.AutowiringAnnotationResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.ConstructorParameterResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.CustomAutoCreateAnnotationResolver;
@@ -42,15 +48,21 @@ import net.iceyleagons.icicle.core.beans.resolvers.impl.DelegatingAutowiringAnno
 import net.iceyleagons.icicle.core.beans.resolvers.impl.DelegatingConstructorParameterResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.impl.DelegatingCustomAutoCreateAnnotationResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.impl.DelegatingDependencyTreeResolver;
+import net.iceyleagons.icicle.core.beans.scope.BeanScopes;
+import net.iceyleagons.icicle.core.beans.snapshot.StartupSnapshot;
 import net.iceyleagons.icicle.core.configuration.Configuration;
 import net.iceyleagons.icicle.core.exceptions.BeanCreationException;
 import net.iceyleagons.icicle.core.exceptions.CircularDependencyException;
 import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
 import net.iceyleagons.icicle.core.performance.PerformanceLog;
+import net.iceyleagons.icicle.core.performance.jfr.BeanInstantiationEvent;
+import net.iceyleagons.icicle.core.performance.jfr.DependencyResolutionEvent;
 import net.iceyleagons.icicle.core.proxy.BeanProxyHandler;
 import net.iceyleagons.icicle.core.proxy.ByteBuddyProxyHandler;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodAdviceHandlerTemplate;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodInterceptorHandlerTemplate;
+import net.iceyleagons.icicle.core.proxy.swap.BeanClassRedefiner;
+import net.iceyleagons.icicle.core.proxy.swap.SwappableBeanHandler;
 import net.iceyleagons.icicle.core.utils.BeanUtils;
 import net.iceyleagons.icicle.utilities.file.AdvancedFile;
 import org.reflections.Reflections;
@@ -62,7 +74,17 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Default implementation of {@link BeanManager}.
@@ -78,9 +100,13 @@ public class DefaultBeanManager implements BeanManager {
     private final BeanRegistry beanRegistry;
     private final DependencyTreeResolver dependencyTreeResolver;
     private final ConstructorParameterResolver constructorParameterResolver;
-    private final Reflections reflections;
 
     private final BeanProxyHandler beanProxyHandler;
+    private final BeanScopes beanScopes = new BeanScopes();
+    private final Set<Class<?>> scopedBeansWithDependencies = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, BeanCreation> beanCreations = new ConcurrentHashMap<>(); // creations in progress
+    private final Map<Class<?>, Object> createdBeans = Collections.synchronizedMap(new LinkedHashMap<>()); // in creation order, used at shutdown
+    private final Map<Class<?>, SwappableBeanHandler> swappableBeans = new ConcurrentHashMap<>(); // only used with Icicle.HOT_RELOAD
 
     private final MergedAnnotationResolver autoCreationAnnotationResolver;
 
@@ -88,17 +114,18 @@ public class DefaultBeanManager implements BeanManager {
     private final CustomAutoCreateAnnotationResolver customAutoCreateAnnotationResolver;
 
     private final Application application;
+    private List<Class<?>> creationOrder = Collections.emptyList();
 
     public DefaultBeanManager(Application application) {
         this.application = application;
-        this.reflections = application.getReflections();
 
         this.beanRegistry = new DelegatingBeanRegistry();
         this.beanRegistry.registerBean(BeanRegistry.class, beanRegistry);
         this.beanRegistry.registerBean(DelegatingBeanRegistry.class, beanRegistry);
+        this.beanRegistry.registerBean(BeanScopes.class, beanScopes);
 
         PerformanceLog.begin(application, "AutoCreate Ann. Res. Creation & Scanning", DefaultBeanManager.class);
-        this.autoCreationAnnotationResolver = new MergedAnnotationResolver(AutoCreate.class, reflections);
+        this.autoCreationAnnotationResolver = new MergedAnnotationResolver(AutoCreate.class, application.getBeanIndex());
         PerformanceLog.end(application);
 
         this.autowiringAnnotationResolver = new DelegatingAutowiringAnnotationResolver();
@@ -265,6 +292,235 @@ public class DefaultBeanManager implements BeanManager {
         PerformanceLog.end(application);
     }
 
+    /**
+     * Registers a lazy proxy for all the {@link Lazy} beans, the real beans are created on their first method call.
+     * Beans, that cannot be proxied lazily (final classes and the ones declaring @{@link Bean} methods), are left in the set to be created eagerly.
+     *
+     * @param autoCreationTypes the set of all the {@link AutoCreate} annotated types from {@link MergedAnnotationResolver}
+     *                          (this method calls {@link #getAndRemoveTypesAnnotatedWith(Class, Set)} with this parameter)
+     * @throws BeanCreationException if a lazy proxy cannot be created
+     * @see Lazy
+     * @see BeanProxyHandler#createLazyBean(Class, Callable)
+     */
+    private void createLazyBeans(Set<Class<?>> autoCreationTypes) throws Exception {
+        PerformanceLog.begin(application, "Creating lazy bean proxies", DefaultBeanManager.class);
+        Set<Class<?>> lazyBeans = getAndRemoveTypesAnnotatedWith(Lazy.class, autoCreationTypes);
+
+        for (Class<?> lazyBean : lazyBeans) {
+            if (Modifier.isFinal(lazyBean.getModifiers()) || Arrays.stream(lazyBean.getDeclaredMethods()).anyMatch(m -> m.isAnnotationPresent(Bean.class))) {
+                LOGGER.debug("Bean {} cannot be created lazily (final class or declares @Bean methods), it will be created eagerly.", lazyBean.getName());
+                autoCreationTypes.add(lazyBean);
+                continue;
+            }
+
+            if (!this.beanRegistry.isRegistered(lazyBean)) {
+                this.registerBean(lazyBean, this.beanProxyHandler.createLazyBean(lazyBean, () -> createLazyBeanInstance(lazyBean)));
+                this.createdBeans.remove(lazyBean); // the real bean is tracked once it gets created
+            }
+        }
+
+        PerformanceLog.end(application);
+    }
+
+    /**
+     * Creates the real instance behind a lazy proxy, including its not yet created dependencies.
+     * Lazy beans can be initialized from any thread, the shared dependencies are created only once by {@link #createAndRegisterBean(Class)}
+     * (no lock is held here, so the initialization cannot deadlock with threads calling other lazy proxies).
+     *
+     * @param beanClass the type of the lazy bean
+     * @return the created bean (not registered, the proxy remains in the registry)
+     */
+    private Object createLazyBeanInstance(Class<?> beanClass) throws Exception {
+        LOGGER.debug("Initializing lazy bean of type: {}", beanClass.getName());
+
+        for (Class<?> dependency : resolveDependencyTree(beanClass)) {
+            createAndRegisterBean(dependency);
+        }
+
+        Object bean = instantiateBean(beanClass);
+        this.createdBeans.put(beanClass, bean);
+        return bean;
+    }
+
+    /**
+     * Registers a provider for all the scoped beans (types annotated with a @{@link Scope} annotation) into the bean registry.
+     * Their instances are created by {@link BeanScopes} on demand, the custom auto-create annotation handlers are not called for them.
+     *
+     * @param autoCreationTypes the set of all the {@link AutoCreate} annotated types from {@link MergedAnnotationResolver}
+     *                          (scoped types are removed from it)
+     * @see BeanScopes
+     */
+    private void createScopedBeans(Set<Class<?>> autoCreationTypes) {
+        PerformanceLog.begin(application, "Registering scoped beans", DefaultBeanManager.class);
+        Iterator<Class<?>> iterator = autoCreationTypes.iterator();
+
+        while (iterator.hasNext()) {
+            Class<?> beanClass = iterator.next();
+            String scope = BeanScopes.getScope(beanClass);
+            if (scope == null) continue;
+
+            iterator.remove();
+            if (!this.beanRegistry.isRegistered(beanClass)) {
+                LOGGER.debug("Registering {} scoped bean of type: {}", scope, beanClass.getName());
+                this.beanRegistry.registerProvider(beanClass, this.beanScopes.register(scope, beanClass, () -> createScopedBeanInstance(beanClass)));
+            }
+        }
+
+        PerformanceLog.end(application);
+    }
+
+    /**
+     * Creates a new instance of a scoped bean. Its (singleton) dependencies are created on the first call.
+     *
+     * @param beanClass the type of the scoped bean
+     * @return the created instance (not registered)
+     */
+    private Object createScopedBeanInstance(Class<?> beanClass) throws Exception {
+        if (!this.scopedBeansWithDependencies.contains(beanClass)) {
+            // may run concurrently for the same type, the dependencies are still created only once
+            for (Class<?> dependency : resolveDependencyTree(beanClass)) {
+                createAndRegisterBean(dependency);
+            }
+
+            this.scopedBeansWithDependencies.add(beanClass);
+        }
+
+        return instantiateBean(beanClass);
+    }
+
+    /**
+     * Creates the passed beans one-by-one, in the topological order of the whole dependency graph (resolved only once),
+     * so every bean's dependencies are registered by the time it gets created.
+     *
+     * @param beans the beans to create
+     * @throws BeanCreationException          if any other exception prevents the creation of a bean
+     * @throws CircularDependencyException    if the beans' dependencies form one or more circles
+     * @throws UnsatisfiedDependencyException if a bean cannot be created due to missing dependencies
+     * @see DependencyTreeResolver#resolveCreationOrder(Collection)
+     */
+    private void createBeansInOrder(Set<Class<?>> beans) throws Exception {
+        PerformanceLog.begin(application, "Resolving dependency graph", DefaultBeanManager.class);
+        DependencyResolutionEvent event = DependencyResolutionEvent.start();
+        List<Class<?>> order = this.dependencyTreeResolver.resolveCreationOrder(beans);
+        event.finish(null, order.size());
+        PerformanceLog.end(application);
+
+        createBeansInOrder(order);
+    }
+
+    /**
+     * Creates the beans in the supplied order. Every bean's dependencies must precede it in the list (or be registered already).
+     *
+     * @param order the beans in topological order
+     * @throws BeanCreationException          if any other exception prevents the creation of a bean
+     * @throws UnsatisfiedDependencyException if a bean cannot be created due to missing dependencies
+     */
+    private void createBeansInOrder(List<Class<?>> order) throws Exception {
+        this.creationOrder = order;
+
+        for (Class<?> beanClass : order) {
+            if (beanClass == String.class || beanClass.isPrimitive() || this.beanRegistry.isRegistered(beanClass)) continue;
+
+            Object bean = instantiateBean(beanClass);
+            this.registerBean(beanClass, bean);
+            callBeanMethodsInsideBean(beanClass, bean);
+        }
+    }
+
+    /**
+     * Creates the passed beans level-by-level: the whole dependency graph is resolved once, then the beans of every level
+     * (which are independent of each other) are instantiated in parallel on a {@link ForkJoinPool}, including their proxies.
+     * <p>
+     * Registration (and with that, the custom auto-create annotation handlers and @{@link Bean} methods) happens on the
+     * calling thread after every level, in a deterministic order, because those handlers are not expected to be thread-safe.
+     *
+     * @param beans the beans to create
+     * @throws BeanCreationException          if any other exception prevents the creation of a bean
+     * @throws CircularDependencyException    if one of the beans' dependencies form a circle
+     * @throws UnsatisfiedDependencyException if a bean cannot be created due to missing dependencies
+     * @see DependencyTreeResolver#resolveCreationLevels(Collection)
+     */
+    private void createBeansInParallel(Set<Class<?>> beans) throws Exception {
+        PerformanceLog.begin(application, "Resolving dependency graph", DefaultBeanManager.class);
+        DependencyResolutionEvent event = DependencyResolutionEvent.start();
+        List<List<Class<?>>> levels = this.dependencyTreeResolver.resolveCreationLevels(beans);
+        this.creationOrder = levels.stream().flatMap(List::stream).toList();
+        event.finish(null, this.creationOrder.size());
+        PerformanceLog.end(application);
+
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("Icicle-BeanCreator-" + thread.getPoolIndex());
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+
+        try {
+            for (int i = 0; i < levels.size(); i++) {
+                List<Class<?>> level = levels.get(i);
+                PerformanceLog.begin(application, "Creating bean level #" + i + " (" + level.size() + " beans)", DefaultBeanManager.class);
+
+                List<Callable<Object>> tasks = new ArrayList<>(level.size());
+                for (Class<?> beanClass : level) {
+                    tasks.add(() -> instantiateBean(beanClass));
+                }
+
+                List<Future<Object>> results = pool.invokeAll(tasks);
+                for (int j = 0; j < level.size(); j++) {
+                    Class<?> beanClass = level.get(j);
+                    Object bean = getResult(results.get(j));
+
+                    this.registerBean(beanClass, bean);
+                    callBeanMethodsInsideBean(beanClass, bean);
+                }
+
+                PerformanceLog.end(application);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static Object getResult(Future<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Instantiates a bean, whose dependencies are all registered already.
+     *
+     * @param beanClass the bean to create
+     * @return the created bean (not registered)
+     * @throws BeanCreationException          if any other exception prevents the creation of a bean
+     * @throws UnsatisfiedDependencyException if a bean cannot be created due to missing dependencies
+     */
+    private Object instantiateBean(Class<?> beanClass) throws Exception {
+        LOGGER.debug("Creating bean of type: {}", beanClass.getName());
+        BeanInstantiationEvent event = BeanInstantiationEvent.start();
+        Constructor<?> constructor = BeanUtils.getResolvableConstructor(beanClass);
+
+        Object[] parameters = this.constructorParameterResolver.resolveConstructorParameters(constructor, getBeanRegistry());
+        Object bean = BeanUtils.instantiateClass(constructor, this.beanProxyHandler, parameters);
+        event.finish(beanClass);
+
+        return bean;
+    }
+
+    private LinkedList<Class<?>> resolveDependencyTree(Class<?> beanClass) throws CircularDependencyException, UnsatisfiedDependencyException {
+        DependencyResolutionEvent event = DependencyResolutionEvent.start();
+        LinkedList<Class<?>> dependencies = this.dependencyTreeResolver.resolveDependencyTree(beanClass);
+        event.finish(beanClass, dependencies.size());
+
+        return dependencies;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -273,7 +529,23 @@ public class DefaultBeanManager implements BeanManager {
         PerformanceLog.begin(application, "Bean scanning & creation", DefaultBeanManager.class);
 
         PerformanceLog.begin(application, "Retrieving AutoCreate types", DefaultBeanManager.class);
-        Set<Class<?>> autoCreationTypes = this.autoCreationAnnotationResolver.getAllTypesAnnotated();
+        BeanIndex beanIndex = this.application.getBeanIndex();
+        String snapshotKey = Icicle.STARTUP_SNAPSHOT ? StartupSnapshot.calculateKey(beanIndex) : null;
+        Path snapshotFile = snapshotKey == null ? null : StartupSnapshot.getFile(Path.of("icicleCache", "snapshots"), snapshotKey, beanIndex);
+        StartupSnapshot snapshot = snapshotKey == null ? null : StartupSnapshot.load(snapshotFile, snapshotKey, beanIndex);
+
+        Set<Class<?>> autoCreationTypes;
+        if (snapshot != null) {
+            LOGGER.debug("Replaying startup snapshot, skipping type scanning and dependency resolution.");
+            autoCreationTypes = new HashSet<>(snapshot.getAutoCreationTypes());
+        } else {
+            if (!beanIndex.isFullyIndexed()) {
+                LOGGER.debug("Bean index is missing for some of the classpath roots, those have been scanned with Reflections.");
+            }
+            autoCreationTypes = this.autoCreationAnnotationResolver.getAllTypesAnnotated();
+        }
+        Set<Class<?>> allTypes = new LinkedHashSet<>(autoCreationTypes); // the methods below remove the types they handle
+        this.dependencyTreeResolver.registerCandidates(allTypes); // dependencies declared with an interface may need any of them
         PerformanceLog.end(application);
 
         // The order down below is important! DO NOT CHANGE ORDER OF CALL!
@@ -285,13 +557,26 @@ public class DefaultBeanManager implements BeanManager {
 
         createAndRegisterMethodInterceptorsAndAdvices(autoCreationTypes);
 
+        // Scoped providers and lazy proxies must be registered before the other beans, so they can depend on them without creating them
+        createScopedBeans(autoCreationTypes);
+        createLazyBeans(autoCreationTypes);
+
         PerformanceLog.begin(application, "Creating non-exclusive beans", DefaultBeanManager.class);
-        for (Class<?> autoCreationType : autoCreationTypes) {
-            createAndRegisterBean(autoCreationType);
+        if (Icicle.PARALLEL_BEAN_CREATION) {
+            createBeansInParallel(autoCreationTypes); // levels are not part of the snapshot
+        } else if (snapshot != null) {
+            createBeansInOrder(snapshot.getCreationOrder());
+        } else {
+            createBeansInOrder(autoCreationTypes);
         }
         PerformanceLog.end(application);
 
+        if (snapshotKey != null && snapshot == null) {
+            StartupSnapshot.write(snapshotFile, snapshotKey, allTypes, this.creationOrder);
+        }
+
         PerformanceLog.end(application);
+        LOGGER.info("Beans created: {} proxied, {} not proxied (no matching method handler).", beanProxyHandler.getProxiedBeanCount(), beanProxyHandler.getNotProxiedBeanCount());
     }
 
     /**
@@ -323,7 +608,14 @@ public class DefaultBeanManager implements BeanManager {
      */
     @Override
     public Reflections getReflectionsInstance() {
-        return this.reflections;
+        return this.application.getReflections();
+    }
+
+    /**
+     * @return the topological order (dependencies first) the non-exclusive beans were created in during {@link #scanAndCreateBeans()}
+     */
+    public List<Class<?>> getCreationOrder() {
+        return this.creationOrder;
     }
 
     @Override
@@ -331,12 +623,51 @@ public class DefaultBeanManager implements BeanManager {
         return this.beanProxyHandler;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BeanScopes getBeanScopes() {
+        return this.beanScopes;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void createAndRegisterBean(Class<?> beanClass) throws Exception {
-        if (beanClass == String.class || beanClass.isPrimitive()) return;
+        if (beanClass == String.class || beanClass.isPrimitive() || this.beanRegistry.isRegistered(beanClass)) return;
+
+        // Lazy and scoped beans create their dependencies from any thread: every type is created only once,
+        // the other threads needing it wait for that creation only (no lock is held while creating, see BeanCreation)
+        BeanCreation creation = new BeanCreation(() -> {
+            doCreateAndRegisterBean(beanClass);
+            return null;
+        });
+        BeanCreation existing = this.beanCreations.putIfAbsent(beanClass, creation);
+
+        if (existing == null) {
+            try {
+                creation.run();
+            } finally {
+                this.beanCreations.remove(beanClass, creation);
+            }
+
+            existing = creation;
+        } else if (existing.creator == Thread.currentThread()) {
+            throw new CircularDependencyException("Bean of type " + beanClass.getName() + " is required during its own creation.");
+        }
+
+        try {
+            existing.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            throw (Error) cause;
+        }
+    }
+
+    private void doCreateAndRegisterBean(Class<?> beanClass) throws Exception {
 
         if (!this.beanRegistry.isRegistered(beanClass)) { //this is here because a class may have multiple auto-create annotations and also just a precaution
             LOGGER.debug("Creating and registering bean of type: {}", beanClass.getName());
@@ -344,12 +675,15 @@ public class DefaultBeanManager implements BeanManager {
             Constructor<?> constructor = BeanUtils.getResolvableConstructor(beanClass);
 
             if (constructor.getParameterTypes().length == 0) {
+                BeanInstantiationEvent event = BeanInstantiationEvent.start();
                 Object bean = BeanUtils.instantiateClass(constructor, this.beanProxyHandler);
+                event.finish(beanClass);
+
                 this.registerBean(beanClass, bean);
                 callBeanMethodsInsideBean(beanClass, bean);
                 return;
             } else {
-                LinkedList<Class<?>> dependencies = this.dependencyTreeResolver.resolveDependencyTree(beanClass);
+                LinkedList<Class<?>> dependencies = resolveDependencyTree(beanClass);
 
                 LOGGER.debug("Found {} dependencies for bean of type {}", dependencies.size(), beanClass.getName());
                 for (Class<?> dependency : dependencies) {
@@ -357,16 +691,23 @@ public class DefaultBeanManager implements BeanManager {
                 }
             }
 
+            BeanInstantiationEvent event = BeanInstantiationEvent.start();
             Object[] parameters = this.constructorParameterResolver.resolveConstructorParameters(constructor, getBeanRegistry());
             Object bean = BeanUtils.instantiateClass(constructor, this.beanProxyHandler, parameters);
+            event.finish(beanClass);
 
             this.registerBean(beanClass, bean);
             callBeanMethodsInsideBean(beanClass, bean);
         }
     }
 
+    private static List<Method> getBeanMethods(Class<?> beanClass) {
+        return Arrays.stream(beanClass.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(Bean.class)).toList();
+    }
+
     private void callBeanMethodsInsideBean(Class<?> beanClass, Object bean) {
-        for (Method method : Arrays.stream(beanClass.getDeclaredMethods()).filter(m -> m.isAnnotationPresent(Bean.class)).peek(m -> m.setAccessible(true)).toList()) {
+        for (Method method : getBeanMethods(beanClass)) {
+            method.setAccessible(true);
             try {
                 method.invoke(bean); // BeanDelegation (in proxy) will take care of registration, we just need to invoke it once, to register it
             } catch (IllegalAccessException | InvocationTargetException e) {
@@ -384,8 +725,122 @@ public class DefaultBeanManager implements BeanManager {
      * @see CustomAutoCreateAnnotationResolver#onCreated(Object, Class)
      */
     private void registerBean(Class<?> beanClass, Object bean) throws Exception {
-        this.beanRegistry.registerBean(beanClass, bean);
-        this.customAutoCreateAnnotationResolver.onCreated(bean, beanClass);
+        Object registered = bean;
+        if (Icicle.HOT_RELOAD && isSwappable(beanClass) && !this.beanRegistry.isRegistered(beanClass)) {
+            SwappableBeanHandler handler = new SwappableBeanHandler(bean);
+            registered = this.beanProxyHandler.createSwappableBean(beanClass, handler);
+            this.swappableBeans.put(beanClass, handler);
+        }
+
+        this.beanRegistry.registerBean(beanClass, registered);
+        this.createdBeans.put(beanClass, bean);
+        this.customAutoCreateAnnotationResolver.onCreated(bean, beanClass); // handlers inspect the bean itself (fields included), not the proxy
+    }
+
+    /**
+     * Configs and handlers are used by the framework directly (fields included), so they are never put behind a swappable proxy.
+     */
+    private static boolean isSwappable(Class<?> beanClass) {
+        return !Modifier.isFinal(beanClass.getModifiers()) && !beanClass.isAnnotationPresent(Config.class)
+                && !beanClass.isAnnotationPresent(AnnotationHandler.class) && !beanClass.isAnnotationPresent(MethodAdviceHandler.class)
+                && !beanClass.isAnnotationPresent(MethodInterceptionHandler.class);
+    }
+
+    private List<Map.Entry<Class<?>, Object>> getCreatedBeans() {
+        List<Map.Entry<Class<?>, Object>> beans = new ArrayList<>(this.createdBeans.size());
+        synchronized (this.createdBeans) {
+            this.createdBeans.forEach((type, bean) -> beans.add(Map.entry(type, bean)));
+        }
+
+        return beans;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void reloadBean(Class<?> beanClass) throws Exception {
+        if (!Icicle.HOT_RELOAD) {
+            throw new IllegalStateException("Hot reload is disabled! (It can be enabled with -Dicicle.beans.hotreload=true)");
+        }
+
+        List<Map.Entry<Class<?>, Object>> beans = getCreatedBeans();
+        List<Class<?>> types = beans.stream().<Class<?>>map(Map.Entry::getKey).toList();
+        if (!types.contains(beanClass)) {
+            throw new IllegalArgumentException("Bean of type " + beanClass.getName() + " has not been created (yet) by this bean manager!");
+        }
+
+        long start = System.nanoTime();
+        List<Class<?>> reloaded = BeanDependencies.getDependents(types, beanClass);
+        LOGGER.info("Reloading bean {} and {} dependent bean(s).", beanClass.getName(), reloaded.size() - 1);
+
+        // before destroying anything, so a rejected class file leaves the old beans working
+        BeanClassRedefiner.redefine(reloaded);
+
+        List<Map.Entry<Class<?>, Object>> old = beans.stream().filter(entry -> reloaded.contains(entry.getKey())).toList();
+        Map<Class<?>, Object> created = createReloadedBeans(reloaded);
+
+        // the old beans are unbound from the handlers and their @Bean products are dropped before they are destroyed
+        for (Map.Entry<Class<?>, Object> entry : old) {
+            this.customAutoCreateAnnotationResolver.onDestroyed(entry.getValue(), entry.getKey());
+            for (Method method : getBeanMethods(entry.getKey())) {
+                this.beanRegistry.unregisterBean(method.getReturnType());
+            }
+        }
+        new BeanDestroyer(Icicle.SHUTDOWN_TIMEOUT_MILLIS).destroy(old);
+
+        for (Map.Entry<Class<?>, Object> entry : created.entrySet()) {
+            Class<?> type = entry.getKey();
+            Object bean = entry.getValue();
+
+            SwappableBeanHandler handler = this.swappableBeans.get(type);
+            if (handler != null) {
+                handler.swap(bean);
+            }
+
+            this.createdBeans.put(type, bean);
+            this.customAutoCreateAnnotationResolver.onCreated(bean, type);
+            callBeanMethodsInsideBean(type, bean);
+        }
+
+        LOGGER.info("Reloaded {} bean(s) in {} ms.", reloaded.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Creates the new instances of the reloaded beans, in dependency order. The swappable proxies keep serving the old instances meanwhile,
+     * beans that are not swappable are replaced in the registry right away, so their dependents are created with the new instances.
+     * If any of the beans cannot be created, the registry is restored and the old beans are left untouched.
+     *
+     * @param reloaded the types to create (dependencies first)
+     * @return the new instances by type, in creation order
+     * @throws Exception if any of the beans cannot be created
+     */
+    private Map<Class<?>, Object> createReloadedBeans(List<Class<?>> reloaded) throws Exception {
+        Map<Class<?>, Object> created = new LinkedHashMap<>();
+        Map<Class<?>, Object> replaced = new LinkedHashMap<>();
+
+        try {
+            for (Class<?> type : reloaded) {
+                Object bean = instantiateBean(type);
+                created.put(type, bean);
+
+                if (!this.swappableBeans.containsKey(type)) {
+                    LOGGER.warn("Bean {} is not behind a swappable proxy, references held outside the registry keep the old instance.", type.getName());
+                    replaced.put(type, this.beanRegistry.getBeanNullable(type));
+                    this.beanRegistry.unregisterBean(type);
+                    this.beanRegistry.registerBean(type, bean);
+                }
+            }
+        } catch (Exception e) {
+            replaced.forEach((type, bean) -> {
+                this.beanRegistry.unregisterBean(type);
+                if (bean != null) this.beanRegistry.registerBean(type, bean);
+            });
+
+            throw e;
+        }
+
+        return created;
     }
 
     /**
@@ -393,7 +848,35 @@ public class DefaultBeanManager implements BeanManager {
      */
     @Override
     public void cleanUp() {
+        List<Map.Entry<Class<?>, Object>> beans = getCreatedBeans();
+        this.createdBeans.clear();
+        this.swappableBeans.clear();
+        new BeanDestroyer(Icicle.SHUTDOWN_TIMEOUT_MILLIS).destroy(beans);
+
         this.autoCreationAnnotationResolver.cleanUp();
+        this.beanScopes.cleanUp();
         this.beanRegistry.cleanUp();
+        this.beanProxyHandler.cleanUp();
+    }
+
+    /**
+     * Creation of a bean in progress, remembers the creating thread to detect a bean required during its own creation (instead of waiting forever).
+     */
+    private static final class BeanCreation extends FutureTask<Void> {
+        private volatile Thread creator;
+
+        private BeanCreation(Callable<Void> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            this.creator = Thread.currentThread();
+            try {
+                super.run();
+            } finally {
+                this.creator = null;
+            }
+        }
     }
-}
\ No newline at end of file
+}
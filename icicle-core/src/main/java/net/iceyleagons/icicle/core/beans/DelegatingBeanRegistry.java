@@ -25,17 +25,30 @@
 package net.iceyleagons.icicle.core.beans;
 
 import net.iceyleagons.icicle.core.GlobalBeanRegistry;
+import net.iceyleagons.icicle.core.utils.BeanUtils;
 import net.iceyleagons.icicle.utilities.Asserts;
-import net.iceyleagons.icicle.utilities.ReflectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * Default implementation of {@link BeanRegistry}.
+ * <p>
+ * Lookups are served from a snapshot containing both the local beans and the ones from {@link GlobalBeanRegistry},
+ * so they only need a single map probe and do not allocate anything.
+ * Registrations update only the entries of the registered type and its supertypes in place, so registering n beans
+ * takes linear instead of quadratic time. The snapshot is rebuilt and swapped only when a bean gets unregistered here,
+ * or the global registry changes.
+ * <p>
+ * The snapshot also indexes every supertype (superclasses and interfaces) of the registered types, so beans can be
+ * requested by them as well. Exact registrations always take precedence, if multiple beans implement the requested supertype
+ * the lookup finds nothing (the bean must be requested by its exact type then).
+ * <p>
+ * Providers (registered for scoped beans) are only indexed by their exact type, and they are called on every lookup.
  *
  * @author TOTHTOMI
  * @version 1.1.0
@@ -45,19 +58,16 @@ public class DelegatingBeanRegistry implements BeanRegistry {
 
     private static final Logger logger = LoggerFactory.getLogger(DelegatingBeanRegistry.class);
     private final Map<Class<?>, Object> beans = new ConcurrentHashMap<>();
-    private final BeanRegistry globalRegistry = GlobalBeanRegistry.INSTANCE; // introduced so we can save more memory
+    private final Map<Class<?>, Supplier<?>> providers = new ConcurrentHashMap<>();
+    private final SuperTypeIndex superTypes = new SuperTypeIndex(); // of the local beans, guarded by this
+    private volatile Snapshot snapshot = new Snapshot(new ConcurrentHashMap<>(), new SuperTypeIndex(), -1);
 
     /**
      * {@inheritDoc}
      */
     @Override
     public <T> Optional<T> getBean(Class<T> type) {
-        Optional<T> opt = beans.containsKey(type) ? Optional.ofNullable(ReflectionUtils.castIfNecessary(type, beans.get(type))) : Optional.empty();
-        if (opt.isEmpty() && globalRegistry.isRegistered(type)) {
-            opt = globalRegistry.getBean(type);
-        }
-
-        return opt;
+        return Optional.ofNullable(getBeanNullable(type)); // Optional.empty() is a shared instance, so misses don't allocate either
     }
 
     /**
@@ -65,7 +75,22 @@ public class DelegatingBeanRegistry implements BeanRegistry {
      */
     @Override
     public <T> T getBeanNullable(Class<T> type) {
-        return getBean(type).orElse(null); //this.beans.containsKey(type) ? ReflectionUtils.castIfNecessary(type, this.beans.get(type)) : null;
+        Snapshot current = this.snapshot;
+        if (current.globalVersion != GlobalBeanRegistry.getVersion()) {
+            current = refreshSnapshot();
+        }
+
+        Object bean = current.beans.get(type);
+        if (bean instanceof Ambiguous) {
+            logger.debug("Multiple beans found for type {}: {}", type.getName(), ((Ambiguous) bean).candidates);
+            return null;
+        }
+        if (bean instanceof Provider) {
+            return type.cast(((Provider) bean).supplier.get());
+        }
+
+        // values are type checked when the snapshot is built
+        return type.cast(bean);
     }
 
     /**
@@ -73,7 +98,21 @@ public class DelegatingBeanRegistry implements BeanRegistry {
      */
     @Override
     public boolean isRegistered(Class<?> type) {
-        return this.beans.containsKey(type);
+        return this.beans.containsKey(type) || this.providers.containsKey(type);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isResolvable(Class<?> type) {
+        Snapshot current = this.snapshot;
+        if (current.globalVersion != GlobalBeanRegistry.getVersion()) {
+            current = refreshSnapshot();
+        }
+
+        Object bean = current.beans.get(type);
+        return bean != null && !(bean instanceof Ambiguous);
     }
 
     /**
@@ -85,6 +124,7 @@ public class DelegatingBeanRegistry implements BeanRegistry {
 
         if (!isRegistered(type)) {
             beans.put(type, object);
+            updateSnapshot(type, object);
             logger.debug("Registered bean of type: {}", type.getName());
             return;
         }
@@ -92,6 +132,23 @@ public class DelegatingBeanRegistry implements BeanRegistry {
         logger.warn("Bean with type {} already registered! Ignoring...", type.getName());
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerProvider(Class<?> type, Supplier<?> provider) {
+        Asserts.isTrue(type != String.class && !type.isPrimitive(), "Strings and primitives cannot be registered as a bean!");
+
+        if (!isRegistered(type)) {
+            providers.put(type, provider);
+            updateSnapshot(type, null);
+            logger.debug("Registered bean provider of type: {}", type.getName());
+            return;
+        }
+
+        logger.warn("Bean with type {} already registered! Ignoring...", type.getName());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -107,6 +164,8 @@ public class DelegatingBeanRegistry implements BeanRegistry {
     public void unregisterBean(Class<?> type) {
         logger.debug("Unregistering bean of type {}", type.getName());
         this.beans.remove(type);
+        this.providers.remove(type);
+        refreshSnapshot();
     }
 
     /**
@@ -116,5 +175,145 @@ public class DelegatingBeanRegistry implements BeanRegistry {
     public void cleanUp() {
         logger.info("Cleaning up...");
         beans.clear();
+        providers.clear();
+        refreshSnapshot();
+    }
+
+    /**
+     * Updates the entries of the newly registered type (and its supertypes) in the current snapshot.
+     *
+     * @param type the registered type
+     * @param bean the registered bean or null if a provider has been registered
+     */
+    private synchronized void updateSnapshot(Class<?> type, Object bean) {
+        Snapshot current = this.snapshot;
+        if (current.globalVersion != GlobalBeanRegistry.getVersion()) {
+            refreshSnapshot(); // contains the new type as well
+            return;
+        }
+
+        if (bean != null && type.isInstance(bean)) {
+            for (Class<?> superType : BeanUtils.getSuperTypes(type)) {
+                this.superTypes.add(superType, type, bean);
+                current.resolve(superType, this);
+            }
+        }
+
+        current.resolve(type, this);
+    }
+
+    private synchronized Snapshot refreshSnapshot() {
+        int globalVersion = GlobalBeanRegistry.getVersion(); // read before copying, so changes made meanwhile trigger another refresh
+        Map<Class<?>, Object> globalBeans = GlobalBeanRegistry.getRegisteredBeans();
+
+        this.superTypes.clear();
+        beans.forEach(this.superTypes::addAll);
+        SuperTypeIndex globalSuperTypes = new SuperTypeIndex();
+        globalBeans.forEach(globalSuperTypes::addAll);
+
+        Snapshot refreshed = new Snapshot(new ConcurrentHashMap<>(beans.size() + globalBeans.size()), globalSuperTypes, globalVersion);
+        Set<Class<?>> types = new HashSet<>(globalBeans.keySet());
+        types.addAll(beans.keySet());
+        types.addAll(providers.keySet());
+        types.addAll(this.superTypes.entries.keySet());
+        types.addAll(globalSuperTypes.entries.keySet());
+        types.forEach(type -> refreshed.resolve(type, this));
+
+        this.snapshot = refreshed;
+        return refreshed;
+    }
+
+    /**
+     * Resolves the entry of the type. Exact registrations take precedence over supertypes, local beans over the global ones.
+     * (A local bean not matching its type falls back to the global one.)
+     *
+     * @param type             the type
+     * @param globalSuperTypes the supertype index of the global beans
+     * @return the bean, a {@link Provider}, an {@link Ambiguous} marker or null if nothing is registered for the type
+     */
+    private Object resolve(Class<?> type, SuperTypeIndex globalSuperTypes) {
+        Supplier<?> provider = providers.get(type);
+        if (provider != null) return new Provider(provider);
+
+        Object bean = beans.get(type);
+        if (type.isInstance(bean)) return bean;
+
+        bean = GlobalBeanRegistry.getRegisteredBeans().get(type);
+        if (type.isInstance(bean)) return bean;
+
+        bean = this.superTypes.entries.get(type);
+        return bean != null ? bean : globalSuperTypes.entries.get(type);
+    }
+
+    /**
+     * Index of the supertypes of registered beans: supertype -> the bean implementing it, or {@link Ambiguous} if there are multiple.
+     */
+    private static final class SuperTypeIndex {
+        private final Map<Class<?>, Object> entries = new HashMap<>();
+        private final Map<Class<?>, Class<?>> firstTypes = new HashMap<>(); // supertype -> type of the first candidate, for the error message
+
+        private void addAll(Class<?> type, Object bean) {
+            if (!type.isInstance(bean)) return;
+
+            for (Class<?> superType : BeanUtils.getSuperTypes(type)) {
+                add(superType, type, bean);
+            }
+        }
+
+        private void add(Class<?> superType, Class<?> type, Object bean) {
+            Object existing = entries.get(superType);
+
+            if (existing == null) {
+                entries.put(superType, bean);
+                firstTypes.put(superType, type);
+            } else if (existing instanceof Ambiguous) {
+                ((Ambiguous) existing).candidates.add(type);
+            } else if (existing != bean) { // the same bean may be registered with multiple types
+                entries.put(superType, new Ambiguous(firstTypes.get(superType), type));
+            }
+        }
+
+        private void clear() {
+            entries.clear();
+            firstTypes.clear();
+        }
+    }
+
+    private static final class Ambiguous {
+        private final List<Class<?>> candidates = new CopyOnWriteArrayList<>(); // may grow while published
+
+        private Ambiguous(Class<?> first, Class<?> second) {
+            candidates.add(first);
+            candidates.add(second);
+        }
+    }
+
+    private static final class Provider {
+        private final Supplier<?> supplier;
+
+        private Provider(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+    }
+
+    private static final class Snapshot {
+        private final Map<Class<?>, Object> beans;
+        private final SuperTypeIndex globalSuperTypes;
+        private final int globalVersion;
+
+        private Snapshot(Map<Class<?>, Object> beans, SuperTypeIndex globalSuperTypes, int globalVersion) {
+            this.beans = beans;
+            this.globalSuperTypes = globalSuperTypes;
+            this.globalVersion = globalVersion;
+        }
+
+        private void resolve(Class<?> type, DelegatingBeanRegistry registry) {
+            Object resolved = registry.resolve(type, this.globalSuperTypes);
+            if (resolved == null) {
+                this.beans.remove(type);
+            } else {
+                this.beans.put(type, resolved);
+            }
+        }
     }
 }
@@ -0,0 +1,202 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans;
+
+import net.iceyleagons.icicle.core.beans.resolvers.AutowiringAnnotationResolver;
+import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An injection plan holds everything needed to instantiate a class through one of its constructors, computed only once per constructor:
+ * the parameter types, their annotations (for the autowiring annotation handlers) and a {@link MethodHandle} invoking the constructor.
+ * <p>
+ * Plans are cached per class in a {@link ClassValue}, so they are released together with the class (ex. on plugin reload).
+ * The plan of the matching constructor of a generated subclass (proxy) is cached in the plan of the original constructor as well.
+ * Autowiring annotation handlers are not part of the plan, because they are specific to an application.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 15, 2022
+ */
+public final class InjectionPlan {
+
+    private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final ClassValue<Map<Constructor<?>, InjectionPlan>> PLANS = new ClassValue<>() {
+        @Override
+        protected Map<Constructor<?>, InjectionPlan> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(2);
+        }
+    };
+
+    private final Constructor<?> constructor;
+    private final Parameter[] parameters; // only used for error messages
+    private final Class<?>[] parameterTypes;
+    private final Class<?>[] argumentTypes; // the parameter types, primitives boxed
+    private final Annotation[][] parameterAnnotations;
+    private final MethodHandle factory; // (Object[]) -> Object, null if the constructor cannot be unreflected (ex. abstract class)
+    private volatile InjectionPlan subclassPlan;
+
+    private InjectionPlan(Constructor<?> constructor) {
+        this.constructor = constructor;
+        this.parameters = constructor.getParameters();
+        this.parameterTypes = constructor.getParameterTypes();
+        this.argumentTypes = new Class<?>[parameters.length];
+        this.parameterAnnotations = new Annotation[parameters.length][];
+
+        for (int i = 0; i < parameters.length; i++) {
+            this.argumentTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+            this.parameterAnnotations[i] = parameters[i].getAnnotations();
+        }
+
+        this.factory = createFactory(constructor);
+    }
+
+    /**
+     * Returns the (cached) injection plan of the supplied constructor.
+     *
+     * @param constructor the constructor
+     * @return the plan
+     */
+    public static InjectionPlan of(Constructor<?> constructor) {
+        return PLANS.get(constructor.getDeclaringClass()).computeIfAbsent(constructor, InjectionPlan::new);
+    }
+
+    private static MethodHandle createFactory(Constructor<?> constructor) {
+        try {
+            constructor.setAccessible(true); // unreflecting an accessible constructor skips the access checks of the lookup
+            return MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, constructor.getParameterCount())
+                    .asType(FACTORY_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null; // newInstance will fall back to reflection and throw the appropriate exception
+        }
+    }
+
+    /**
+     * Resolves the arguments of the constructor: from the bean registry if possible, otherwise via the autowiring annotation handlers.
+     *
+     * @param beanRegistry                 the bean registry in charge
+     * @param autowiringAnnotationResolver the autowiring annotation handlers of the application
+     * @return the arguments (in the order of the parameters)
+     * @throws UnsatisfiedDependencyException if a parameter's needs cannot be fulfilled.
+     */
+    public Object[] resolveArguments(BeanRegistry beanRegistry, AutowiringAnnotationResolver autowiringAnnotationResolver) throws UnsatisfiedDependencyException {
+        Object[] arguments = new Object[parameterTypes.length];
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> type = parameterTypes[i];
+            Object result = beanRegistry.getBeanNullable(type);
+
+            if (result == null) {
+                for (Annotation annotation : parameterAnnotations[i]) {
+                    result = autowiringAnnotationResolver.getValueForAnnotation(annotation.annotationType(), annotation, type);
+                    if (result != null) break;
+                }
+            }
+
+            if (result == null) throw new UnsatisfiedDependencyException(parameters[i]);
+
+            arguments[i] = result;
+        }
+
+        return arguments;
+    }
+
+    /**
+     * Returns the (cached) plan of the constructor of the supplied subclass, that has the same parameters as this one.
+     *
+     * @param subclass the subclass (ex. a generated proxy) of the class of the constructor
+     * @return the plan
+     * @throws NoSuchMethodException if the subclass has no constructor with the same parameters
+     */
+    public InjectionPlan forSubclass(Class<?> subclass) throws NoSuchMethodException {
+        InjectionPlan plan = subclassPlan;
+
+        if (plan == null || plan.constructor.getDeclaringClass() != subclass) {
+            plan = of(subclass.getDeclaredConstructor(parameterTypes));
+            this.subclassPlan = plan;
+        }
+
+        return plan;
+    }
+
+    /**
+     * Invokes the constructor.
+     *
+     * @param arguments the arguments of the constructor
+     * @return the created instance
+     * @throws InvocationTargetException if the constructor throws an exception
+     * @throws InstantiationException    if the class cannot be instantiated (ex. abstract class)
+     * @throws IllegalAccessException    if the constructor is not accessible
+     * @throws IllegalArgumentException  if the arguments do not match the parameters
+     */
+    public Object newInstance(Object[] arguments) throws InvocationTargetException, InstantiationException, IllegalAccessException {
+        if (factory == null) {
+            return constructor.newInstance(arguments);
+        }
+
+        // the adapters of the handle would throw for these as well, checked beforehand so everything thrown below comes from the constructor
+        checkArguments(arguments);
+
+        try {
+            return factory.invokeExact(arguments);
+        } catch (ExceptionInInitializerError e) {
+            throw e; // failed class initialization, not wrapped by reflection either
+        } catch (Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+
+    private void checkArguments(Object[] arguments) {
+        int length = arguments == null ? 0 : arguments.length;
+        if (length != argumentTypes.length) {
+            throw new IllegalArgumentException("Wrong number of arguments: " + length + ", expected " + argumentTypes.length + ".");
+        }
+
+        for (int i = 0; i < length; i++) {
+            Object argument = arguments[i];
+
+            if (argument == null ? parameterTypes[i].isPrimitive() : !argumentTypes[i].isInstance(argument)) {
+                throw new IllegalArgumentException("Argument type mismatch at parameter " + i + ": expected " + parameterTypes[i].getName() + ".");
+            }
+        }
+    }
+
+    /**
+     * @return the constructor this plan belongs to
+     */
+    public Constructor<?> getConstructor() {
+        return constructor;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.index;
+
+import org.jetbrains.annotations.Nullable;
+import org.reflections.Reflections;
+import org.reflections.util.ClasspathHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Runtime view of the compile-time bean indexes written into the jars by the icicle-gradle plugin.
+ * <p>
+ * Every classpath root (jar or directory) containing the scanned package is checked for an index file at {@link #INDEX_LOCATION}.
+ * Indexed roots are read directly, while roots without an index (ex. jars built without the icicle-gradle plugin) are scanned
+ * with {@link Reflections}, just like before the index existed (the scans are cached by {@link ClassMetadataIndex}).
+ * <p>
+ * Indexes marked partial (written by javac for a project also having Kotlin sources, which annotation processors cannot see)
+ * are read, but their roots are scanned as well. Only annotated types are indexed: subtypes of annotated types are only found
+ * if they are annotated themselves (or their root is scanned).
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 12, 2022
+ */
+public class BeanIndex {
+
+    public static final String INDEX_LOCATION = "META-INF/icicle/bean-index";
+    private static final String INDEX_HEADER = "# icicle bean index v1";
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanIndex.class);
+
+    private final Map<String, Set<String>> annotatedTypes = new HashMap<>(); // annotation name -> types (and annotations) directly annotated with it
+    private final Map<String, Set<String>> subTypes = new HashMap<>(); // type name -> direct subtypes
+    private final Map<String, ClassLoader[]> classLoaders = new HashMap<>(); // type name -> class loaders used to find its root
+    private final List<Reflections> fallbacks = new ArrayList<>(1);
+    private final List<String> rootPackages = new ArrayList<>(2);
+    private final List<URL> roots = new ArrayList<>(); // every classpath root containing one of the root packages
+    private final Set<ClassLoader> allClassLoaders = new LinkedHashSet<>(); // used for types without an index entry
+
+    /**
+     * Loads the index of every classpath root containing the supplied package.
+     * Roots without an index will be scanned using {@link Reflections}.
+     *
+     * @param rootPackage  the package to load the types from
+     * @param classLoaders the class loaders to use (if empty, the context and static class loaders are used, same as {@link Reflections})
+     * @return the loaded index
+     */
+    public static BeanIndex load(String rootPackage, ClassLoader... classLoaders) {
+        ClassLoader[] loaders = ClasspathHelper.classLoaders(classLoaders);
+        BeanIndex index = new BeanIndex();
+        List<URL> unindexedRoots = new ArrayList<>();
+        index.rootPackages.add(rootPackage);
+        index.allClassLoaders.addAll(Arrays.asList(loaders));
+
+        for (URL root : ClasspathHelper.forPackage(rootPackage, loaders)) {
+            index.roots.add(root);
+            if (!index.read(root, rootPackage, loaders)) {
+                unindexedRoots.add(root);
+            }
+        }
+
+        if (!unindexedRoots.isEmpty()) {
+            LOGGER.debug("No bean index found in {} root(s) of package {}. Falling back to classpath scanning.", unindexedRoots.size(), rootPackage);
+
+            for (URL root : unindexedRoots) {
+                index.fallbacks.add(ClassMetadataIndex.getShared().scan(root, rootPackage, loaders));
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Creates an index, that does not have any compile-time information, but delegates to the supplied {@link Reflections}.
+     *
+     * @param reflections the reflections instance to use
+     * @return the index
+     */
+    public static BeanIndex fromReflections(Reflections reflections) {
+        BeanIndex index = new BeanIndex();
+        index.fallbacks.add(reflections);
+        return index;
+    }
+
+    /**
+     * Returns all the types annotated with the supplied annotation, including their subtypes.
+     * (Behaves the same way as {@link Reflections#getTypesAnnotatedWith(Class)}, except that the compile-time index only contains annotated types:
+     * unannotated subtypes of annotated types are only found in the roots without an index. The annotation processor warns about these.)
+     *
+     * @param annotation the annotation
+     * @return the set of types found
+     */
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        Set<String> names = new HashSet<>(annotatedTypes.getOrDefault(annotation.getName(), Collections.emptySet()));
+        Deque<String> stack = new ArrayDeque<>(names);
+
+        while (!stack.isEmpty()) {
+            for (String subType : subTypes.getOrDefault(stack.pop(), Collections.emptySet())) {
+                if (names.add(subType)) {
+                    stack.push(subType);
+                }
+            }
+        }
+
+        Set<Class<?>> result = new HashSet<>();
+        for (String name : names) {
+            Class<?> clazz = forName(name);
+            if (clazz != null) result.add(clazz);
+        }
+
+        for (Reflections fallback : fallbacks) {
+            result.addAll(fallback.getTypesAnnotatedWith(annotation));
+        }
+
+        return result;
+    }
+
+    /**
+     * @return true if every scanned root had a bean index, so no classpath scanning was needed
+     */
+    public boolean isFullyIndexed() {
+        return fallbacks.isEmpty();
+    }
+
+    /**
+     * Merges the supplied index into this one.
+     *
+     * @param other the index to merge
+     * @return this instance
+     */
+    public BeanIndex merge(BeanIndex other) {
+        other.annotatedTypes.forEach((k, v) -> annotatedTypes.computeIfAbsent(k, key -> new HashSet<>()).addAll(v));
+        other.subTypes.forEach((k, v) -> subTypes.computeIfAbsent(k, key -> new HashSet<>()).addAll(v));
+        other.classLoaders.forEach(classLoaders::putIfAbsent);
+        fallbacks.addAll(other.fallbacks);
+        rootPackages.addAll(other.rootPackages);
+        roots.addAll(other.roots);
+        allClassLoaders.addAll(other.allClassLoaders);
+        return this;
+    }
+
+    /**
+     * @return the packages this index has been loaded for
+     */
+    public List<String> getRootPackages() {
+        return Collections.unmodifiableList(rootPackages);
+    }
+
+    /**
+     * @return the classpath roots (jars or directories) containing the root packages
+     */
+    public List<URL> getRoots() {
+        return Collections.unmodifiableList(roots);
+    }
+
+    private boolean read(URL root, String rootPackage, ClassLoader[] loaders) {
+        try {
+            URLConnection connection = new URL(root, INDEX_LOCATION).openConnection();
+            connection.setUseCaches(false); // we don't want to keep the jar locked (plugin reloads)
+
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                String header = reader.readLine();
+                if (!INDEX_HEADER.equals(header)) {
+                    LOGGER.warn("Bean index at {} has an unsupported format. Ignoring...", root);
+                    return false;
+                }
+
+                boolean complete = true;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank() || line.startsWith("#")) continue;
+                    String[] parts = line.split("\t");
+
+                    if (parts[0].equals("P")) {
+                        complete = false;
+                    } else if (parts[0].equals("A") && parts.length >= 3) {
+                        // annotations are kept regardless of their package, they are needed to resolve the hierarchy
+                        register(parts[1], parts[2], "-", loaders);
+                    } else if (parts[0].equals("T") && parts.length >= 4 && parts[1].startsWith(rootPackage)) {
+                        register(parts[1], parts[2], parts[3], loaders);
+                    }
+                }
+
+                if (!complete) {
+                    LOGGER.debug("Bean index at {} is partial, the root will be scanned as well.", root);
+                }
+                return complete;
+            }
+        } catch (IOException e) {
+            return false; // no index in this root
+        }
+    }
+
+    private void register(String name, String annotations, String superTypes, ClassLoader[] loaders) {
+        classLoaders.putIfAbsent(name, loaders);
+
+        if (!annotations.equals("-")) {
+            for (String annotation : annotations.split(",")) {
+                annotatedTypes.computeIfAbsent(annotation, k -> new HashSet<>()).add(name);
+            }
+        }
+
+        if (!superTypes.equals("-")) {
+            for (String superType : superTypes.split(",")) {
+                subTypes.computeIfAbsent(superType, k -> new HashSet<>()).add(name);
+            }
+        }
+    }
+
+    /**
+     * Loads a class with the class loaders it has been indexed with.
+     *
+     * @param name the binary name of the class
+     * @return the class or null if it cannot be loaded
+     */
+    @Nullable
+    public Class<?> forName(String name) {
+        ClassLoader[] loaders = classLoaders.get(name);
+        if (loaders == null) {
+            loaders = allClassLoaders.isEmpty() ? ClasspathHelper.classLoaders() : allClassLoaders.toArray(new ClassLoader[0]);
+        }
+
+        for (ClassLoader classLoader : loaders) {
+            try {
+                return Class.forName(name, false, classLoader);
+            } catch (ClassNotFoundException | LinkageError ignored) {
+            }
+        }
+
+        LOGGER.debug("Could not load indexed type {}. Ignoring...", name);
+        return null;
+    }
+}
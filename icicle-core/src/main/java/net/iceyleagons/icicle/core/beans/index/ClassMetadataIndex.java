@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.index;
+
+import net.iceyleagons.icicle.core.Icicle;
+import org.jetbrains.annotations.Nullable;
+import org.reflections.Reflections;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide class metadata (the results of {@link Reflections} scans), shared by every Icicle application.
+ * <p>
+ * Metadata is kept per classpath root (jar or directory) and package, so each root is scanned only once, no matter how many applications
+ * (or library loads) need it. The cached metadata only contains type names and never references a class loader: it is kept per (weakly referenced)
+ * class loader, and every lookup gets a new view resolving the types with the class loaders of the caller, so a stale loader is never used.
+ * Applications evict the metadata of their roots at shutdown (ex. a plugin jar replaced during a reload is scanned again).
+ * <p>
+ * The views returned by {@link #getReflections(String, ClassLoader...)} are merged from the cached roots, merging is a copy of the
+ * already scanned data, so a new application costs only the scan of its own classes.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+public class ClassMetadataIndex {
+
+    public static final String ICICLE_PACKAGE = "net.iceyleagons.icicle";
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClassMetadataIndex.class);
+    private static final ClassMetadataIndex SHARED = new ClassMetadataIndex();
+
+    // class loader -> root url + package -> metadata of the root (guarded by itself)
+    private final Map<ClassLoader, Map<String, Reflections>> roots = new WeakHashMap<>();
+    private final List<Reflections> libraries = new ArrayList<>();
+    private Reflections icicleReflections; // Icicle itself and the libraries loaded by MavenLibraryLoader
+
+    /**
+     * @return the index shared by every application in this process
+     */
+    public static ClassMetadataIndex getShared() {
+        return SHARED;
+    }
+
+    private static String getKey(URL root, @Nullable String rootPackage) {
+        return root.toExternalForm() + "|" + (rootPackage == null ? "" : rootPackage);
+    }
+
+    private static Reflections createView(ClassLoader[] classLoaders) {
+        // no scanners: nothing gets scanned, the contents are merged in from the cached roots
+        return new Reflections(new ConfigurationBuilder().setScanners().addClassLoaders(classLoaders));
+    }
+
+    /**
+     * Returns the cached metadata of a single classpath root, scanning it only if it has not been scanned yet for the class loader.
+     * The metadata must only be merged into views, it does not have any class loaders to resolve the types with.
+     */
+    private Reflections getMetadata(URL root, @Nullable String rootPackage, ClassLoader classLoader) {
+        Map<String, Reflections> metadata;
+        synchronized (roots) {
+            metadata = roots.computeIfAbsent(classLoader, loader -> new ConcurrentHashMap<>());
+        }
+
+        return metadata.computeIfAbsent(getKey(root, rootPackage), key -> {
+            LOGGER.debug("Scanning classpath root {} (package: {}).", root, rootPackage);
+            ConfigurationBuilder configuration = new ConfigurationBuilder().setUrls(root); // class files are read directly, no class loader needed
+            if (rootPackage != null) {
+                configuration.filterInputsBy(new FilterBuilder().includePackage(rootPackage));
+            }
+
+            return new Reflections(configuration);
+        });
+    }
+
+    /**
+     * Returns the metadata of a single classpath root, scanning it only if it has not been scanned yet.
+     *
+     * @param root         the classpath root (jar or directory)
+     * @param rootPackage  the package to include from the root, or null to include everything
+     * @param classLoaders the class loaders used to load the types of the root (if empty, the context and static class loaders are used)
+     * @return a new {@link Reflections} instance resolving the types with the supplied class loaders, changes made to it do not affect the index
+     */
+    public Reflections scan(URL root, @Nullable String rootPackage, ClassLoader... classLoaders) {
+        ClassLoader[] loaders = ClasspathHelper.classLoaders(classLoaders);
+        Reflections view = createView(loaders);
+        view.merge(getMetadata(root, rootPackage, loaders[0]));
+
+        return view;
+    }
+
+    /**
+     * Creates a view of the supplied package merged with the metadata of Icicle itself and its libraries.
+     * Only the roots not seen before are scanned.
+     *
+     * @param rootPackage  the package of the application
+     * @param classLoaders the class loaders to use (if empty, the context and static class loaders are used, same as {@link Reflections})
+     * @return a new {@link Reflections} instance, changes made to it do not affect the index
+     */
+    public Reflections getReflections(String rootPackage, ClassLoader... classLoaders) {
+        ClassLoader[] loaders = ClasspathHelper.classLoaders(classLoaders);
+        Reflections view = createView(loaders);
+
+        for (URL root : ClasspathHelper.forPackage(rootPackage, loaders)) {
+            view.merge(getMetadata(root, rootPackage, loaders[0]));
+        }
+
+        synchronized (this) {
+            view.merge(getIcicleReflections());
+        }
+
+        return view;
+    }
+
+    /**
+     * Drops the cached metadata of the supplied roots (for every class loader), so they are scanned again when needed.
+     * (The metadata of Icicle and its libraries, already merged, is not affected.)
+     *
+     * @param evicted the classpath roots to evict
+     */
+    public void evict(Collection<URL> evicted) {
+        Set<String> prefixes = new HashSet<>();
+        for (URL root : evicted) {
+            prefixes.add(getKey(root, null));
+        }
+
+        synchronized (roots) {
+            for (Map<String, Reflections> metadata : roots.values()) {
+                metadata.keySet().removeIf(key -> prefixes.contains(key.substring(0, key.lastIndexOf('|') + 1)));
+            }
+        }
+    }
+
+    /**
+     * Adds a library (loaded by {@link net.iceyleagons.icicle.core.maven.MavenLibraryLoader}) to the metadata of Icicle.
+     * Only the library itself is scanned, applications created afterwards will see its types.
+     *
+     * @param library     the jar of the library
+     * @param classLoader the class loader the library has been loaded into
+     */
+    public synchronized void addLibrary(URL library, ClassLoader classLoader) {
+        Reflections reflections = getMetadata(library, null, classLoader);
+        if (libraries.contains(reflections)) return;
+
+        libraries.add(reflections);
+        if (icicleReflections != null) {
+            icicleReflections.merge(reflections);
+            icicleReflections.expandSuperTypes();
+        }
+    }
+
+    private Reflections getIcicleReflections() {
+        if (icicleReflections == null) {
+            icicleReflections = createView(Icicle.ICICLE_CLASS_LOADERS);
+
+            for (URL root : ClasspathHelper.forPackage(ICICLE_PACKAGE, Icicle.ICICLE_CLASS_LOADERS)) {
+                icicleReflections.merge(getMetadata(root, ICICLE_PACKAGE, Icicle.ICICLE_CLASS_LOADERS[0]));
+            }
+
+            libraries.forEach(icicleReflections::merge);
+            icicleReflections.expandSuperTypes();
+        }
+
+        return icicleReflections;
+    }
+}
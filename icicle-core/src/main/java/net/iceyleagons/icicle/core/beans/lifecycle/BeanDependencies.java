@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.lifecycle;
+
+import net.iceyleagons.icicle.core.utils.BeanUtils;
+
+import java.util.*;
+
+/**
+ * Helpers for walking the dependency graph of already created beans (using their constructor parameters).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 19, 2022
+ */
+public final class BeanDependencies {
+
+    private static final ClassValue<Class<?>[]> DEPENDENCIES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            try {
+                return BeanUtils.getResolvableConstructor(type).getParameterTypes();
+            } catch (Exception e) {
+                return new Class<?>[0];
+            }
+        }
+    };
+
+    private BeanDependencies() {
+    }
+
+    /**
+     * @param bean       the type of the bean
+     * @param dependency the type of the (possible) dependency
+     * @return true if the bean's constructor requires the dependency (or one of its supertypes)
+     */
+    public static boolean dependsOn(Class<?> bean, Class<?> dependency) {
+        for (Class<?> parameter : DEPENDENCIES.get(bean)) {
+            if (parameter.isAssignableFrom(dependency)) return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Walks the dependency graph backwards: returns the type and every type depending on it, directly or indirectly.
+     *
+     * @param beans the types of the beans in creation order (dependencies first)
+     * @param type  the type to start from
+     * @return the type and its dependents, in creation order
+     */
+    public static List<Class<?>> getDependents(List<Class<?>> beans, Class<?> type) {
+        List<Class<?>> result = new ArrayList<>();
+        result.add(type);
+
+        // single pass is enough, every dependent comes after its dependencies
+        for (int i = beans.indexOf(type) + 1; i < beans.size(); i++) {
+            Class<?> bean = beans.get(i);
+
+            for (Class<?> dependency : result) {
+                if (dependsOn(bean, dependency)) {
+                    result.add(bean);
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+}
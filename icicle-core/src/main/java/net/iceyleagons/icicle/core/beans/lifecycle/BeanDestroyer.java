@@ -0,0 +1,243 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.lifecycle;
+
+import net.iceyleagons.icicle.core.annotations.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Calls the @{@link PreDestroy} hooks of the beans of an application.
+ * <p>
+ * Beans are grouped into levels by their constructor dependencies (a bean's level is one higher than its highest dependency's),
+ * and the levels are destroyed from the top: beans are destroyed before their dependencies, while the beans of a level
+ * (which cannot depend on each other) are destroyed in parallel. All the levels have to finish within the supplied timeout,
+ * the hooks still running after that are interrupted, and the remaining levels are skipped.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 18, 2022
+ */
+public class BeanDestroyer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanDestroyer.class);
+    private static final ClassValue<Method[]> HOOKS = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            List<Method> hooks = new ArrayList<>(1);
+            Set<String> overridden = new HashSet<>();
+
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Method method : current.getDeclaredMethods()) {
+                    if (!method.isAnnotationPresent(PreDestroy.class) || Modifier.isStatic(method.getModifiers())) continue;
+                    if (method.getParameterCount() != 0) {
+                        LOGGER.warn("@PreDestroy method {} of {} must not have parameters. Ignoring...", method.getName(), type.getName());
+                        continue;
+                    }
+
+                    if (Modifier.isPrivate(method.getModifiers()) || overridden.add(method.getName())) {
+                        method.setAccessible(true);
+                        hooks.add(method);
+                    }
+                }
+            }
+
+            return hooks.toArray(new Method[0]);
+        }
+    };
+
+    private final long timeoutMillis;
+
+    /**
+     * @param timeoutMillis the maximum time all the hooks can take altogether
+     */
+    public BeanDestroyer(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Groups the beans into levels: the beans of a level only depend on the beans of lower levels.
+     * <p>
+     * The levels are computed from the dependency graph, so the order of the beans does not matter
+     * (a @Lazy bean is created after the beans depending on it).
+     *
+     * @param beans the beans (type -> instance)
+     * @return the levels, the lowest first
+     */
+    static List<List<Map.Entry<Class<?>, Object>>> resolveLevels(List<Map.Entry<Class<?>, Object>> beans) {
+        int size = beans.size();
+        int[][] dependencies = new int[size][];
+
+        for (int i = 0; i < size; i++) {
+            Class<?> type = beans.get(i).getKey();
+            int[] found = new int[size];
+            int count = 0;
+
+            for (int j = 0; j < size; j++) {
+                if (i != j && BeanDependencies.dependsOn(type, beans.get(j).getKey())) {
+                    found[count++] = j;
+                }
+            }
+
+            dependencies[i] = Arrays.copyOf(found, count);
+        }
+
+        int[] beanLevels = new int[size];
+        Arrays.fill(beanLevels, -1);
+        boolean[] visiting = new boolean[size];
+        Deque<int[]> stack = new ArrayDeque<>(); // {bean, index of the next dependency}
+
+        for (int root = 0; root < size; root++) {
+            if (beanLevels[root] != -1) continue;
+
+            visiting[root] = true;
+            stack.push(new int[]{root, 0});
+
+            while (!stack.isEmpty()) {
+                int[] frame = stack.peek();
+                int bean = frame[0];
+
+                if (frame[1] < dependencies[bean].length) {
+                    int dependency = dependencies[bean][frame[1]++];
+                    if (beanLevels[dependency] == -1 && !visiting[dependency]) {
+                        visiting[dependency] = true;
+                        stack.push(new int[]{dependency, 0});
+                    }
+                    continue;
+                }
+
+                // a dependency still being visited closes a cycle (only possible through @Lazy), that edge is ignored
+                int level = 0;
+                for (int dependency : dependencies[bean]) {
+                    if (beanLevels[dependency] >= level) {
+                        level = beanLevels[dependency] + 1;
+                    }
+                }
+
+                beanLevels[bean] = level;
+                visiting[bean] = false;
+                stack.pop();
+            }
+        }
+
+        List<List<Map.Entry<Class<?>, Object>>> levels = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            while (levels.size() <= beanLevels[i]) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(beanLevels[i]).add(beans.get(i));
+        }
+
+        return levels;
+    }
+
+    /**
+     * Calls the @{@link PreDestroy} hooks of the supplied beans.
+     *
+     * @param beans the beans (type -> instance)
+     */
+    public void destroy(List<Map.Entry<Class<?>, Object>> beans) {
+        if (beans.stream().allMatch(entry -> HOOKS.get(entry.getKey()).length == 0)) return;
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("Icicle-BeanDestroyer-" + thread.getPoolIndex());
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }, null, false);
+
+        try {
+            List<List<Map.Entry<Class<?>, Object>>> levels = resolveLevels(beans);
+
+            for (int i = levels.size() - 1; i >= 0; i--) {
+                List<Map.Entry<Class<?>, Object>> level = levels.get(i);
+                List<Callable<Long>> tasks = new ArrayList<>(level.size());
+                List<Class<?>> types = new ArrayList<>(level.size());
+
+                for (Map.Entry<Class<?>, Object> entry : level) {
+                    if (HOOKS.get(entry.getKey()).length == 0) continue;
+
+                    tasks.add(() -> callHooks(entry.getKey(), entry.getValue()));
+                    types.add(entry.getKey());
+                }
+                if (tasks.isEmpty()) continue;
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    LOGGER.warn("Shutdown timeout ({} ms) exceeded, skipping the @PreDestroy hooks of {} bean level(s).", timeoutMillis, i + 1);
+                    return;
+                }
+
+                List<Future<Long>> results = pool.invokeAll(tasks, remaining, TimeUnit.NANOSECONDS);
+                for (int j = 0; j < results.size(); j++) {
+                    report(types.get(j), results.get(j));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while calling @PreDestroy hooks.");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void report(Class<?> type, Future<Long> result) throws InterruptedException {
+        if (result.isCancelled()) {
+            LOGGER.warn("@PreDestroy hooks of bean {} did not finish within the shutdown timeout ({} ms).", type.getName(), timeoutMillis);
+            return;
+        }
+
+        try {
+            LOGGER.info("Destroyed bean {} in {} ms.", type.getName(), TimeUnit.NANOSECONDS.toMillis(result.get()));
+        } catch (ExecutionException e) {
+            LOGGER.error("@PreDestroy hook of bean {} threw an exception.", type.getName(), e.getCause());
+        }
+    }
+
+    private static long callHooks(Class<?> type, Object bean) throws Exception {
+        long start = System.nanoTime();
+
+        for (Method hook : HOOKS.get(type)) {
+            try {
+                hook.invoke(bean);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception) throw (Exception) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw e;
+            }
+        }
+
+        return System.nanoTime() - start;
+    }
+}
@@ -32,5 +32,7 @@ public interface CustomAutoCreateAnnotationResolver {
 
     void onCreated(Object bean, Class<?> type) throws Exception;
 
+    void onDestroyed(Object bean, Class<?> type) throws Exception;
+
     boolean has(Class<?> type);
 }
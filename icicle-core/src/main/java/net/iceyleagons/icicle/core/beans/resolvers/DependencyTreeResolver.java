@@ -27,7 +27,9 @@ package net.iceyleagons.icicle.core.beans.resolvers;
 import net.iceyleagons.icicle.core.exceptions.CircularDependencyException;
 import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
 
+import java.util.Collection;
 import java.util.LinkedList;
+import java.util.List;
 
 /**
  * DependencyTreeResolvers are responsible for catching circular-dependency problems and returning the bean classes in
@@ -50,4 +52,39 @@ public interface DependencyTreeResolver {
      * @throws CircularDependencyException if the dependencies in the tree form a circle somewhere
      */
     LinkedList<Class<?>> resolveDependencyTree(Class<?> currentBean) throws CircularDependencyException, UnsatisfiedDependencyException;
+
+    /**
+     * Resolves the dependency graph of all the passed beans at once, and orders them topologically.
+     * Every circle in the graph is reported at once.
+     *
+     * @param beans the beans to create
+     * @return the not registered beans (and their dependencies), every bean is preceded by its dependencies
+     * @throws CircularDependencyException    if the dependencies in the graph form one or more circles
+     * @throws UnsatisfiedDependencyException if a dependency can neither be found in the registry nor be created
+     */
+    List<Class<?>> resolveCreationOrder(Collection<Class<?>> beans) throws CircularDependencyException, UnsatisfiedDependencyException;
+
+    /**
+     * Resolves the dependency graph of all the passed beans at once, and groups them into creation levels.
+     * <p>
+     * Beans in the first level only depend on already registered beans, beans in the second level only depend on
+     * registered beans and beans from the first level, and so on. Beans inside the same level are independent of each other,
+     * therefore they can be created in parallel.
+     *
+     * @param beans the beans to create
+     * @return the creation levels (not registered beans only)
+     * @throws CircularDependencyException    if the dependencies in the graph form a circle somewhere
+     * @throws UnsatisfiedDependencyException if a dependency can neither be found in the registry nor be created
+     */
+    List<List<Class<?>>> resolveCreationLevels(Collection<Class<?>> beans) throws CircularDependencyException, UnsatisfiedDependencyException;
+
+    /**
+     * Registers the types that can be created to satisfy a dependency declared with one of their supertypes (ex. an interface),
+     * regardless of the order the beans are resolved in.
+     * The beans passed to {@link #resolveCreationOrder(Collection)} and {@link #resolveCreationLevels(Collection)} are registered automatically.
+     *
+     * @param types the auto-create types
+     */
+    default void registerCandidates(Collection<Class<?>> types) {
+    }
 }
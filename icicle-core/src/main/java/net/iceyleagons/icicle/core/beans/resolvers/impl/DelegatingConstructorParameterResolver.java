@@ -25,13 +25,12 @@
 package net.iceyleagons.icicle.core.beans.resolvers.impl;
 
 import net.iceyleagons.icicle.core.beans.BeanRegistry;
+import net.iceyleagons.icicle.core.beans.InjectionPlan;
 import net.iceyleagons.icicle.core.beans.resolvers.AutowiringAnnotationResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.ConstructorParameterResolver;
 import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
 
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Parameter;
 
 /**
  * Default implementation of {@link ConstructorParameterResolver}.
@@ -54,29 +53,7 @@ public class DelegatingConstructorParameterResolver implements ConstructorParame
      */
     @Override
     public Object[] resolveConstructorParameters(Constructor<?> constructor, BeanRegistry beanRegistry) throws UnsatisfiedDependencyException {
-        Parameter[] parameters = constructor.getParameters();
-        Object[] params = new Object[parameters.length];
-
-        if (parameters.length == 0) return params;
-
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            Class<?> type = parameter.getType();
-
-            Object result = beanRegistry.getBeanNullable(type);
-
-            if (parameter.getAnnotations().length != 0 && result == null) {
-                for (Annotation annotation : parameter.getAnnotations()) {
-                    result = autowiringAnnotationResolver.getValueForAnnotation(annotation.annotationType(), annotation, type);
-                    if (result != null) break;
-                }
-            }
-
-            if (result == null) throw new UnsatisfiedDependencyException(parameter);
-
-            params[i] = result;
-        }
-
-        return params;
+        // parameter types and annotations are only reflected once per constructor
+        return InjectionPlan.of(constructor).resolveArguments(beanRegistry, this.autowiringAnnotationResolver);
     }
 }
@@ -24,32 +24,58 @@
 
 package net.iceyleagons.icicle.core.beans.resolvers.impl;
 
+import net.iceyleagons.icicle.core.annotations.AnnotationMetadata;
 import net.iceyleagons.icicle.core.annotations.handlers.CustomAutoCreateAnnotationHandler;
 import net.iceyleagons.icicle.core.beans.resolvers.CustomAutoCreateAnnotationResolver;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class DelegatingCustomAutoCreateAnnotationResolver implements CustomAutoCreateAnnotationResolver {
 
+    private static final CustomAutoCreateAnnotationHandler[] NO_HANDLERS = new CustomAutoCreateAnnotationHandler[0];
+
     private final Map<Class<? extends Annotation>, CustomAutoCreateAnnotationHandler> handlers = new ConcurrentHashMap<>();
+    private volatile ClassValue<CustomAutoCreateAnnotationHandler[]> matches = createMatches(); // replaced whenever a handler is registered
+
+    private ClassValue<CustomAutoCreateAnnotationHandler[]> createMatches() {
+        return new ClassValue<>() {
+            @Override
+            protected CustomAutoCreateAnnotationHandler[] computeValue(Class<?> type) {
+                List<CustomAutoCreateAnnotationHandler> result = new ArrayList<>(1);
+                for (Class<? extends Annotation> annotation : AnnotationMetadata.of(type).getAnnotations()) {
+                    CustomAutoCreateAnnotationHandler handler = handlers.get(annotation);
+                    if (handler != null) result.add(handler);
+                }
+
+                return result.isEmpty() ? NO_HANDLERS : result.toArray(NO_HANDLERS);
+            }
+        };
+    }
 
     @Override
     public void registerCustomAutoCreateAnnotationHandler(CustomAutoCreateAnnotationHandler handler) {
         for (Class<? extends Annotation> supportedAnnotation : handler.getSupportedAnnotations()) {
             handlers.put(supportedAnnotation, handler);
         }
+
+        this.matches = createMatches();
     }
 
     @Override
     public void onCreated(Object bean, Class<?> type) throws Exception {
-        for (Annotation annotation : type.getAnnotations()) {
-            Class<? extends Annotation> annotationType = annotation.annotationType();
+        for (CustomAutoCreateAnnotationHandler handler : matches.get(type)) {
+            handler.onCreated(bean, type);
+        }
+    }
 
-            if (handlers.containsKey(annotationType)) {
-                handlers.get(annotationType).onCreated(bean, type);
-            }
+    @Override
+    public void onDestroyed(Object bean, Class<?> type) throws Exception {
+        for (CustomAutoCreateAnnotationHandler handler : matches.get(type)) {
+            handler.onDestroyed(bean, type);
         }
     }
 
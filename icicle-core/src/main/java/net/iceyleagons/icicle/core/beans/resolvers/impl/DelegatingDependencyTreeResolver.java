@@ -24,21 +24,25 @@
 
 package net.iceyleagons.icicle.core.beans.resolvers.impl;
 
+import net.iceyleagons.icicle.core.annotations.Bean;
 import net.iceyleagons.icicle.core.annotations.MergedAnnotationResolver;
 import net.iceyleagons.icicle.core.beans.BeanRegistry;
 import net.iceyleagons.icicle.core.beans.resolvers.AutowiringAnnotationResolver;
 import net.iceyleagons.icicle.core.beans.resolvers.DependencyTreeResolver;
+import net.iceyleagons.icicle.core.beans.scope.BeanScopes;
+import net.iceyleagons.icicle.core.exceptions.AmbiguousBeanException;
 import net.iceyleagons.icicle.core.exceptions.CircularDependencyException;
 import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
 import net.iceyleagons.icicle.core.utils.BeanUtils;
-import net.iceyleagons.icicle.utilities.ListUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
-import java.util.LinkedList;
-import java.util.Stack;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of {@link DependencyTreeResolver}.
@@ -54,6 +58,7 @@ public class DelegatingDependencyTreeResolver implements DependencyTreeResolver
     private final BeanRegistry beanRegistry;
     private final AutowiringAnnotationResolver autowiringAnnotationResolver;
     private final MergedAnnotationResolver autoCreateResolver;
+    private final Map<Class<?>, Set<Class<?>>> candidates = new ConcurrentHashMap<>(); // supertype -> auto-create types implementing it
 
     public DelegatingDependencyTreeResolver(BeanRegistry beanRegistry, AutowiringAnnotationResolver autowiringAnnotationResolver, MergedAnnotationResolver autoCreateResolver) {
         this.beanRegistry = beanRegistry;
@@ -64,22 +69,16 @@ public class DelegatingDependencyTreeResolver implements DependencyTreeResolver
     /**
      * Formats a human-friendly "graph" of the dependency circle.
      *
-     * @param tree  the dependencies that form a circle
-     * @param start the starting point of the circle
-     * @param end   the ending point of the circle (the one that references the starting point --> making a circle)
+     * @param cycle the dependencies that form a circle (the last one references the first one --> making a circle)
      * @return the formatted "graph" to use in {@link CircularDependencyException}
      */
-    private static String getCycleString(LinkedList<Class<?>> tree, Class<?> start, Class<?> end) {
-        int startIndex = tree.indexOf(start);
-        int endIndex = tree.indexOf(end);
-
+    private static String getCycleString(List<Class<?>> cycle) {
         StringBuilder stringBuilder = new StringBuilder();
 
-
         stringBuilder.append("\n\t\t|-----|").append("\n\r");
         stringBuilder.append("\t\t|     |").append("\n\r");
-        for (int i = startIndex; i <= endIndex; i++) {
-            stringBuilder.append("\t\t|   ").append(tree.get(i).getName()).append("\n\r");
+        for (Class<?> bean : cycle) {
+            stringBuilder.append("\t\t|   ").append(bean.getName()).append("\n\r");
             stringBuilder.append("\t\t|     |").append("\n\r");
         }
 
@@ -88,6 +87,245 @@ public class DelegatingDependencyTreeResolver implements DependencyTreeResolver
         return stringBuilder.toString();
     }
 
+    /**
+     * Finds an actual circle inside a strongly connected component (BFS from its first member back to itself).
+     *
+     * @param component the members of the component
+     * @param graph     the dependency graph
+     * @return the circle, starting with the first member of the component
+     */
+    private static List<Class<?>> findCycle(List<Class<?>> component, Map<Class<?>, Set<Class<?>>> graph) {
+        Class<?> start = component.get(0);
+        Set<Class<?>> members = new HashSet<>(component);
+        Map<Class<?>, Class<?>> previous = new HashMap<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+
+            for (Class<?> dependency : graph.getOrDefault(current, Collections.emptySet())) {
+                if (dependency == start) {
+                    LinkedList<Class<?>> cycle = new LinkedList<>();
+                    for (Class<?> c = current; c != null; c = previous.get(c)) {
+                        cycle.addFirst(c);
+                    }
+                    return cycle;
+                }
+
+                if (members.contains(dependency) && !previous.containsKey(dependency)) {
+                    previous.put(dependency, current);
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        return component; // cannot happen in a valid component
+    }
+
+    /**
+     * Collects the types of all the @{@link Bean} methods from the passed beans, mapped to the bean declaring them.
+     *
+     * @param beans the beans to check
+     * @return the map of produced types and their producers
+     */
+    private static Map<Class<?>, Class<?>> getBeanMethodProducers(Collection<Class<?>> beans) {
+        Map<Class<?>, Class<?>> producers = new HashMap<>();
+
+        for (Class<?> bean : beans) {
+            for (Method method : bean.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Bean.class)) {
+                    producers.putIfAbsent(method.getReturnType(), bean);
+                }
+            }
+        }
+
+        return producers;
+    }
+
+    /**
+     * Returns the constructor parameters of the bean, that must be satisfied by other beans.
+     * (Parameters marked with an autowiring annotation are handled by their handlers, so they are skipped.)
+     *
+     * @param bean the bean
+     * @return the list of parameters
+     */
+    private List<Parameter> getDependencyParameters(Class<?> bean) {
+        List<Parameter> result = new ArrayList<>();
+
+        x:
+        for (Parameter param : BeanUtils.getResolvableConstructor(bean).getParameters()) {
+            for (Annotation annotation : param.getAnnotations()) {
+                if (autowiringAnnotationResolver.has(annotation.annotationType())) {
+                    continue x;
+                }
+            }
+
+            result.add(param);
+        }
+
+        return result;
+    }
+
+    private List<Class<?>> getUnregistered(Collection<Class<?>> beans) {
+        List<Class<?>> result = new ArrayList<>(beans.size());
+        for (Class<?> bean : beans) {
+            if (!beanRegistry.isRegistered(bean)) {
+                result.add(bean);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Finds the auto-create type to create for a dependency declared with one of its supertypes.
+     *
+     * @param param the parameter of the dependency
+     * @return the type to create
+     * @throws UnsatisfiedDependencyException if no registered candidate implements the dependency
+     * @throws AmbiguousBeanException         if multiple candidates implement the dependency
+     */
+    private Class<?> getCandidate(Parameter param) throws UnsatisfiedDependencyException {
+        Set<Class<?>> implementors = this.candidates.getOrDefault(param.getType(), Collections.emptySet());
+        if (implementors.size() > 1) {
+            throw new AmbiguousBeanException(param.getType(), implementors);
+        }
+
+        for (Class<?> implementor : implementors) {
+            if (!beanRegistry.isRegistered(implementor)) {
+                return implementor;
+            }
+        }
+
+        throw new UnsatisfiedDependencyException(param);
+    }
+
+    /**
+     * Builds the dependency graph (bean -> the beans it needs to be created before it) of the passed beans and
+     * all of their not yet available dependencies.
+     *
+     * @param roots     the beans to start from (these are added to the graph even if they're registered)
+     * @param producers the types registered by @{@link Bean} methods, mapped to the bean declaring them
+     * @return the graph (in insertion order)
+     * @throws UnsatisfiedDependencyException if a dependency can neither be found in the registry nor be created,
+     *                                        or it is bound to the contexts of its scope (ex. player scoped)
+     * @throws AmbiguousBeanException         if multiple candidates implement a dependency declared with their supertype
+     */
+    private Map<Class<?>, Set<Class<?>>> buildGraph(Collection<Class<?>> roots, Map<Class<?>, Class<?>> producers) throws UnsatisfiedDependencyException {
+        Map<Class<?>, Set<Class<?>>> graph = new LinkedHashMap<>();
+        Deque<Class<?>> stack = new ArrayDeque<>(roots);
+
+        while (!stack.isEmpty()) {
+            Class<?> bean = stack.pop();
+            if (graph.containsKey(bean)) continue;
+
+            Set<Class<?>> dependencies = new LinkedHashSet<>();
+            for (Parameter param : getDependencyParameters(bean)) {
+                Class<?> dependency = param.getType();
+                if (BeanScopes.isContextScoped(dependency)) {
+                    String scope = BeanScopes.getScope(dependency);
+                    throw new UnsatisfiedDependencyException(param, bean.getName() + " cannot depend on " + scope + " scoped beans, retrieve them via BeanScopes#getStore(\"" + scope + "\") instead");
+                }
+
+                if (beanRegistry.isResolvable(dependency)) continue; // already available (possibly through a subtype), nothing to create
+
+                if (this.autoCreateResolver.isAnnotated(dependency)) {
+                    dependencies.add(dependency);
+                    stack.push(dependency);
+                } else if (producers.containsKey(dependency)) {
+                    dependencies.add(producers.get(dependency)); // registered by a @Bean method, once its declaring bean is created
+                } else {
+                    Class<?> candidate = getCandidate(param); // declared with a supertype of a not yet created bean
+                    dependencies.add(candidate);
+                    stack.push(candidate);
+                }
+            }
+
+            graph.put(bean, dependencies);
+        }
+
+        return graph;
+    }
+
+    /**
+     * Orders the graph topologically (dependencies first) using Tarjan's strongly connected components algorithm.
+     * Every component with more than one member (or a member depending on itself) is a circle, all of them are reported at once.
+     *
+     * @param graph the dependency graph
+     * @return the beans of the graph, every bean is preceded by its dependencies
+     * @throws CircularDependencyException if the graph contains any circles
+     */
+    private static List<Class<?>> sortTopologically(Map<Class<?>, Set<Class<?>>> graph) throws CircularDependencyException {
+        Tarjan tarjan = new Tarjan(graph);
+        for (Class<?> bean : graph.keySet()) {
+            if (!tarjan.index.containsKey(bean)) {
+                tarjan.connect(bean);
+            }
+        }
+
+        if (!tarjan.cycles.isEmpty()) {
+            logger.warn("Circular dependency found!");
+            throw new CircularDependencyException(tarjan.cycles);
+        }
+
+        return tarjan.order;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Class<?>> resolveCreationOrder(Collection<Class<?>> beans) throws CircularDependencyException, UnsatisfiedDependencyException {
+        logger.debug("Resolving dependency graph for {} bean-types.", beans.size());
+        registerCandidates(beans);
+
+        return sortTopologically(buildGraph(getUnregistered(beans), getBeanMethodProducers(beans)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<List<Class<?>>> resolveCreationLevels(Collection<Class<?>> beans) throws CircularDependencyException, UnsatisfiedDependencyException {
+        logger.debug("Resolving dependency graph for {} bean-types.", beans.size());
+        registerCandidates(beans);
+
+        Map<Class<?>, Set<Class<?>>> graph = buildGraph(getUnregistered(beans), getBeanMethodProducers(beans));
+        Map<Class<?>, Integer> levels = new HashMap<>();
+        List<List<Class<?>>> result = new ArrayList<>();
+
+        // in topological order the levels of the dependencies are always known already
+        for (Class<?> bean : sortTopologically(graph)) {
+            int level = 0;
+            for (Class<?> dependency : graph.get(bean)) {
+                level = Math.max(level, levels.get(dependency) + 1);
+            }
+
+            levels.put(bean, level);
+            while (result.size() <= level) {
+                result.add(new ArrayList<>());
+            }
+            result.get(level).add(bean);
+        }
+
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void registerCandidates(Collection<Class<?>> types) {
+        for (Class<?> type : types) {
+            if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) continue;
+
+            for (Class<?> superType : BeanUtils.getSuperTypes(type)) {
+                this.candidates.computeIfAbsent(superType, k -> ConcurrentHashMap.newKeySet()).add(type);
+            }
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -95,42 +333,105 @@ public class DelegatingDependencyTreeResolver implements DependencyTreeResolver
     public LinkedList<Class<?>> resolveDependencyTree(Class<?> currentBean) throws CircularDependencyException, UnsatisfiedDependencyException {
         logger.debug("Resolving dependency tree for bean-type: {}", currentBean.getName());
 
-        LinkedList<Class<?>> tree = new LinkedList<>();
-        Stack<Class<?>> stack = new Stack<>();
+        // the current bean may be registered already (ex. a lazy proxy being initialized), we still need its dependencies
+        LinkedList<Class<?>> tree = new LinkedList<>(sortTopologically(buildGraph(Collections.singletonList(currentBean), Collections.emptyMap())));
+        tree.remove(currentBean);
 
-        tree.add(currentBean);
-        stack.add(currentBean);
+        return tree;
+    }
 
-        while (!stack.isEmpty()) {
-            Class<?> bean = stack.pop();
-            if (beanRegistry.isRegistered(bean)) continue; //making sure it's already registered to not spend time
+    /**
+     * State of Tarjan's strongly connected components algorithm.
+     * Components are found in reverse topological order of the graph, which (as edges point to dependencies) is exactly the creation order.
+     */
+    private static final class Tarjan {
+        private final Map<Class<?>, Set<Class<?>>> graph;
+        private final Map<Class<?>, Integer> index = new HashMap<>();
+        private final Map<Class<?>, Integer> lowLink = new HashMap<>();
+        private final Set<Class<?>> onStack = new HashSet<>();
+        private final Deque<Class<?>> stack = new ArrayDeque<>();
+        private final List<Class<?>> order = new ArrayList<>();
+        private final List<String> cycles = new ArrayList<>();
 
-            Parameter[] dependencies = BeanUtils.getResolvableConstructor(bean).getParameters();
-            x:
-            for (Parameter param : dependencies) {
-                Class<?> dependency = param.getType();
-                for (Annotation annotation : param.getAnnotations()) {
-                    if (autowiringAnnotationResolver.has(annotation.annotationType())) {
-                        continue x;
-                    }
+        private Tarjan(Map<Class<?>, Set<Class<?>>> graph) {
+            this.graph = graph;
+        }
+
+        /**
+         * Visits every bean reachable from the supplied one, that has not been visited yet.
+         * The depth-first search uses an explicit stack of frames, so deep dependency chains cannot overflow the call stack.
+         */
+        private void connect(Class<?> root) {
+            Deque<Frame> frames = new ArrayDeque<>();
+            frames.push(visit(root));
+
+            while (!frames.isEmpty()) {
+                Frame frame = frames.peek();
+                Class<?> bean = frame.bean;
+
+                if (frame.child != null) { // returned from the child
+                    lowLink.put(bean, Math.min(lowLink.get(bean), lowLink.get(frame.child)));
+                    frame.child = null;
                 }
 
-                if (!beanRegistry.isRegistered(dependency)) {
-                    if (tree.contains(dependency)) {
-                        logger.warn("Circular dependency found!");
-                        throw new CircularDependencyException(getCycleString(tree, dependency, bean));
-                    } else if (!this.autoCreateResolver.isAnnotated(dependency)) {
-                        throw new UnsatisfiedDependencyException(param);
+                if (frame.remaining.hasNext()) {
+                    Class<?> dependency = frame.remaining.next();
+
+                    if (!index.containsKey(dependency)) {
+                        frame.child = dependency;
+                        frames.push(visit(dependency));
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.put(bean, Math.min(lowLink.get(bean), index.get(dependency)));
                     }
+                    continue;
                 }
 
-                tree.add(dependency);
-                stack.add(dependency);
+                frames.pop();
+                if (lowLink.get(bean) == frame.index) {
+                    List<Class<?>> component = new ArrayList<>();
+                    Class<?> member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (member != bean);
+
+                    if (component.size() > 1 || frame.dependencies.contains(bean)) {
+                        Collections.reverse(component); // members were popped in reverse discovery order
+                        cycles.add(getCycleString(findCycle(component, graph)));
+                    }
+
+                    order.addAll(component);
+                }
             }
         }
 
-        tree.remove(currentBean);
+        private Frame visit(Class<?> bean) {
+            int beanIndex = index.size();
+            index.put(bean, beanIndex);
+            lowLink.put(bean, beanIndex);
+            stack.push(bean);
+            onStack.add(bean);
+
+            return new Frame(bean, beanIndex, graph.getOrDefault(bean, Collections.emptySet()));
+        }
+    }
 
-        return ListUtils.reverseLinkedList(tree);
+    /**
+     * A bean being visited by {@link Tarjan#connect(Class)}, with the dependencies not visited from it yet.
+     */
+    private static final class Frame {
+        private final Class<?> bean;
+        private final int index;
+        private final Set<Class<?>> dependencies;
+        private final Iterator<Class<?>> remaining;
+        private Class<?> child; // the dependency being visited from this bean
+
+        private Frame(Class<?> bean, int index, Set<Class<?>> dependencies) {
+            this.bean = bean;
+            this.index = index;
+            this.dependencies = dependencies;
+            this.remaining = dependencies.iterator();
+        }
     }
 }
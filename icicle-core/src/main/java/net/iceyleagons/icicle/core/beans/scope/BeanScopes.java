@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.scope;
+
+import net.iceyleagons.icicle.core.annotations.AnnotationMetadata;
+import net.iceyleagons.icicle.core.annotations.scope.Scope;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Manages the non-singleton scopes of an application.
+ * <p>
+ * Built-in scopes are {@link #PROTOTYPE} (a new instance for every lookup) and {@link #THREAD} (one instance per thread).
+ * Every other scope (ex. the player scope of icicle-bukkit) is backed by a {@link ScopedBeanStore}, whose contexts are
+ * opened and closed by the module providing the scope (looking up an instance of a context that is not open fails). Beans of these scopes cannot be looked up from the bean registry
+ * (there's no "current" context), they must be retrieved from their store with the key of the context. For the same reason
+ * they cannot be injected into other beans, such dependencies are rejected when the dependency graph is built.
+ * <p>
+ * Thread scoped beans are kept in a {@link ScopedBeanStore} keyed by the threads, so {@link #cleanUp()} releases
+ * the instances of every thread, not just the ones of the calling thread. Contexts of terminated threads are closed
+ * whenever a new thread opens its context.
+ *
+ * @author TOTHTOMI
+ * @version 1.2.0
+ * @see Scope
+ * @since Mar. 17, 2022
+ */
+public class BeanScopes {
+
+    public static final String PROTOTYPE = "prototype";
+    public static final String THREAD = "thread";
+    public static final int DEFAULT_POOL_CAPACITY = 64;
+
+    private final Map<String, ScopedBeanStore<?>> stores = new ConcurrentHashMap<>();
+    private final ScopedBeanStore<Thread> threadBeans = new ScopedBeanStore<>(THREAD, DEFAULT_POOL_CAPACITY);
+
+    /**
+     * @param type the type of the bean
+     * @return the name of the scope of the bean or null if the bean is a singleton
+     */
+    @Nullable
+    public static String getScope(Class<?> type) {
+        return AnnotationMetadata.of(type).getScope();
+    }
+
+    /**
+     * @param type the type of the bean
+     * @return true if the bean belongs to a scope whose instances are bound to contexts opened by a module (ex. player scope),
+     * so it cannot be looked up from the bean registry, nor injected into other beans
+     */
+    public static boolean isContextScoped(Class<?> type) {
+        String scope = getScope(type);
+        return scope != null && !PROTOTYPE.equals(scope) && !THREAD.equals(scope);
+    }
+
+    /**
+     * Registers a bean into the supplied scope.
+     *
+     * @param scope   the name of the scope
+     * @param type    the type of the bean
+     * @param factory the factory creating new instances of the bean
+     * @return the provider to register into the bean registry
+     */
+    public Supplier<?> register(String scope, Class<?> type, Callable<?> factory) {
+        switch (scope) {
+            case PROTOTYPE:
+                return () -> ScopedBeanStore.instantiate(scope, type, factory);
+            case THREAD:
+                threadBeans.register(type, factory);
+                return () -> {
+                    Thread thread = Thread.currentThread();
+                    Object bean = threadBeans.getIfPresent(thread, type);
+                    if (bean != null) return bean;
+
+                    if (!threadBeans.isOpen(thread)) {
+                        threadBeans.closeAll(t -> !t.isAlive());
+                    }
+
+                    return threadBeans.get(thread, type);
+                };
+            default:
+                getStore(scope).register(type, factory);
+                return () -> {
+                    throw new IllegalStateException("Bean " + type.getName() + " is " + scope + " scoped, it can only be retrieved via BeanScopes#getStore(\"" + scope + "\")!");
+                };
+        }
+    }
+
+    /**
+     * Returns the store of the scope, creating it if it does not exist yet.
+     * Its contexts are only opened via {@link ScopedBeanStore#open(Object)}, never on demand.
+     *
+     * @param scope the name of the scope
+     * @param <K>   the type of the context keys
+     * @return the store
+     */
+    @SuppressWarnings("unchecked")
+    public <K> ScopedBeanStore<K> getStore(String scope) {
+        return (ScopedBeanStore<K>) this.stores.computeIfAbsent(scope, s -> new ScopedBeanStore<>(s, DEFAULT_POOL_CAPACITY, false));
+    }
+
+    /**
+     * Closes every context of every store (including the thread scoped instances of all threads), and empties their pools.
+     */
+    public void cleanUp() {
+        this.stores.values().forEach(ScopedBeanStore::clear);
+        this.stores.clear();
+        this.threadBeans.clear();
+    }
+}
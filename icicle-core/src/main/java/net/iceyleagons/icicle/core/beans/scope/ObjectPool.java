@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.scope;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded, lock-free pool of reusable instances.
+ *
+ * @param <T> the type of the pooled instances
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 17, 2022
+ */
+public class ObjectPool<T> {
+
+    private final Queue<T> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    /**
+     * @param capacity the maximum amount of idle instances kept
+     */
+    public ObjectPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return an idle instance or null if the pool is empty
+     */
+    @Nullable
+    public T acquire() {
+        T instance = pool.poll();
+        if (instance != null) {
+            size.decrementAndGet();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns an instance to the pool.
+     *
+     * @param instance the instance
+     * @return false if the pool is full, and the instance has been dropped
+     */
+    public boolean release(T instance) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+
+        pool.offer(instance);
+        return true;
+    }
+
+    /**
+     * Drops every idle instance.
+     */
+    public void clear() {
+        while (acquire() != null) {
+            // acquire keeps the size in sync
+        }
+    }
+
+    /**
+     * @return the amount of idle instances
+     */
+    public int size() {
+        return size.get();
+    }
+}
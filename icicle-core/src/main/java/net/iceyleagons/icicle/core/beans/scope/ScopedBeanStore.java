@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.scope;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Stores the instances of the beans of a scope, per context (ex. per player).
+ * <p>
+ * Contexts and their instances are kept in {@link ConcurrentHashMap}s, so lookups of existing instances never lock,
+ * and different contexts never contend with each other. Missing instances are created outside any lock: if two threads race
+ * for the same instance, the loser's one is released to the pool (or dropped).
+ * <p>
+ * When a context is closed, its {@link Poolable} instances are reset and returned to the pool of their type,
+ * so the next context can reuse them instead of creating new ones.
+ * <p>
+ * Stores of scopes whose contexts are managed by a module (ex. the player scope) do not open contexts on demand:
+ * a late lookup for a context that has already been closed would silently re-open it, and nothing would ever close it again.
+ *
+ * @param <K> the type of the context keys
+ * @author TOTHTOMI
+ * @version 1.2.0
+ * @since Mar. 17, 2022
+ */
+public class ScopedBeanStore<K> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScopedBeanStore.class);
+
+    private final String scope;
+    private final int poolCapacity;
+    private final boolean openOnDemand;
+    private final Map<Class<?>, Callable<?>> factories = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectPool<Object>> pools = new ConcurrentHashMap<>();
+    private final Map<K, Map<Class<?>, Object>> contexts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store opening its contexts on demand.
+     *
+     * @param scope        the name of the scope (used for error messages)
+     * @param poolCapacity the maximum amount of idle instances kept per bean type
+     */
+    public ScopedBeanStore(String scope, int poolCapacity) {
+        this(scope, poolCapacity, true);
+    }
+
+    /**
+     * @param scope        the name of the scope (used for error messages)
+     * @param poolCapacity the maximum amount of idle instances kept per bean type
+     * @param openOnDemand whether {@link #get(Object, Class)} can open contexts, or they can only be opened via {@link #open(Object)}
+     */
+    public ScopedBeanStore(String scope, int poolCapacity, boolean openOnDemand) {
+        this.scope = scope;
+        this.poolCapacity = poolCapacity;
+        this.openOnDemand = openOnDemand;
+    }
+
+    static Object instantiate(String scope, Class<?> type, Callable<?> factory) {
+        try {
+            return factory.call();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not create " + scope + " scoped bean of type " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Registers a bean type into this scope.
+     *
+     * @param type    the type of the bean
+     * @param factory the factory creating new instances of the bean
+     */
+    public void register(Class<?> type, Callable<?> factory) {
+        this.factories.put(type, factory);
+
+        if (Poolable.class.isAssignableFrom(type)) {
+            this.pools.put(type, new ObjectPool<>(poolCapacity));
+        }
+    }
+
+    /**
+     * @param type the type of the bean
+     * @return true if the type has been registered into this scope
+     */
+    public boolean isRegistered(Class<?> type) {
+        return this.factories.containsKey(type);
+    }
+
+    /**
+     * @param key the key of the context
+     * @return true if the context is open
+     */
+    public boolean isOpen(K key) {
+        return this.contexts.containsKey(key);
+    }
+
+    /**
+     * Opens a context and creates the instances of every registered bean in it.
+     * (Calling this is optional if the store opens its contexts on demand.)
+     *
+     * @param key the key of the context
+     */
+    public void open(K key) {
+        Map<Class<?>, Object> context = this.contexts.get(key);
+        if (context == null) {
+            context = this.contexts.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+
+        for (Class<?> type : this.factories.keySet()) {
+            getOrCreate(context, type);
+        }
+    }
+
+    /**
+     * Returns the instance of the bean in the context, creating the instance (and the context, if the store opens
+     * its contexts on demand) if needed.
+     *
+     * @param key  the key of the context
+     * @param type the type of the bean
+     * @param <T>  the type of the bean
+     * @return the instance
+     * @throws IllegalArgumentException if the type has not been registered into this scope
+     * @throws IllegalStateException    if the instance cannot be created, or the context is not open and the store does not open contexts on demand
+     */
+    public <T> T get(K key, Class<T> type) {
+        return type.cast(getOrCreate(getContext(key), type));
+    }
+
+    /**
+     * Returns the instance of the bean in the context, without creating anything.
+     *
+     * @param key  the key of the context
+     * @param type the type of the bean
+     * @param <T>  the type of the bean
+     * @return the instance or null if the context is not open, or the instance has not been created yet
+     */
+    @Nullable
+    public <T> T getIfPresent(K key, Class<T> type) {
+        Map<Class<?>, Object> context = this.contexts.get(key);
+        return context == null ? null : type.cast(context.get(type));
+    }
+
+    /**
+     * Closes the context: its instances are removed, and the {@link Poolable} ones are reset and returned to their pool.
+     *
+     * @param key the key of the context
+     */
+    public void close(K key) {
+        Map<Class<?>, Object> context = this.contexts.remove(key);
+        if (context == null) return;
+
+        context.forEach(this::release);
+    }
+
+    /**
+     * Closes every context.
+     */
+    public void closeAll() {
+        closeAll(key -> true);
+    }
+
+    /**
+     * Closes every context whose key matches the filter.
+     *
+     * @param filter the filter of the keys
+     */
+    public void closeAll(Predicate<? super K> filter) {
+        for (K key : Set.copyOf(this.contexts.keySet())) {
+            if (filter.test(key)) {
+                close(key);
+            }
+        }
+    }
+
+    /**
+     * Closes every context and empties the pools, so no instance is kept by this store anymore.
+     * The registered types are kept, new contexts can still be opened.
+     */
+    public void clear() {
+        closeAll();
+        this.pools.values().forEach(ObjectPool::clear);
+    }
+
+    /**
+     * @return the amount of open contexts
+     */
+    public int getContextCount() {
+        return this.contexts.size();
+    }
+
+    private Map<Class<?>, Object> getContext(K key) {
+        Map<Class<?>, Object> context = this.contexts.get(key);
+        if (context != null) return context;
+
+        if (!this.openOnDemand) {
+            throw new IllegalStateException("Context " + key + " of scope " + scope + " is not open!");
+        }
+
+        return this.contexts.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+    }
+
+    private Object getOrCreate(Map<Class<?>, Object> context, Class<?> type) {
+        Object instance = context.get(type);
+        if (instance != null) return instance;
+
+        Callable<?> factory = this.factories.get(type);
+        if (factory == null) {
+            throw new IllegalArgumentException("Type " + type.getName() + " is not registered into scope " + scope + "!");
+        }
+
+        // not using computeIfAbsent: the factory may look up other beans of the same context, which would be a recursive update
+        ObjectPool<Object> pool = this.pools.get(type);
+        Object created = pool == null ? null : pool.acquire();
+        if (created == null) {
+            created = instantiate(scope, type, factory);
+        }
+
+        Object existing = context.putIfAbsent(type, created);
+        if (existing != null) {
+            release(type, created);
+            return existing;
+        }
+
+        return created;
+    }
+
+    private void release(Class<?> type, Object instance) {
+        ObjectPool<Object> pool = this.pools.get(type);
+        if (pool == null) return;
+
+        try {
+            ((Poolable) instance).reset();
+            pool.release(instance);
+        } catch (Exception e) {
+            LOGGER.warn("Could not reset {} scoped bean of type {}, dropping it.", scope, type.getName(), e);
+        }
+    }
+}
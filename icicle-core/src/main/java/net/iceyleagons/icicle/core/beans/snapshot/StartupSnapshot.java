@@ -0,0 +1,314 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.beans.snapshot;
+
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.annotations.config.Config;
+import net.iceyleagons.icicle.core.beans.index.BeanIndex;
+import net.iceyleagons.icicle.core.utils.BeanUtils;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot of the resolved bean graph of an application, written after a successful startup and replayed on the next one,
+ * so the bean types don't have to be collected and the dependency graph doesn't have to be resolved again.
+ * <p>
+ * The snapshot is keyed by a hash of the application's classpath roots (jars, directories): any change in them invalidates it.
+ * Every entry is also validated before replaying (classes must load, the chosen constructors and config bindings must be the same),
+ * any mismatch discards the whole snapshot.
+ * <p>
+ * Format (one record per line, tab separated, lists are comma separated):
+ * <pre>
+ * T    kind    className    constructorParameterTypes    [configFile]
+ * </pre>
+ * Records of the "bean" kind are written in creation order.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 16, 2022
+ */
+public class StartupSnapshot {
+
+    public static final String KIND_BEAN = "bean";
+    public static final String KIND_CONFIG = "config";
+    public static final String KIND_OTHER = "other";
+
+    private static final String HEADER = "# icicle startup snapshot v1";
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupSnapshot.class);
+
+    private final Set<Class<?>> autoCreationTypes;
+    private final List<Class<?>> creationOrder;
+
+    private StartupSnapshot(Set<Class<?>> autoCreationTypes, List<Class<?>> creationOrder) {
+        this.autoCreationTypes = autoCreationTypes;
+        this.creationOrder = creationOrder;
+    }
+
+    /**
+     * Calculates the key of the snapshot: a hash of the root packages, the Icicle version and every classpath root (path, size and modification time of the files).
+     *
+     * @param beanIndex the bean index of the application
+     * @return the key or null if it cannot be calculated (in that case no snapshot should be used)
+     */
+    @Nullable
+    public static String calculateKey(BeanIndex beanIndex) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest, Icicle.ICICLE_VERSION);
+            beanIndex.getRootPackages().forEach(rootPackage -> update(digest, rootPackage));
+
+            for (URL root : beanIndex.getRoots()) {
+                Path path = toPath(root);
+                update(digest, path.toString());
+
+                if (Files.isDirectory(path)) {
+                    try (Stream<Path> files = Files.walk(path)) {
+                        for (Path file : (Iterable<Path>) files.sorted()::iterator) {
+                            updateWithAttributes(digest, file);
+                        }
+                    }
+                } else {
+                    updateWithAttributes(digest, path);
+                }
+            }
+
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException | URISyntaxException | RuntimeException e) {
+            LOGGER.debug("Could not calculate startup snapshot key.", e);
+            return null; // ex. roots not on the file system
+        }
+    }
+
+    /**
+     * Returns the snapshot file of the application. The name contains a hash of the root packages and classpath roots (so applications sharing
+     * their first root package do not overwrite each other's snapshot) and a part of the key.
+     *
+     * @param directory the snapshot directory
+     * @param key       the key from {@link #calculateKey(BeanIndex)}
+     * @param beanIndex the bean index of the application
+     * @return the snapshot file
+     */
+    public static Path getFile(Path directory, String key, BeanIndex beanIndex) {
+        return directory.resolve(getFilePrefix(beanIndex) + key.substring(0, 16) + ".snapshot");
+    }
+
+    /**
+     * Converts a classpath root to a file system path. Jar roots (jar:file:/path/plugin.jar!/) are resolved to the jar file itself.
+     *
+     * @param root the root
+     * @return the path of the root
+     * @throws URISyntaxException if the root is not a valid URI
+     * @throws IOException        if the root is not on the default file system
+     */
+    public static Path toPath(URL root) throws URISyntaxException, IOException {
+        if ("jar".equals(root.getProtocol())) {
+            String file = root.getFile();
+            int separator = file.indexOf("!/");
+            // resolved manually, opening a JarURLConnection would keep the jar locked
+            return toPath(new URL(separator == -1 ? file : file.substring(0, separator)));
+        }
+
+        if (!"file".equals(root.getProtocol())) {
+            throw new IOException("Unsupported classpath root: " + root);
+        }
+
+        return Path.of(root.toURI());
+    }
+
+    /**
+     * Loads and validates the snapshot.
+     *
+     * @param file      the snapshot file
+     * @param key       the key from {@link #calculateKey(BeanIndex)}
+     * @param beanIndex the bean index to load the classes with
+     * @return the snapshot or null if it does not exist, or it is outdated/invalid (invalid snapshots are deleted)
+     */
+    @Nullable
+    public static StartupSnapshot load(Path file, String key, BeanIndex beanIndex) {
+        if (!Files.exists(file)) return null;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine()) || !key.equals(reader.readLine())) {
+                LOGGER.debug("Startup snapshot is outdated, discarding it.");
+                return discard(file);
+            }
+
+            Set<Class<?>> autoCreationTypes = new LinkedHashSet<>();
+            List<Class<?>> creationOrder = new ArrayList<>();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length < 4 || !parts[0].equals("T")) continue;
+
+                Class<?> type = beanIndex.forName(parts[2]);
+                if (type == null || !getConstructorSignature(type).equals(parts[3])) {
+                    LOGGER.debug("Startup snapshot entry {} does not match the class anymore, discarding the snapshot.", parts[2]);
+                    return discard(file);
+                }
+
+                if (parts[1].equals(KIND_CONFIG) && (parts.length < 5 || !type.isAnnotationPresent(Config.class) || !type.getAnnotation(Config.class).value().equals(parts[4]))) {
+                    LOGGER.debug("Config binding of {} has changed, discarding the snapshot.", parts[2]);
+                    return discard(file);
+                }
+
+                autoCreationTypes.add(type);
+                if (parts[1].equals(KIND_BEAN)) {
+                    creationOrder.add(type);
+                }
+            }
+
+            return new StartupSnapshot(autoCreationTypes, creationOrder);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Could not read startup snapshot.", e);
+            return discard(file);
+        }
+    }
+
+    /**
+     * Writes a snapshot.
+     *
+     * @param file              the snapshot file
+     * @param key               the key from {@link #calculateKey(BeanIndex)}
+     * @param autoCreationTypes all the types created during the startup
+     * @param creationOrder     the order of the non-exclusive beans
+     */
+    public static void write(Path file, String key, Set<Class<?>> autoCreationTypes, List<Class<?>> creationOrder) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER + "\n" + key + "\n");
+
+                Set<Class<?>> beans = new HashSet<>(creationOrder);
+                for (Class<?> type : autoCreationTypes) {
+                    if (beans.contains(type)) continue;
+
+                    if (type.isAnnotationPresent(Config.class)) {
+                        writeRecord(writer, KIND_CONFIG, type, type.getAnnotation(Config.class).value());
+                    } else {
+                        writeRecord(writer, KIND_OTHER, type, null);
+                    }
+                }
+
+                for (Class<?> bean : creationOrder) {
+                    writeRecord(writer, KIND_BEAN, bean, null);
+                }
+            }
+
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteOutdated(file);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.debug("Could not write startup snapshot.", e);
+        }
+    }
+
+    private static String getFilePrefix(BeanIndex beanIndex) {
+        StringBuilder identity = new StringBuilder();
+        beanIndex.getRootPackages().forEach(rootPackage -> identity.append(rootPackage).append('\n'));
+        beanIndex.getRoots().forEach(root -> identity.append(root).append('\n'));
+
+        String hash = Integer.toHexString(identity.toString().hashCode());
+        return (beanIndex.getRootPackages().isEmpty() ? "default" : beanIndex.getRootPackages().get(0)) + "-" + hash + "-";
+    }
+
+    private static void deleteOutdated(Path file) throws IOException {
+        // the snapshots written with the previous keys of the same application
+        String name = file.getFileName().toString();
+        String prefix = name.substring(0, name.length() - ".snapshot".length() - 16);
+
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            for (Path other : (Iterable<Path>) files::iterator) {
+                String otherName = other.getFileName().toString();
+                if (!otherName.equals(name) && otherName.startsWith(prefix) && otherName.endsWith(".snapshot")) {
+                    Files.deleteIfExists(other);
+                }
+            }
+        }
+    }
+
+    private static void writeRecord(BufferedWriter writer, String kind, Class<?> type, @Nullable String extra) throws IOException {
+        writer.write("T\t" + kind + "\t" + type.getName() + "\t" + getConstructorSignature(type) + (extra == null ? "" : "\t" + extra) + "\n");
+    }
+
+    private static String getConstructorSignature(Class<?> type) {
+        StringJoiner joiner = new StringJoiner(",", "(", ")");
+        for (Class<?> parameterType : BeanUtils.getResolvableConstructor(type).getParameterTypes()) {
+            joiner.add(parameterType.getName());
+        }
+
+        return joiner.toString();
+    }
+
+    private static StartupSnapshot discard(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+
+        return null;
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void updateWithAttributes(MessageDigest digest, Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        update(digest, file.toString());
+        update(digest, attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * @return every type to create (the result of the auto-create type scanning in the original startup)
+     */
+    public Set<Class<?>> getAutoCreationTypes() {
+        return autoCreationTypes;
+    }
+
+    /**
+     * @return the non-exclusive beans in their creation order
+     */
+    public List<Class<?>> getCreationOrder() {
+        return creationOrder;
+    }
+}
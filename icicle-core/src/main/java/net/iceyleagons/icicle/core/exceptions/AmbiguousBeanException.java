@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.exceptions;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * This exception is used when a bean is requested by one of its supertypes (ex. an interface),
+ * but multiple registered beans implement that type.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 14, 2022
+ */
+public class AmbiguousBeanException extends RuntimeException {
+
+    /**
+     * @param type       the requested type
+     * @param candidates the types of the beans implementing the requested type
+     */
+    public AmbiguousBeanException(Class<?> type, Collection<Class<?>> candidates) {
+        super(String.format("Multiple beans found for type %s: %s (Register one of them explicitly with this type!)", type.getName(),
+                candidates.stream().map(Class::getName).collect(Collectors.joining(", "))));
+    }
+}
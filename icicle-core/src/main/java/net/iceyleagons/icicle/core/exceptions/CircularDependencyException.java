@@ -24,6 +24,8 @@
 
 package net.iceyleagons.icicle.core.exceptions;
 
+import java.util.List;
+
 /**
  * This exception is used when the dependency tree forms a circle.
  *
@@ -41,4 +43,12 @@ public class CircularDependencyException extends Exception {
     public CircularDependencyException(String msg) {
         super("Bean dependency tree forms a circle:\n" + msg);
     }
+
+    /**
+     * @param cycles the formatted circles to print out (every circle found in the dependency graph)
+     */
+    public CircularDependencyException(List<String> cycles) {
+        super(cycles.size() == 1 ? "Bean dependency tree forms a circle:\n" + cycles.get(0) :
+                "Bean dependency graph forms " + cycles.size() + " circles:\n" + String.join("\n", cycles));
+    }
 }
@@ -31,7 +31,7 @@ import java.lang.reflect.Parameter;
  * This exception is used when a dependency can not be found when autowiring.
  *
  * @author TOTHTOMI
- * @version 1.0.0
+ * @version 1.1.0
  * @since Aug. 23, 2021
  */
 public class UnsatisfiedDependencyException extends Exception {
@@ -43,6 +43,14 @@ public class UnsatisfiedDependencyException extends Exception {
         super("Unsatisfied dependency expressed at parameter named " + parameter.getName() + ". Type: " + parameter.getType().getName() + " (Is it an @AutoCreate child:");
     }
 
+    /**
+     * @param parameter the parameter of the constructor that caused the issue
+     * @param reason    the reason why the dependency cannot be satisfied
+     */
+    public UnsatisfiedDependencyException(Parameter parameter, String reason) {
+        super("Unsatisfied dependency expressed at parameter named " + parameter.getName() + ". Type: " + parameter.getType().getName() + " (" + reason + ")");
+    }
+
     /**
      * @param field the field of the class that caused the issue
      */
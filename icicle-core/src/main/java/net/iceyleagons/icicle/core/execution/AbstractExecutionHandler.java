@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.utils.ExecutionHandler;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Base of the {@link ExecutionHandler}s with a ticking main thread.
+ * <p>
+ * Immediate main-thread work is not scheduled one-by-one, but queued into a {@link MainThreadQueue} drained every tick
+ * with a time budget ({@link Icicle#MAIN_THREAD_BUDGET_MILLIS} by default).
+ * Delayed and periodic tasks are kept in {@link TimingWheel}s: the main-thread one is advanced every tick (expired tasks join the queue),
+ * the async one by a {@link WheelTimer}. Periodic tasks return {@link ScheduledTask} handles, and follow the jitter and catch-up policy of their {@link PeriodicSchedule}.
+ * <p>
+ * Immediate main-thread work submitted from the main thread itself runs inline: queueing it would only delay it, and a caller blocking
+ * on its result (ex. a value returning @Sync method) would wait for a tick that never comes.
+ * <p>
+ * Implementations only have to call {@link #tick()} on the main thread once {@link #startTicking()} is called, run the async tasks,
+ * and tell whether the calling thread is the main thread.
+ * <p>
+ * Once {@link #shutdown()} is called, the futures of the tasks not yet run (and of the ones submitted afterwards) are completed
+ * exceptionally with a {@link RejectedExecutionException}, so nothing waiting for them hangs. Periodic tasks cannot be scheduled anymore,
+ * the schedule methods throw a {@link RejectedExecutionException}.
+ *
+ * @author TOTHTOMI
+ * @version 1.2.0
+ * @since Mar. 21, 2022
+ */
+public abstract class AbstractExecutionHandler implements ExecutionHandler {
+
+    private final String name;
+    private final MainThreadQueue mainThreadQueue;
+    private final TimingWheel syncWheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+    private final AtomicBoolean ticking = new AtomicBoolean(false);
+    private final Set<CompletableFuture<?>> delayedFutures = ConcurrentHashMap.newKeySet(); // of the delayed tasks still in the wheels
+    private volatile WheelTimer asyncTimer;
+    private volatile boolean shutdown;
+
+    /**
+     * @param name   the name of the owner (used in the thread names)
+     * @param budget the time the queued main-thread tasks can take per tick
+     * @param unit   the unit of the budget
+     */
+    protected AbstractExecutionHandler(String name, long budget, TimeUnit unit) {
+        this.name = name;
+        this.mainThreadQueue = new MainThreadQueue(budget, unit);
+    }
+
+    /**
+     * Wraps the callable to complete the future with its result.
+     */
+    protected static <T> Runnable completing(CompletableFuture<T> completableFuture, Callable<T> callable) {
+        return new CompletingTask<>(completableFuture, callable);
+    }
+
+    /**
+     * @return the queue of the immediate main-thread tasks
+     */
+    public MainThreadQueue getMainThreadQueue() {
+        return this.mainThreadQueue;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> runSync(Callable<T> callable) {
+        return runSync(callable, TaskPriority.NORMAL);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> runSync(Callable<T> callable, TaskPriority priority) {
+        if (!shutdown && isMainThread()) {
+            CompletableFuture<T> completableFuture = new CompletableFuture<>();
+            completing(completableFuture, callable).run();
+
+            return completableFuture;
+        }
+
+        CompletableFuture<T> completableFuture = mainThreadQueue.submit(callable, priority);
+        ensureTicking();
+        rejectIfShutdown(); // checked after queueing, so a concurrent shutdown cannot miss the task
+
+        return completableFuture;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> runSyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay) {
+        CompletableFuture<T> completableFuture = trackDelayed(new CompletableFuture<>());
+        Runnable task = completing(completableFuture, callable);
+
+        syncWheel.schedule(() -> mainThreadQueue.submit(task, TaskPriority.NORMAL), delay, 0, timeUnit);
+        ensureTicking();
+        rejectIfShutdown();
+
+        return completableFuture;
+    }
+
+    @Override
+    public ScheduledTask scheduleSync(Runnable task, PeriodicSchedule schedule) {
+        throwIfShutdown();
+
+        ScheduledTask scheduledTask = syncWheel.schedule(schedule.handOff(task, runnable -> mainThreadQueue.submit(runnable, TaskPriority.NORMAL)),
+                schedule.nextInitialDelayNanos(), schedule.getPeriodNanos(), TimeUnit.NANOSECONDS, schedule.getCatchUpPolicy());
+        ensureTicking();
+
+        return cancelIfShutdown(scheduledTask);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> runAsync(Callable<T> callable) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        executeAsync(completableFuture, completing(completableFuture, callable));
+
+        return completableFuture;
+    }
+
+    @Override
+    public <T> CompletableFuture<T> runAsyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay) {
+        CompletableFuture<T> completableFuture = trackDelayed(new CompletableFuture<>());
+        Runnable task = completing(completableFuture, callable);
+
+        WheelTimer timer;
+        try {
+            timer = getAsyncTimer();
+        } catch (RejectedExecutionException e) {
+            completableFuture.completeExceptionally(e);
+            return completableFuture;
+        }
+
+        timer.schedule(() -> executeAsync(completableFuture, task), delay, 0, timeUnit);
+        rejectIfShutdown();
+
+        return completableFuture;
+    }
+
+    @Override
+    public ScheduledTask scheduleAsync(Runnable task, PeriodicSchedule schedule) {
+        ScheduledTask scheduledTask = getAsyncTimer().schedule(schedule.handOff(task, this::executeAsync),
+                schedule.nextInitialDelayNanos(), schedule.getPeriodNanos(), TimeUnit.NANOSECONDS, schedule.getCatchUpPolicy());
+
+        return cancelIfShutdown(scheduledTask);
+    }
+
+    /**
+     * Stops the async timer, and completes the futures of the tasks not yet run exceptionally.
+     * Implementations stopping their main loop and executors should call this first.
+     */
+    @Override
+    public void shutdown() {
+        WheelTimer timer;
+        synchronized (this) {
+            // under the lock of getAsyncTimer(), so no timer can be started after this
+            this.shutdown = true;
+            timer = this.asyncTimer;
+        }
+
+        if (timer != null) {
+            timer.shutdown();
+        }
+
+        rejectIfShutdown();
+    }
+
+    /**
+     * Runs the main-thread work of a tick, must be called on the main thread every tick.
+     */
+    protected void tick() {
+        // no lookahead: a task due in the middle of the next tick waits for it, rather than running early
+        syncWheel.advance(System.nanoTime());
+        mainThreadQueue.drain();
+    }
+
+    /**
+     * Arranges {@link #tick()} to be called every tick. Called once, lazily (when the first main-thread task is submitted).
+     */
+    protected abstract void startTicking();
+
+    /**
+     * @return true if called from the main thread
+     */
+    public abstract boolean isMainThread();
+
+    /**
+     * Runs the task off the main thread.
+     *
+     * @param task the task to run
+     */
+    protected abstract void executeAsync(Runnable task);
+
+    private void executeAsync(CompletableFuture<?> completableFuture, Runnable task) {
+        try {
+            executeAsync(task);
+        } catch (RejectedExecutionException e) {
+            completableFuture.completeExceptionally(e); // the executor has been shut down
+        }
+    }
+
+    private <T> CompletableFuture<T> trackDelayed(CompletableFuture<T> completableFuture) {
+        delayedFutures.add(completableFuture);
+        completableFuture.whenComplete((result, throwable) -> delayedFutures.remove(completableFuture));
+
+        return completableFuture;
+    }
+
+    private RejectedExecutionException rejection() {
+        return new RejectedExecutionException("Execution handler of " + name + " has been shut down!");
+    }
+
+    private void throwIfShutdown() {
+        if (shutdown) {
+            throw rejection();
+        }
+    }
+
+    private ScheduledTask cancelIfShutdown(ScheduledTask scheduledTask) {
+        if (shutdown) {
+            // shut down concurrently, the wheel is not advanced anymore
+            scheduledTask.cancel();
+            throw rejection();
+        }
+
+        return scheduledTask;
+    }
+
+    private void rejectIfShutdown() {
+        if (!shutdown) return;
+
+        RejectedExecutionException exception = rejection();
+        mainThreadQueue.discard(exception);
+        for (CompletableFuture<?> completableFuture : delayedFutures) {
+            completableFuture.completeExceptionally(exception);
+        }
+    }
+
+    private void ensureTicking() {
+        if (!ticking.get() && ticking.compareAndSet(false, true)) {
+            // started lazily, the platform may not be ready yet when the handler is created
+            startTicking();
+        }
+    }
+
+    private WheelTimer getAsyncTimer() {
+        throwIfShutdown();
+
+        WheelTimer timer = this.asyncTimer;
+        if (timer == null) {
+            synchronized (this) {
+                throwIfShutdown(); // checked again under the lock of shutdown()
+
+                timer = this.asyncTimer;
+                if (timer == null) {
+                    timer = new WheelTimer("Icicle-AsyncTimer-" + name, 1, TimeUnit.MILLISECONDS);
+                    this.asyncTimer = timer;
+                }
+            }
+        }
+
+        return timer;
+    }
+}
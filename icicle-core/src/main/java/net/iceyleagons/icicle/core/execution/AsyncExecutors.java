@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.Icicle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory of the executors running the async work of the applications.
+ * <p>
+ * On JVMs supporting virtual threads (Java 21+, or 19+ with preview features enabled) every task gets its own virtual thread,
+ * so blocking I/O inside async tasks costs a parked continuation instead of an OS thread. Otherwise a bounded {@link ForkJoinPool} is used,
+ * which never creates more than {@link Icicle#ASYNC_PARALLELISM} threads.
+ * (Icicle targets Java 17, so virtual threads are looked up reflectively.)
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public final class AsyncExecutors {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncExecutors.class);
+    private static final MethodHandle VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private AsyncExecutors() {
+    }
+
+    private static MethodHandle findVirtualThreadExecutor() {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            ((ExecutorService) handle.invoke()).shutdown(); // fails if virtual threads are a disabled preview feature
+
+            return handle;
+        } catch (Throwable throwable) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true if the JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Creates the executor for async work: virtual thread per task if supported (and not disabled with -Dicicle.async.virtual=false),
+     * otherwise a bounded {@link ForkJoinPool}.
+     *
+     * @param name the name of the owner (used in the thread names of the pool)
+     * @return the executor
+     */
+    public static ExecutorService newAsyncExecutor(String name) {
+        if (Icicle.VIRTUAL_THREADS && VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke();
+            } catch (Throwable throwable) {
+                LOGGER.warn("Could not create virtual thread executor, falling back to a bounded pool.", throwable);
+            }
+        }
+
+        return newBoundedPool(name, Icicle.ASYNC_PARALLELISM);
+    }
+
+    /**
+     * Creates a {@link ForkJoinPool} (in FIFO mode), that never has more than the supplied amount of threads.
+     * Tasks submitted while every thread is busy are queued.
+     *
+     * @param name        the name of the owner (used in the thread names)
+     * @param parallelism the maximum amount of threads
+     * @return the pool
+     */
+    public static ExecutorService newBoundedPool(String name, int parallelism) {
+        AtomicInteger counter = new AtomicInteger();
+
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("Icicle-Async-" + name + "-" + counter.incrementAndGet());
+            return thread;
+        }, null, true, 0, parallelism, 1, pool -> true, 60, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+/**
+ * What a periodic task does when its executions fall behind (ex. the server lags, or the previous execution is still running or queued).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public enum CatchUpPolicy {
+
+    /**
+     * The missed executions are dropped, the next one keeps the original phase. An execution is also dropped if the previous one has not finished yet.
+     */
+    SKIP,
+
+    /**
+     * The missed executions are merged into a single one, and the schedule continues one period after it (the phase shifts).
+     * An execution is also dropped if the previous one has not finished yet.
+     */
+    COALESCE,
+
+    /**
+     * Every missed execution is run as soon as possible (even overlapping with each other), then the original phase continues.
+     */
+    CATCH_UP
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Queued task completing a future with the result of its callable, so the future can be failed if the task is discarded.
+ *
+ * @param <T> the type of the result
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+final class CompletingTask<T> implements Runnable {
+
+    private final CompletableFuture<T> completableFuture;
+    private final Callable<T> callable;
+
+    CompletingTask(CompletableFuture<T> completableFuture, Callable<T> callable) {
+        this.completableFuture = completableFuture;
+        this.callable = callable;
+    }
+
+    @Override
+    public void run() {
+        try {
+            completableFuture.complete(callable.call());
+        } catch (Exception e) {
+            completableFuture.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Fails the future, the task will not run.
+     *
+     * @param cause the reason
+     */
+    void reject(Throwable cause) {
+        completableFuture.completeExceptionally(cause);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScheduledTask} for handlers without a {@link TimingWheel}: every execution is a one-shot delayed task (ex. submitted via
+ * {@link net.iceyleagons.icicle.core.utils.ExecutionHandler#runSyncAfter(java.util.concurrent.Callable, TimeUnit, long)}),
+ * which schedules the next one after the task has run. Executions therefore never overlap.
+ * <p>
+ * Every step carries the generation of the schedule it belongs to, so the steps already submitted before a {@link #reschedule(long, long, TimeUnit)}
+ * or {@link #cancel()} do nothing when they fire.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public final class DelayChainedTask implements ScheduledTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DelayChainedTask.class);
+
+    private static final int ACTIVE = 0;
+    private static final int PAUSED = 1;
+    private static final int PARKED = 2; // paused one-shot task, whose deadline has passed
+    private static final int DONE = 3;
+    private static final int CANCELLED = 4;
+
+    private final Runnable task;
+    private final CatchUpPolicy policy;
+    private final Scheduler scheduler;
+
+    // guarded by this
+    private int state = ACTIVE;
+    private int generation;
+    private long deadline;
+    private long periodNanos;
+
+    private DelayChainedTask(Runnable task, CatchUpPolicy policy, Scheduler scheduler) {
+        this.task = task;
+        this.policy = policy;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Schedules the first execution of the task.
+     *
+     * @param task      the task
+     * @param schedule  the schedule of the task
+     * @param scheduler submits the steps with their delays
+     * @return the handle of the task
+     */
+    public static ScheduledTask start(Runnable task, PeriodicSchedule schedule, Scheduler scheduler) {
+        DelayChainedTask chainedTask = new DelayChainedTask(task, schedule.getCatchUpPolicy(), scheduler);
+        chainedTask.reschedule(schedule.nextInitialDelayNanos(), schedule.getPeriodNanos(), TimeUnit.NANOSECONDS);
+
+        return chainedTask;
+    }
+
+    @Override
+    public synchronized boolean cancel() {
+        if (state == CANCELLED || state == DONE) return false;
+
+        state = CANCELLED;
+        return true;
+    }
+
+    @Override
+    public synchronized boolean pause() {
+        if (state != ACTIVE) return false;
+
+        state = PAUSED;
+        return true;
+    }
+
+    @Override
+    public boolean resume() {
+        int step;
+        synchronized (this) {
+            if (state == PAUSED) {
+                state = ACTIVE;
+                return true;
+            }
+            if (state != PARKED) return false;
+
+            state = ACTIVE;
+            step = generation;
+        }
+
+        submit(step, 0);
+        return true;
+    }
+
+    @Override
+    public boolean reschedule(long delay, long period, TimeUnit unit) {
+        long delayNanos = unit.toNanos(delay);
+        int step;
+
+        synchronized (this) {
+            if (state == CANCELLED || state == DONE) return false;
+            if (state == PARKED) state = PAUSED; // held back again, until the new deadline passes
+
+            step = ++generation;
+            deadline = System.nanoTime() + delayNanos;
+            periodNanos = unit.toNanos(period);
+        }
+
+        submit(step, delayNanos);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == CANCELLED;
+    }
+
+    @Override
+    public synchronized boolean isPaused() {
+        return state == PAUSED || state == PARKED;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return state == DONE;
+    }
+
+    private void submit(int step, long delayNanos) {
+        scheduler.schedule(() -> fire(step), Math.max(0, delayNanos));
+    }
+
+    private void fire(int step) {
+        boolean run;
+        synchronized (this) {
+            if (step != generation || state == CANCELLED || state == DONE) return;
+
+            if (state == PAUSED && periodNanos == 0) {
+                state = PARKED;
+                return;
+            }
+
+            run = state == ACTIVE; // paused periodic tasks skip the execution, keeping their phase
+        }
+
+        if (run) {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                LOGGER.warn("Scheduled task threw an exception.", throwable);
+            }
+        }
+
+        long nextDelay;
+        synchronized (this) {
+            if (step != generation || state == CANCELLED) return; // rescheduled or cancelled while running
+
+            if (periodNanos == 0) {
+                state = DONE;
+                return;
+            }
+
+            deadline = nextDeadline(System.nanoTime());
+            nextDelay = deadline - System.nanoTime();
+        }
+
+        submit(step, nextDelay);
+    }
+
+    private long nextDeadline(long now) {
+        long next = deadline + periodNanos;
+        if (next > now) return next;
+
+        // the task (or the executor) lagged behind
+        switch (policy) {
+            case SKIP:
+                return next + ((now - next) / periodNanos + 1) * periodNanos;
+            case COALESCE:
+                return now + periodNanos;
+            default:
+                return next;
+        }
+    }
+
+    /**
+     * Submits the steps of a {@link DelayChainedTask}.
+     */
+    @FunctionalInterface
+    public interface Scheduler {
+
+        /**
+         * @param step       the step to run
+         * @param delayNanos the delay of the step in nanoseconds (never negative)
+         */
+        void schedule(Runnable step, long delayNanos);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.metrics.Counter;
+import net.iceyleagons.icicle.core.metrics.Histogram;
+import net.iceyleagons.icicle.core.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Work queue of the main thread of an application, drained once per tick by a single repeating task.
+ * <p>
+ * Tasks are executed in priority order until the time budget of the tick is used up, the rest is carried over to the next tick
+ * (the first task always runs, so the queue makes progress even if a single task exceeds the budget).
+ * This way a burst of main-thread work is spread over several ticks instead of causing a lag spike,
+ * and it does not cost a scheduler task per call.
+ * <p>
+ * Tasks can be queued from any thread, {@link #drain()} must only be called from the main thread.
+ *
+ * @author TOTHTOMI
+ * @version 1.2.0
+ * @since Mar. 21, 2022
+ */
+public class MainThreadQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MainThreadQueue.class);
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+    private final Queue<Runnable>[] queues;
+    private final AtomicInteger size = new AtomicInteger();
+    private final long budgetNanos;
+
+    // per priority sequence numbers (the queues are FIFO), so a task left in the queue for several ticks is counted as carried over only once
+    private final AtomicLongArray submitted; // incremented after the task is queued
+    private final long[] polled; // only accessed by the draining thread
+    private final AtomicLongArray discarded; // discard() can be called from any thread
+    private final long[] countedCarriedOver; // the last sequence number counted as carried over, only accessed by the draining thread
+
+    private volatile long lastDrainNanos;
+    private volatile Histogram drainTimes;
+    private volatile Counter executedTasks;
+    private volatile Counter carriedOverTasks;
+
+    /**
+     * @param budget the maximum time the tasks can take per tick
+     * @param unit   the unit of the budget
+     */
+    @SuppressWarnings("unchecked")
+    public MainThreadQueue(long budget, TimeUnit unit) {
+        this.budgetNanos = unit.toNanos(budget);
+        this.queues = new Queue[PRIORITIES.length];
+        this.submitted = new AtomicLongArray(PRIORITIES.length);
+        this.polled = new long[PRIORITIES.length];
+        this.discarded = new AtomicLongArray(PRIORITIES.length);
+        this.countedCarriedOver = new long[PRIORITIES.length];
+
+        for (int i = 0; i < queues.length; i++) {
+            queues[i] = new ConcurrentLinkedQueue<>();
+        }
+    }
+
+    /**
+     * Queues a task.
+     *
+     * @param task     the task
+     * @param priority the priority of the task
+     */
+    public void submit(Runnable task, TaskPriority priority) {
+        queues[priority.ordinal()].add(task);
+        submitted.incrementAndGet(priority.ordinal());
+        size.incrementAndGet();
+    }
+
+    /**
+     * Queues a task.
+     *
+     * @param callable the task
+     * @param priority the priority of the task
+     * @return the future completed with the result of the task (or exceptionally if it fails)
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> callable, TaskPriority priority) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        submit(new CompletingTask<>(completableFuture, callable), priority);
+
+        return completableFuture;
+    }
+
+    /**
+     * Executes the queued tasks until the queue is empty or the budget is used up. Must be called on the main thread, once per tick.
+     *
+     * @return the amount of tasks executed
+     */
+    public int drain() {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        int executed = 0;
+
+        Runnable task;
+        while ((task = poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                LOGGER.warn("Main thread task threw an exception.", throwable);
+            }
+
+            executed++;
+            if (System.nanoTime() - deadline >= 0) break;
+        }
+
+        long duration = System.nanoTime() - start;
+        this.lastDrainNanos = duration;
+        recordMetrics(executed, duration);
+
+        return executed;
+    }
+
+    /**
+     * Removes every queued task without running it. The futures of the tasks queued with a {@link Callable} are completed exceptionally.
+     * Can be called from any thread (ex. when the owner is shut down, and the queue will not be drained anymore).
+     *
+     * @param cause the exception to complete the futures with
+     * @return the amount of tasks discarded
+     */
+    public int discard(Throwable cause) {
+        int count = 0;
+
+        for (int i = 0; i < queues.length; i++) {
+            Runnable task;
+            while ((task = queues[i].poll()) != null) {
+                size.decrementAndGet();
+                discarded.incrementAndGet(i);
+
+                if (task instanceof CompletingTask) {
+                    ((CompletingTask<?>) task).reject(cause);
+                }
+
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Registers the metrics of the queue: its depth (gauge), the time spent draining it per tick (histogram),
+     * and the amount of executed and carried over tasks (counters, a task waiting for several ticks is carried over once).
+     *
+     * @param registry the registry of the application
+     */
+    public void bindMetrics(MetricsRegistry registry) {
+        registry.gauge("icicle_main_queue_depth", this::size);
+        this.executedTasks = registry.counter("icicle_main_queue_tasks_executed");
+        this.carriedOverTasks = registry.counter("icicle_main_queue_tasks_carried_over");
+        this.drainTimes = registry.histogram("icicle_main_queue_drain_nanos");
+    }
+
+    /**
+     * @return the amount of queued tasks
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * @return the time the last {@link #drain()} took in nanoseconds
+     */
+    public long getLastDrainNanos() {
+        return lastDrainNanos;
+    }
+
+    private Runnable poll() {
+        // always starting from the highest priority, so tasks queued meanwhile (ex. by the running task) are not overtaken
+        for (int i = 0; i < queues.length; i++) {
+            Runnable task = queues[i].poll();
+
+            if (task != null) {
+                size.decrementAndGet();
+                polled[i]++;
+                return task;
+            }
+        }
+
+        return null;
+    }
+
+    private void recordMetrics(int executed, long duration) {
+        if (drainTimes == null) return;
+
+        int remaining = size();
+        if (executed > 0 || remaining > 0) {
+            drainTimes.record(duration); // idle ticks would only hide the interesting values
+        }
+
+        executedTasks.add(executed);
+        if (remaining > 0) {
+            carriedOverTasks.add(countNewlyCarriedOver());
+        }
+    }
+
+    private long countNewlyCarriedOver() {
+        long carriedOver = 0;
+
+        for (int i = 0; i < queues.length; i++) {
+            // the tasks still queued are the ones after the last polled (or discarded), the ones up to the last counted were carried over before
+            long last = submitted.get(i);
+            long first = Math.max(polled[i] + discarded.get(i), countedCarriedOver[i]);
+
+            if (last > first) {
+                carriedOver += last - first;
+                countedCarriedOver[i] = last;
+            }
+        }
+
+        return carriedOver;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.annotations.execution.extra.After;
+import net.iceyleagons.icicle.core.annotations.execution.extra.Periodically;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Immutable description of a periodic execution: period, initial delay, phase jitter and {@link CatchUpPolicy}.
+ * <p>
+ * The jitter is a random extra initial delay (from 0 to the jitter), so tasks with the same period created together
+ * (ex. every @Periodically bean on startup) do not all fire on the same tick.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public final class PeriodicSchedule {
+
+    private final long periodNanos;
+    private final long delayNanos;
+    private final long jitterNanos;
+    private final CatchUpPolicy catchUpPolicy;
+
+    private PeriodicSchedule(long periodNanos, long delayNanos, long jitterNanos, CatchUpPolicy catchUpPolicy) {
+        this.periodNanos = periodNanos;
+        this.delayNanos = delayNanos;
+        this.jitterNanos = jitterNanos;
+        this.catchUpPolicy = catchUpPolicy;
+    }
+
+    /**
+     * @param period the period
+     * @param unit   the unit of the period
+     * @return a schedule without delay and jitter, skipping the missed executions
+     */
+    public static PeriodicSchedule every(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive!");
+        }
+
+        return new PeriodicSchedule(unit.toNanos(period), 0, 0, CatchUpPolicy.SKIP);
+    }
+
+    /**
+     * @param periodically the annotation of the method
+     * @param after        the delay annotation of the method, if present
+     * @return the schedule described by the annotations
+     */
+    public static PeriodicSchedule of(Periodically periodically, @Nullable After after) {
+        PeriodicSchedule schedule = every(periodically.period(), periodically.unit())
+                .jitter(periodically.jitter(), periodically.unit())
+                .catchUp(periodically.catchUp());
+
+        return after == null ? schedule : schedule.after(after.delay(), after.unit());
+    }
+
+    public PeriodicSchedule after(long delay, TimeUnit unit) {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay must not be negative!");
+        }
+
+        return new PeriodicSchedule(periodNanos, unit.toNanos(delay), jitterNanos, catchUpPolicy);
+    }
+
+    public PeriodicSchedule jitter(long jitter, TimeUnit unit) {
+        if (jitter < 0) {
+            throw new IllegalArgumentException("Jitter must not be negative!");
+        }
+
+        return new PeriodicSchedule(periodNanos, delayNanos, unit.toNanos(jitter), catchUpPolicy);
+    }
+
+    public PeriodicSchedule catchUp(CatchUpPolicy catchUpPolicy) {
+        return new PeriodicSchedule(periodNanos, delayNanos, jitterNanos, catchUpPolicy);
+    }
+
+    public long getPeriodNanos() {
+        return this.periodNanos;
+    }
+
+    public CatchUpPolicy getCatchUpPolicy() {
+        return this.catchUpPolicy;
+    }
+
+    /**
+     * @return the delay of the first execution, with a new random jitter on every call
+     */
+    public long nextInitialDelayNanos() {
+        return jitterNanos == 0 ? delayNanos : delayNanos + ThreadLocalRandom.current().nextLong(jitterNanos + 1);
+    }
+
+    /**
+     * Wraps the task for a timer, which only hands it over to the executor (ex. the main-thread queue or an async pool).
+     * Unless the policy is {@link CatchUpPolicy#CATCH_UP}, an execution is dropped while the previous one is still queued or running.
+     *
+     * @param task     the task
+     * @param executor the executor actually running the task
+     * @return the task for the timer
+     */
+    public Runnable handOff(Runnable task, Executor executor) {
+        if (catchUpPolicy == CatchUpPolicy.CATCH_UP) {
+            return () -> executor.execute(task);
+        }
+
+        AtomicBoolean inFlight = new AtomicBoolean(false);
+        Runnable guarded = () -> {
+            try {
+                task.run();
+            } finally {
+                inFlight.set(false);
+            }
+        };
+
+        return () -> {
+            if (!inFlight.compareAndSet(false, true)) return;
+
+            try {
+                executor.execute(guarded);
+            } catch (RuntimeException e) {
+                inFlight.set(false);
+                throw e;
+            }
+        };
+    }
+}
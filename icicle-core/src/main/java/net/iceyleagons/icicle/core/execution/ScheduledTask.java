@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handle of a delayed or periodic task, see {@link TimingWheel}. Every method can be called from any thread,
+ * the changes are applied by the driver of the wheel on its next tick.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public interface ScheduledTask {
+
+    /**
+     * Cancels the further executions of the task. An execution already handed over (ex. queued for the main thread) still runs.
+     *
+     * @return false if the task was already cancelled or finished
+     */
+    boolean cancel();
+
+    /**
+     * Pauses the task: periodic tasks skip their executions (keeping their phase), one-shot tasks are held back until {@link #resume()}.
+     *
+     * @return false if the task is not active
+     */
+    boolean pause();
+
+    /**
+     * Resumes a paused task. A one-shot task, whose deadline has passed while paused, runs on the next tick.
+     *
+     * @return false if the task was not paused
+     */
+    boolean resume();
+
+    /**
+     * Moves the next execution, the pause state of the task is kept.
+     *
+     * @param delay  the delay of the next execution from now
+     * @param period the period of the further executions or 0 to run the task only once more
+     * @param unit   the unit of the delay and period
+     * @return false if the task was already cancelled or finished
+     */
+    boolean reschedule(long delay, long period, TimeUnit unit);
+
+    boolean isCancelled();
+
+    boolean isPaused();
+
+    /**
+     * @return true if a one-shot task has run
+     */
+    boolean isDone();
+}
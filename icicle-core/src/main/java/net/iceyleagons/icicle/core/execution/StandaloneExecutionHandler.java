@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.Icicle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Platform independent {@link net.iceyleagons.icicle.core.utils.ExecutionHandler} with a simulated main loop:
+ * a dedicated "main" thread ticking at a fixed rate (20 ticks per second by default, like a Minecraft server),
+ * async work runs on the executors of {@link AsyncExecutors}.
+ * <p>
+ * Meant for running applications headlessly (tests, benchmarks) with the same threading as on a server, unlike {@link net.iceyleagons.icicle.core.utils.ExecutionUtils#debugHandler()}.
+ * Like a server, the loop does not try to make up for more than a second of missed ticks.
+ *
+ * @author TOTHTOMI
+ * @version 1.2.0
+ * @since Mar. 21, 2022
+ */
+public class StandaloneExecutionHandler extends AbstractExecutionHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandaloneExecutionHandler.class);
+
+    private final long tickNanos;
+    private final int ticksPerSecond;
+    private final Thread mainThread;
+    private final ExecutorService executor;
+
+    private volatile boolean running = true;
+    private volatile long tickCount;
+
+    /**
+     * Creates a handler ticking 20 times a second, with the default main-thread budget.
+     *
+     * @param name the name of the application (used in the thread names)
+     */
+    public StandaloneExecutionHandler(String name) {
+        this(name, 20, Icicle.MAIN_THREAD_BUDGET_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param name           the name of the application (used in the thread names)
+     * @param ticksPerSecond the tick rate of the main loop
+     * @param budget         the time the queued main-thread tasks can take per tick
+     * @param unit           the unit of the budget
+     */
+    public StandaloneExecutionHandler(String name, int ticksPerSecond, long budget, TimeUnit unit) {
+        super(name, budget, unit);
+        this.tickNanos = tickNanosOf(ticksPerSecond);
+        this.ticksPerSecond = ticksPerSecond;
+        this.executor = AsyncExecutors.newAsyncExecutor(name);
+
+        this.mainThread = new Thread(this::loop, "Icicle-Main-" + name);
+        this.mainThread.setDaemon(true);
+    }
+
+    private static long tickNanosOf(int ticksPerSecond) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive!");
+        }
+
+        return TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+    }
+
+    /**
+     * @return true if called from the main loop thread
+     */
+    @Override
+    public boolean isMainThread() {
+        return Thread.currentThread() == mainThread;
+    }
+
+    /**
+     * @return the amount of ticks completed since the main loop has been started
+     */
+    public long getTickCount() {
+        return this.tickCount;
+    }
+
+    public int getTicksPerSecond() {
+        return this.ticksPerSecond;
+    }
+
+    /**
+     * Stops the main loop after its current tick, and the async executors. The queued main-thread tasks are discarded,
+     * their futures (and the ones of the tasks submitted afterwards) are completed exceptionally.
+     */
+    @Override
+    public void shutdown() {
+        super.shutdown();
+
+        running = false;
+        LockSupport.unpark(mainThread);
+        executor.shutdown();
+    }
+
+    @Override
+    protected void startTicking() {
+        mainThread.start();
+    }
+
+    @Override
+    protected void executeAsync(Runnable task) {
+        executor.execute(task);
+    }
+
+    private void loop() {
+        long nextTick = System.nanoTime();
+
+        while (running) {
+            try {
+                tick();
+            } catch (Throwable throwable) {
+                LOGGER.error("Exception in the main loop.", throwable);
+            }
+            tickCount++;
+
+            nextTick += tickNanos;
+            long now = System.nanoTime();
+
+            if (now - nextTick > TimeUnit.SECONDS.toNanos(1)) {
+                LOGGER.warn("Main loop is running behind, skipping {} ticks.", (now - nextTick) / tickNanos);
+                nextTick = now;
+            }
+
+            while (running && (now = System.nanoTime()) < nextTick) {
+                LockSupport.parkNanos(this, nextTick - now);
+            }
+        }
+    }
+}
@@ -0,0 +1,524 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel for delayed and periodic tasks.
+ * <p>
+ * Time is measured in ticks of the supplied resolution (1 ms for ex.). The wheel has {@value #LEVELS} levels of {@value #SLOTS} slots,
+ * every level covering {@value #SLOTS} times the range of the previous one (with 1 ms ticks: 64 ms, 4 s, 4 min, 4.6 h, 12 days, 2 years).
+ * Scheduling, cancelling and firing are O(1), entries of the higher levels are moved down (cascaded) when their slot is reached.
+ * <p>
+ * Tasks can be scheduled (and their {@link ScheduledTask} handles used) from any thread, but the wheel must be advanced by a single thread (the driver),
+ * which also runs the expired tasks. The driver can be a tick loop (see the main-thread drain task of the execution handlers),
+ * or a dedicated thread (see {@link WheelTimer}). Sleeping drivers can use {@link #nextWakeUpNanos()} to only wake up when there is something to do.
+ *
+ * @author TOTHTOMI
+ * @version 1.2.0
+ * @since Mar. 21, 2022
+ */
+public class TimingWheel {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 6;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int DUE = -1;
+    private static final Logger LOGGER = LoggerFactory.getLogger(TimingWheel.class);
+
+    private static final int ACTIVE = 0;
+    private static final int PAUSED = 1;
+    private static final int PARKED = 2; // paused one-shot task, whose deadline has passed, held outside of the wheel
+    private static final int DONE = 3;
+    private static final int CANCELLED = 4;
+
+    private final long resolutionNanos;
+    private final long startNanos;
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS];
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private final LongConsumer wakeUp;
+
+    private Entry dueHead;
+    private long currentTick;
+    private long targetTick;
+    private int size;
+
+    /**
+     * @param resolution the length of a tick
+     * @param unit       the unit of the resolution
+     */
+    public TimingWheel(long resolution, TimeUnit unit) {
+        this(resolution, unit, deadlineNanos -> {
+        });
+    }
+
+    /**
+     * @param resolution the length of a tick
+     * @param unit       the unit of the resolution
+     * @param wakeUp     called (from any thread) when the wheel has changes for the driver, with the time (based on {@link System#nanoTime()})
+     *                   the driver has to advance the wheel by to apply the change, ex. to wake up a driver thread sleeping longer than that
+     */
+    public TimingWheel(long resolution, TimeUnit unit, LongConsumer wakeUp) {
+        this.resolutionNanos = unit.toNanos(resolution);
+        this.startNanos = System.nanoTime();
+        this.wakeUp = wakeUp;
+
+        if (resolutionNanos <= 0) {
+            throw new IllegalArgumentException("Resolution must be positive!");
+        }
+    }
+
+    /**
+     * Same as {@link #schedule(Runnable, long, long, TimeUnit, CatchUpPolicy)} with {@link CatchUpPolicy#SKIP}.
+     */
+    public ScheduledTask schedule(Runnable task, long delay, long period, TimeUnit unit) {
+        return schedule(task, delay, period, unit, CatchUpPolicy.SKIP);
+    }
+
+    /**
+     * Schedules a task. The task never runs earlier than the delay (rounded up to the resolution),
+     * periods are rounded to the nearest tick (at least one).
+     *
+     * @param task   the task to run (on the driver thread)
+     * @param delay  the delay of the first execution
+     * @param period the period of the further executions or 0 to run the task only once
+     * @param unit   the unit of the delay and period
+     * @param policy what to do with the executions missed while the driver lagged behind
+     * @return the handle of the task
+     */
+    public ScheduledTask schedule(Runnable task, long delay, long period, TimeUnit unit, CatchUpPolicy policy) {
+        if (delay < 0 || period < 0) {
+            throw new IllegalArgumentException("Delay and period must not be negative!");
+        }
+
+        Entry entry = new Entry(task, policy);
+        entry.deadline = toDeadline(unit.toNanos(delay));
+        entry.period = toPeriod(unit.toNanos(period));
+
+        submit(entry, toNanos(entry.deadline));
+        return entry;
+    }
+
+    /**
+     * Advances the wheel to the supplied time, running every task that has expired meanwhile. Must only be called by the driver thread.
+     *
+     * @param nowNanos the current time (from {@link System#nanoTime()}), tasks whose deadline is later are not run
+     * @return the amount of tasks run
+     */
+    public int advance(long nowNanos) {
+        targetTick = Math.max(currentTick, (nowNanos - startNanos) / resolutionNanos);
+        int fired = 0;
+
+        for (Entry entry = pending.poll(); entry != null; entry = pending.poll()) {
+            update(entry);
+        }
+
+        Entry due = dueHead;
+        dueHead = null;
+        fired += fireAll(due);
+
+        while (currentTick < targetTick) {
+            if (size == 0) {
+                currentTick = targetTick; // nothing to do in between
+                break;
+            }
+
+            currentTick++;
+            cascade();
+
+            int index = (int) (currentTick & SLOT_MASK);
+            Entry entry = slots[0][index];
+            slots[0][index] = null;
+            fired += fireAll(entry);
+        }
+
+        return fired;
+    }
+
+    /**
+     * Returns the time the wheel has to be advanced next. It is never later than the earliest deadline, but it may be earlier:
+     * entries of the higher levels are only placed precisely when their slot is cascaded. Must only be called by the driver thread.
+     *
+     * @return the time (based on {@link System#nanoTime()}), in the past if changes are waiting for the driver,
+     * or {@link Long#MAX_VALUE} if nothing is scheduled
+     */
+    public long nextWakeUpNanos() {
+        if (dueHead != null || !pending.isEmpty()) {
+            return toNanos(currentTick);
+        }
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+            long span = currentTick >>> shift;
+
+            // the slot of the current span is already processed (fired or cascaded), entries are always placed after it
+            for (int i = 1; i < SLOTS; i++) {
+                if (slots[level][(int) ((span + i) & SLOT_MASK)] != null) {
+                    next = Math.min(next, (span + i) << shift); // the tick the slot is fired or cascaded at
+                    break;
+                }
+            }
+        }
+
+        return next == Long.MAX_VALUE ? Long.MAX_VALUE : toNanos(next);
+    }
+
+    /**
+     * @return true if changes (new, cancelled, resumed or rescheduled tasks) are waiting to be picked up by the driver
+     */
+    public boolean hasPendingChanges() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * @return true if no task is scheduled (including the ones not yet picked up by the driver)
+     */
+    public boolean isEmpty() {
+        return size == 0 && pending.isEmpty();
+    }
+
+    /**
+     * @return the amount of scheduled tasks, only accurate on the driver thread
+     */
+    public int size() {
+        return size + pending.size();
+    }
+
+    private void submit(Entry entry, long deadlineNanos) {
+        pending.add(entry);
+        wakeUp.accept(deadlineNanos);
+    }
+
+    private long toNanos(long tick) {
+        return startNanos + tick * resolutionNanos;
+    }
+
+    private long toDeadline(long delayNanos) {
+        long deadlineNanos = System.nanoTime() - startNanos + delayNanos;
+        if (deadlineNanos < 0) {
+            deadlineNanos = Long.MAX_VALUE - resolutionNanos; // overflow, practically never
+        }
+
+        return (deadlineNanos + resolutionNanos - 1) / resolutionNanos;
+    }
+
+    private long toPeriod(long periodNanos) {
+        return periodNanos == 0 ? 0 : Math.max(1, (periodNanos + resolutionNanos / 2) / resolutionNanos);
+    }
+
+    /**
+     * (Re)places a new, resumed, rescheduled or cancelled entry, can be called multiple times for the same entry.
+     */
+    private void update(Entry entry) {
+        if (entry.linked) {
+            unlink(entry);
+        }
+
+        synchronized (entry) {
+            if (entry.rescheduled) {
+                entry.deadline = entry.requestedDeadline;
+                entry.period = entry.requestedPeriod;
+                entry.rescheduled = false;
+            }
+        }
+
+        int state = entry.state.get();
+        if (state == ACTIVE || state == PAUSED) {
+            insert(entry);
+        }
+    }
+
+    private int fireAll(Entry entry) {
+        int fired = 0;
+
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            entry.linked = false;
+            size--;
+
+            if (fire(entry)) {
+                fired++;
+            }
+            entry = next;
+        }
+
+        return fired;
+    }
+
+    private boolean fire(Entry entry) {
+        int state = entry.state.get();
+
+        if (state == PAUSED) {
+            if (entry.period != 0) {
+                reinsert(entry); // skipped, the phase is kept
+                return false;
+            }
+
+            if (entry.state.compareAndSet(PAUSED, PARKED)) {
+                return false;
+            }
+
+            state = entry.state.get(); // resumed or cancelled meanwhile
+        }
+
+        if (state != ACTIVE) {
+            return false;
+        }
+
+        try {
+            entry.task.run();
+        } catch (Throwable throwable) {
+            LOGGER.warn("Scheduled task threw an exception.", throwable);
+        }
+
+        if (entry.period == 0) {
+            entry.state.compareAndSet(ACTIVE, DONE);
+        } else {
+            reinsert(entry);
+        }
+
+        return true;
+    }
+
+    private void reinsert(Entry entry) {
+        long next = entry.deadline + entry.period;
+
+        if (next <= targetTick) {
+            // the next execution would also be due in this advance: the driver lagged behind
+            switch (entry.policy) {
+                case SKIP:
+                    next += ((targetTick - next) / entry.period + 1) * entry.period;
+                    break;
+                case COALESCE:
+                    next = targetTick + entry.period;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        entry.deadline = next;
+        insert(entry);
+    }
+
+    private void cascade() {
+        // the entries of the higher levels are moved down when the span of their slot begins (higher levels first, they may move into a lower slot cascaded now)
+        int highest = 0;
+        while (highest < LEVELS - 1 && (currentTick & ((1L << ((highest + 1) * SLOT_BITS)) - 1)) == 0) {
+            highest++;
+        }
+
+        for (int level = highest; level >= 1; level--) {
+            int index = (int) ((currentTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+            Entry entry = slots[level][index];
+            slots[level][index] = null;
+
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.prev = null;
+                entry.next = null;
+                entry.linked = false;
+                size--;
+
+                place(entry); // the deadline is in the span starting now, the slot of the current tick is fired after the cascade
+                entry = next;
+            }
+        }
+    }
+
+    private void insert(Entry entry) {
+        if (entry.deadline <= currentTick) {
+            link(entry, DUE, 0); // the slot of the current tick has already been fired
+        } else {
+            place(entry);
+        }
+    }
+
+    private void place(Entry entry) {
+        long deadline = entry.deadline;
+
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * SLOT_BITS;
+
+            if ((deadline >>> shift) - (currentTick >>> shift) < SLOTS) {
+                link(entry, level, (int) ((deadline >>> shift) & SLOT_MASK));
+                return;
+            }
+        }
+
+        // beyond the range of the wheel: parked in the furthest slot, placed again once that is reached
+        int shift = (LEVELS - 1) * SLOT_BITS;
+        link(entry, LEVELS - 1, (int) (((currentTick >>> shift) + SLOTS - 1) & SLOT_MASK));
+    }
+
+    private void link(Entry entry, int level, int index) {
+        Entry head = level == DUE ? dueHead : slots[level][index];
+
+        entry.level = level;
+        entry.index = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+
+        if (level == DUE) {
+            dueHead = entry;
+        } else {
+            slots[level][index] = entry;
+        }
+
+        entry.linked = true;
+        size++;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (entry.level == DUE) {
+            dueHead = entry.next;
+        } else {
+            slots[entry.level][entry.index] = entry.next;
+        }
+
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+
+        entry.prev = null;
+        entry.next = null;
+        entry.linked = false;
+        size--;
+    }
+
+    private final class Entry implements ScheduledTask {
+        private final Runnable task;
+        private final CatchUpPolicy policy;
+        private final AtomicInteger state = new AtomicInteger(ACTIVE);
+
+        // owned by the driver
+        private long deadline;
+        private long period;
+        private Entry prev;
+        private Entry next;
+        private int level;
+        private int index;
+        private boolean linked;
+
+        // guarded by this
+        private boolean rescheduled;
+        private long requestedDeadline;
+        private long requestedPeriod;
+
+        private Entry(Runnable task, CatchUpPolicy policy) {
+            this.task = task;
+            this.policy = policy;
+        }
+
+        @Override
+        public boolean cancel() {
+            while (true) {
+                int current = state.get();
+                if (current == DONE || current == CANCELLED) return false;
+
+                if (state.compareAndSet(current, CANCELLED)) {
+                    submit(this, Long.MAX_VALUE); // removed by the driver, whenever it wakes up
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public boolean pause() {
+            return state.compareAndSet(ACTIVE, PAUSED);
+        }
+
+        @Override
+        public boolean resume() {
+            if (state.compareAndSet(PAUSED, ACTIVE)) {
+                return true;
+            }
+
+            if (state.compareAndSet(PARKED, ACTIVE)) {
+                submit(this, System.nanoTime());
+                return true;
+            }
+
+            return false;
+        }
+
+        @Override
+        public boolean reschedule(long delay, long period, TimeUnit unit) {
+            if (delay < 0 || period < 0) {
+                throw new IllegalArgumentException("Delay and period must not be negative!");
+            }
+
+            long deadline = toDeadline(unit.toNanos(delay));
+            synchronized (this) {
+                this.requestedDeadline = deadline;
+                this.requestedPeriod = toPeriod(unit.toNanos(period));
+                this.rescheduled = true;
+            }
+
+            state.compareAndSet(PARKED, PAUSED); // back into the wheel, still paused
+            int current = state.get();
+            if (current == DONE || current == CANCELLED) return false;
+
+            submit(this, toNanos(deadline));
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isPaused() {
+            int current = state.get();
+            return current == PAUSED || current == PARKED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return state.get() == DONE;
+        }
+    }
+}
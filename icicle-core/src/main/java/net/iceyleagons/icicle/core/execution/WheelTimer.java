@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.execution;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link TimingWheel} driven by a dedicated daemon thread. The thread sleeps until the next non-empty slot of the wheel is due
+ * (or until something is scheduled, if the wheel is empty), and it is only woken up early by changes due before that.
+ * <p>
+ * Tasks run on the timer thread, so they should only hand the actual work over to an executor.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+public class WheelTimer {
+
+    private static final long AWAKE = Long.MIN_VALUE;
+
+    private final TimingWheel wheel;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile long sleepUntil = AWAKE; // Long.MAX_VALUE while sleeping without a deadline
+
+    /**
+     * @param name       the name of the timer thread
+     * @param resolution the length of a tick
+     * @param unit       the unit of the resolution
+     */
+    public WheelTimer(String name, long resolution, TimeUnit unit) {
+        this.wheel = new TimingWheel(resolution, unit, this::wakeUp);
+
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * @see TimingWheel#schedule(Runnable, long, long, TimeUnit)
+     */
+    public ScheduledTask schedule(Runnable task, long delay, long period, TimeUnit unit) {
+        return schedule(task, delay, period, unit, CatchUpPolicy.SKIP);
+    }
+
+    /**
+     * @see TimingWheel#schedule(Runnable, long, long, TimeUnit, CatchUpPolicy)
+     */
+    public ScheduledTask schedule(Runnable task, long delay, long period, TimeUnit unit, CatchUpPolicy policy) {
+        return wheel.schedule(task, delay, period, unit, policy);
+    }
+
+    /**
+     * Stops the timer thread, the tasks not yet run are discarded.
+     */
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    private void wakeUp(long deadlineNanos) {
+        // an awake thread picks up the change anyway, a sleeping one only has to wake up if the change is due earlier
+        if (deadlineNanos < sleepUntil) {
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            wheel.advance(System.nanoTime());
+
+            long wakeUpAt = wheel.nextWakeUpNanos();
+            sleepUntil = wakeUpAt;
+
+            // changes submitted before sleepUntil was published did not unpark us
+            if (running && !wheel.hasPendingChanges()) {
+                if (wakeUpAt == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    long delay = wakeUpAt - System.nanoTime();
+                    if (delay > 0) LockSupport.parkNanos(this, delay);
+                }
+            }
+
+            sleepUntil = AWAKE;
+        }
+    }
+}
@@ -26,12 +26,12 @@ package net.iceyleagons.icicle.core.maven;
 
 import lombok.SneakyThrows;
 import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.beans.index.ClassMetadataIndex;
 import net.iceyleagons.icicle.core.maven.loaders.AdvancedClassLoader;
 import net.iceyleagons.icicle.utilities.file.AdvancedFile;
 import net.iceyleagons.icicle.utilities.file.FileUtils;
 import net.iceyleagons.icicle.utilities.lang.Experimental;
 import net.iceyleagons.icicle.utilities.lang.Internal;
-import org.reflections.Reflections;
 
 import java.io.File;
 import java.net.URLClassLoader;
@@ -74,7 +74,6 @@ public class MavenLibraryLoader {
         }
 
         acl.loadLibrary(f);
-        Icicle.ICICLE_REFLECTIONS.merge(new Reflections(acl.getOrigin()));
-        Icicle.ICICLE_REFLECTIONS.expandSuperTypes();
+        ClassMetadataIndex.getShared().addLibrary(f.toUri().toURL(), acl.getOrigin()); // only the new jar is scanned
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.metrics;
+
+import net.iceyleagons.icicle.utilities.lang.Internal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide histograms of the execution times of the @{@link net.iceyleagons.icicle.core.annotations.execution.Measure} methods.
+ * <p>
+ * These are recorded by the advice inlined into the proxies, which can only reach static state.
+ * The keys are the method descriptions ({@code type.method(descriptor)}) constant-folded into the proxies,
+ * so the lookup of an existing histogram does not allocate. The proxy handler removes the timings of its proxy classes, when its application shuts down.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+public final class MethodTimings {
+
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    private MethodTimings() {
+    }
+
+    /**
+     * Called by the proxies of the @Measure methods.
+     *
+     * @param method  the method
+     * @param nanos  the execution time in nanoseconds
+     */
+    @Internal
+    public static void record(String method, long nanos) {
+        Histogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, m -> new Histogram());
+        }
+
+        histogram.record(nanos);
+    }
+
+    /**
+     * Removes the histograms of the methods of the supplied types.
+     *
+     * @param types the (proxy) types
+     */
+    public static void remove(Collection<Class<?>> types) {
+        Set<String> names = new HashSet<>(types.size());
+        for (Class<?> type : types) {
+            names.add(type.getName());
+        }
+
+        histograms.keySet().removeIf(method -> names.contains(getTypeName(method)));
+    }
+
+    private static String getTypeName(String method) {
+        int descriptor = method.indexOf('(');
+        return method.substring(0, method.lastIndexOf('.', descriptor == -1 ? method.length() : descriptor));
+    }
+
+    /**
+     * @return the histograms by method
+     */
+    public static Map<String, Histogram> getHistograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+}
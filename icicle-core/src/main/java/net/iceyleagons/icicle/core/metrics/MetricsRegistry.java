@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.metrics;
+
+import net.iceyleagons.icicle.core.annotations.PreDestroy;
+import net.iceyleagons.icicle.core.annotations.Service;
+import net.iceyleagons.icicle.core.metrics.export.MetricsExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registry of the metrics of an application: counters, gauges and histograms, looked up (or created) by their names.
+ * <p>
+ * Recording is lock-free and does not allocate, the instances returned should be kept in fields on hot paths to save the lookup.
+ * The timings of the @{@link net.iceyleagons.icicle.core.annotations.execution.Measure} methods (see {@link MethodTimings})
+ * are part of the snapshots as well.
+ * <p>
+ * Snapshots can be exported periodically with {@link #scheduleExport(MetricsExporter, long, TimeUnit)}.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @see net.iceyleagons.icicle.core.metrics.export.PrometheusExporter
+ * @see net.iceyleagons.icicle.core.metrics.export.LoggingMetricsExporter
+ * @since Mar. 21, 2022
+ */
+@Service
+public class MetricsRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, DoubleSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private ScheduledExecutorService exportExecutor;
+
+    private static Map<String, HistogramSnapshot> snapshot(Map<String, Histogram> histograms) {
+        Map<String, HistogramSnapshot> result = new TreeMap<>();
+        histograms.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+        return result;
+    }
+
+    /**
+     * @param name the name of the counter
+     * @return the counter with the name, created if it does not exist yet
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, n -> new Counter());
+    }
+
+    /**
+     * Registers a gauge, its value is read when a snapshot is created. Replaces the gauge previously registered with the same name.
+     *
+     * @param name  the name of the gauge
+     * @param value supplies the current value
+     */
+    public void gauge(String name, DoubleSupplier value) {
+        gauges.put(name, value);
+    }
+
+    /**
+     * @param name the name of the histogram
+     * @return the histogram with the name, created if it does not exist yet
+     */
+    public Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * @return the current state of every metric (including the process-wide @Measure timings)
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+
+        Map<String, Double> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> {
+            try {
+                gaugeValues.put(name, gauge.getAsDouble());
+            } catch (RuntimeException e) {
+                LOGGER.debug("Could not read gauge {}.", name, e);
+                gaugeValues.put(name, Double.NaN);
+            }
+        });
+
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, gaugeValues, snapshot(histograms), snapshot(MethodTimings.getHistograms()));
+    }
+
+    /**
+     * Exports a snapshot periodically (on a background thread) until the application shuts down or the returned future is cancelled.
+     *
+     * @param exporter the exporter
+     * @param period   the period
+     * @param unit     the unit of the period
+     * @return the future of the scheduled task
+     */
+    public synchronized ScheduledFuture<?> scheduleExport(MetricsExporter exporter, long period, TimeUnit unit) {
+        if (exportExecutor == null) {
+            exportExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "Icicle-MetricsExporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return exportExecutor.scheduleAtFixedRate(() -> {
+            try {
+                exporter.export(snapshot());
+            } catch (Exception e) {
+                LOGGER.warn("Could not export metrics with {}.", exporter.getClass().getName(), e);
+            }
+        }, period, period, unit);
+    }
+
+    @PreDestroy
+    public synchronized void stopExports() {
+        if (exportExecutor != null) {
+            exportExecutor.shutdownNow();
+            exportExecutor = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.metrics.export;
+
+import net.iceyleagons.icicle.core.metrics.HistogramSnapshot;
+import net.iceyleagons.icicle.core.metrics.MetricsSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Writes the snapshots to the log in a human-readable form.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class LoggingMetricsExporter implements MetricsExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingMetricsExporter.class);
+
+    private static void appendHistogram(StringBuilder sb, String name, HistogramSnapshot histogram, String unit) {
+        sb.append(String.format("%n  %s: count=%d mean=%.1f%s p50=%d%s p99=%d%s max=%d%s", name, histogram.getCount(),
+                histogram.getMean(), unit, histogram.getValueAtPercentile(50), unit, histogram.getValueAtPercentile(99), unit, histogram.getMax(), unit));
+    }
+
+    @Override
+    public void export(MetricsSnapshot snapshot) {
+        StringBuilder sb = new StringBuilder("Metrics snapshot:");
+
+        snapshot.getCounters().forEach((name, value) -> sb.append(String.format("%n  %s: %d", name, value)));
+        snapshot.getGauges().forEach((name, value) -> sb.append(String.format("%n  %s: %s", name, value)));
+        for (Map.Entry<String, HistogramSnapshot> entry : snapshot.getHistograms().entrySet()) {
+            appendHistogram(sb, entry.getKey(), entry.getValue(), "");
+        }
+        for (Map.Entry<String, HistogramSnapshot> entry : snapshot.getMethodTimings().entrySet()) {
+            appendHistogram(sb, "@Measure " + entry.getKey(), entry.getValue(), "ns");
+        }
+
+        LOGGER.info(sb.toString());
+    }
+}
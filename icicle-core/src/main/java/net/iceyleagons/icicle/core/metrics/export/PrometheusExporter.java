@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.metrics.export;
+
+import net.iceyleagons.icicle.core.metrics.HistogramSnapshot;
+import net.iceyleagons.icicle.core.metrics.MetricsSnapshot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the snapshots in the Prometheus text exposition format (version 0.0.4) to a file, ex. for the textfile collector of node_exporter.
+ * The file is replaced atomically, so scrapers never see a partially written one.
+ * <p>
+ * Histograms are exported as summaries (with the 0.5, 0.9, 0.99 and 0.999 quantiles), the timings of the @Measure methods
+ * as a single summary family (in seconds) labeled with the method. Metric names are sanitized to match the Prometheus naming rules.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class PrometheusExporter implements MetricsExporter {
+
+    public static final String METHOD_TIMINGS_NAME = "icicle_method_duration_seconds";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final Path file;
+    private final String prefix;
+
+    /**
+     * @param file   the file to write
+     * @param prefix the prefix prepended to the name of every metric (ex. the name of the plugin), may be empty
+     */
+    public PrometheusExporter(Path file, String prefix) {
+        this.file = file;
+        this.prefix = prefix.isEmpty() ? "" : sanitize(prefix) + "_";
+    }
+
+    /**
+     * Formats the snapshot in the Prometheus text format.
+     *
+     * @param snapshot the snapshot
+     * @param prefix   the prefix prepended to the name of every metric (already sanitized, ending with an underscore) or an empty string
+     * @return the formatted snapshot
+     */
+    public static String format(MetricsSnapshot snapshot, String prefix) {
+        StringBuilder sb = new StringBuilder();
+
+        for (Map.Entry<String, Long> entry : snapshot.getCounters().entrySet()) {
+            String name = prefix + sanitize(entry.getKey());
+            sb.append("# TYPE ").append(name).append(" counter\n");
+            sb.append(name).append(' ').append(entry.getValue()).append('\n');
+        }
+
+        for (Map.Entry<String, Double> entry : snapshot.getGauges().entrySet()) {
+            String name = prefix + sanitize(entry.getKey());
+            sb.append("# TYPE ").append(name).append(" gauge\n");
+            sb.append(name).append(' ').append(formatDouble(entry.getValue())).append('\n');
+        }
+
+        for (Map.Entry<String, HistogramSnapshot> entry : snapshot.getHistograms().entrySet()) {
+            String name = prefix + sanitize(entry.getKey());
+            sb.append("# TYPE ").append(name).append(" summary\n");
+            appendSummary(sb, name, "", entry.getValue(), 1);
+        }
+
+        if (!snapshot.getMethodTimings().isEmpty()) {
+            String name = prefix + METHOD_TIMINGS_NAME;
+            sb.append("# HELP ").append(name).append(" Execution time of the @Measure methods.\n");
+            sb.append("# TYPE ").append(name).append(" summary\n");
+
+            for (Map.Entry<String, HistogramSnapshot> entry : snapshot.getMethodTimings().entrySet()) {
+                appendSummary(sb, name, "method=\"" + escapeLabel(entry.getKey()) + "\"", entry.getValue(), 1e-9);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static void appendSummary(StringBuilder sb, String name, String labels, HistogramSnapshot histogram, double scale) {
+        String separator = labels.isEmpty() ? "" : ",";
+
+        for (double quantile : QUANTILES) {
+            sb.append(name).append("{").append(labels).append(separator).append("quantile=\"").append(quantile).append("\"} ")
+                    .append(formatDouble(histogram.getValueAtPercentile(quantile * 100) * scale)).append('\n');
+        }
+
+        String labelSet = labels.isEmpty() ? "" : "{" + labels + "}";
+        sb.append(name).append("_sum").append(labelSet).append(' ').append(formatDouble(histogram.getSum() * scale)).append('\n');
+        sb.append(name).append("_count").append(labelSet).append(' ').append(histogram.getCount()).append('\n');
+    }
+
+    private static String formatDouble(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "+Inf" : "-Inf";
+        return String.format(Locale.ROOT, "%s", value);
+    }
+
+    private static String sanitize(String name) {
+        String sanitized = name.replaceAll("[^a-zA-Z0-9_:]", "_");
+        return Character.isDigit(sanitized.charAt(0)) ? "_" + sanitized : sanitized;
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public void export(MetricsSnapshot snapshot) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.writeString(temp, format(snapshot, prefix), StandardCharsets.UTF_8);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -28,51 +28,238 @@ import com.google.common.base.Strings;
 import net.iceyleagons.icicle.core.Application;
 import net.iceyleagons.icicle.core.Icicle;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
+ * Hierarchical timing log of the (startup) operations of the applications.
+ * <p>
+ * Every thread records into its own stack, so concurrent begin/end calls (ex. parallel bean creation) do not interfere:
+ * sections started on another thread become roots of their own, marked with their thread.
+ * When disabled (see {@link #setEnabled(boolean)}) begin/end return after a single volatile read.
+ * <p>
+ * The log can be exported in the Chrome trace-event format (see {@link #exportChromeTrace(Writer)}), which can be opened
+ * as a flame chart by chrome://tracing, Perfetto or speedscope.
+ *
  * @since Oct. 31, 2021
  */
 public class PerformanceLog {
 
     private static final long MS_THRESHOLD = 300;
-    private static final Map<Application, PerformanceRecord> currentNodes = new ConcurrentHashMap<>(4);
+    private static final long ORIGIN = System.nanoTime();
+    private static final Map<Application, Queue<PerformanceRecord>> roots = new ConcurrentHashMap<>(4);
+    private static final ThreadLocal<Stack> stacks = ThreadLocal.withInitial(Stack::new);
+
+    private static volatile boolean enabled = Icicle.PERFORMANCE_DEBUG || Icicle.PERFORMANCE_TRACE_FILE != null;
+    private static volatile int generation = 0; // changes on every switch, so the records left open by a switch-off are dropped
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches the logging on/off at runtime. Sections open while switching are dropped.
+     *
+     * @param enabled true to enable logging
+     */
+    public static synchronized void setEnabled(boolean enabled) {
+        if (PerformanceLog.enabled == enabled) return;
+
+        generation++;
+        PerformanceLog.enabled = enabled;
+    }
 
     public static void begin(Application application, String name, Class<?> clazz) {
-        if (!Icicle.PERFORMANCE_DEBUG) return;
-        PerformanceRecord currentNode = currentNodes.get(application);
+        if (!enabled) return;
 
-        PerformanceRecord executionRecord = PerformanceRecord.of(name, clazz);
-        setParent(currentNode, executionRecord);
-        currentNodes.put(application, executionRecord);
+        Deque<PerformanceRecord> stack = getStack();
+        stack.push(PerformanceRecord.of(application, name, clazz, findOpen(stack, application)));
     }
 
     public static void end(Application application) {
-        if (!Icicle.PERFORMANCE_DEBUG) return;
-        PerformanceRecord currentNode = currentNodes.get(application);
+        if (!enabled) return;
 
-        if (currentNode == null) return;
-        currentNode.setEndMs(System.currentTimeMillis());
-        currentNodes.put(application, currentNode.getParent() != null ? currentNode.getParent() : currentNode);
+        Deque<PerformanceRecord> stack = getStack();
+        PerformanceRecord record = findOpen(stack, application);
+        if (record == null) return;
+
+        stack.removeFirstOccurrence(record);
+        record.end();
+
+        if (record.getParent() != null) {
+            record.getParent().getChildren().add(record);
+        } else {
+            roots.computeIfAbsent(application, k -> new ConcurrentLinkedQueue<>()).add(record);
+        }
+    }
+
+    /**
+     * Removes every record of the application.
+     *
+     * @param application the application
+     */
+    public static void clear(Application application) {
+        roots.remove(application);
     }
 
     public static String dumpExecutionLog(Application application) {
-        if (!Icicle.PERFORMANCE_DEBUG) return "";
+        if (!enabled) return "";
 
         final StringBuilder stringBuilder = new StringBuilder("\n ====== [ Execution Log ] ======\n\n");
 
-        dumpExecutionLog(currentNodes.get(application), 0, stringBuilder);
+        for (PerformanceRecord root : getRoots(application)) {
+            dumpExecutionLog(root, 0, stringBuilder);
+        }
         stringBuilder.append("\n\n ============ [ x ] ============\n\n");
 
         return stringBuilder.toString();
     }
 
+    /**
+     * Writes the records of every application to the supplied file in the Chrome trace-event format.
+     *
+     * @param path the file to write
+     * @throws IOException if the file cannot be written
+     * @see #exportChromeTrace(Writer)
+     */
+    public static void exportChromeTrace(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            exportChromeTrace(writer);
+        }
+    }
+
+    /**
+     * Writes the records of every application in the Chrome trace-event (JSON object) format.
+     * Every application is a separate process, every thread used by it is a separate thread in the trace.
+     *
+     * @param writer the writer to write to
+     * @throws IOException if writing fails
+     */
+    public static void exportChromeTrace(Writer writer) throws IOException {
+        writer.write("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+        boolean first = true;
+        int pid = 0;
+
+        for (Map.Entry<Application, Queue<PerformanceRecord>> entry : roots.entrySet()) {
+            pid++;
+            first = writeEvent(writer, first, "{\"name\":\"process_name\",\"ph\":\"M\",\"pid\":" + pid + ",\"args\":{\"name\":" + quote(getName(entry.getKey())) + "}}");
+
+            Set<Long> threads = new HashSet<>();
+            for (PerformanceRecord root : entry.getValue()) {
+                if (threads.add(root.getThreadId())) {
+                    first = writeEvent(writer, first, "{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":" + pid + ",\"tid\":" + root.getThreadId() + ",\"args\":{\"name\":" + quote(root.getThreadName()) + "}}");
+                }
+
+                first = writeRecord(writer, first, root, pid);
+            }
+        }
+
+        writer.write("]}");
+        writer.flush();
+    }
+
+    private static boolean writeRecord(Writer writer, boolean first, PerformanceRecord record, int pid) throws IOException {
+        first = writeEvent(writer, first, "{\"name\":" + quote(record.getName()) + ",\"cat\":" + quote(record.getClazz().getSimpleName()) +
+                ",\"ph\":\"X\",\"ts\":" + toMicros(record.getStartNanos() - ORIGIN) + ",\"dur\":" + toMicros(record.getExecutionTimeNanos()) +
+                ",\"pid\":" + pid + ",\"tid\":" + record.getThreadId() + ",\"args\":{\"class\":" + quote(record.getClazz().getName()) + "}}");
+
+        for (PerformanceRecord child : record.getChildren()) {
+            first = writeRecord(writer, first, child, pid);
+        }
+
+        return first;
+    }
+
+    private static boolean writeEvent(Writer writer, boolean first, String event) throws IOException {
+        if (!first) writer.write(",\n");
+        writer.write(event);
+        return false;
+    }
+
+    private static String toMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1000d);
+    }
+
+    private static String quote(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+
+    private static String getName(Application application) {
+        try {
+            return application.getBeanIndex().getRootPackages().get(0);
+        } catch (RuntimeException e) {
+            return application.getClass().getName();
+        }
+    }
+
+    private static List<PerformanceRecord> getRoots(Application application) {
+        List<PerformanceRecord> result = new ArrayList<>(roots.getOrDefault(application, new ArrayDeque<>()));
+        result.sort(Comparator.comparingLong(PerformanceRecord::getStartNanos));
+        return result;
+    }
+
+    private static Deque<PerformanceRecord> getStack() {
+        Stack stack = stacks.get();
+        if (stack.generation != generation) {
+            stack.records.clear();
+            stack.generation = generation;
+        }
+
+        return stack.records;
+    }
+
+    private static PerformanceRecord findOpen(Deque<PerformanceRecord> stack, Application application) {
+        for (PerformanceRecord record : stack) { // iterates from the top
+            if (record.getApplication() == application) return record;
+        }
+
+        return null;
+    }
+
     private static void dumpExecutionLog(PerformanceRecord record, int depth, StringBuilder sb) {
         String warning = (depth > 0 && record.getExecutionTime() >= MS_THRESHOLD) ? "[!]" : "   ";
         String prefix = warning + Strings.repeat("\t", depth) + (depth != 0 ? " -> " : "");
 
-        sb.append(prefix).append(record.toString()).append("\n");
+        sb.append(prefix).append(record.toString());
+        if (depth == 0) {
+            sb.append(" {").append(record.getThreadName()).append('}');
+        }
+        sb.append("\n");
 
         int d = depth + 1;
         for (PerformanceRecord child : record.getChildren()) {
@@ -80,10 +267,8 @@ public class PerformanceLog {
         }
     }
 
-    private static void setParent(PerformanceRecord parent, PerformanceRecord child) {
-        child.setParent(parent);
-        if (parent != null) {
-            parent.getChildren().add(child);
-        }
+    private static final class Stack {
+        private final Deque<PerformanceRecord> records = new ArrayDeque<>();
+        private int generation = PerformanceLog.generation;
     }
 }
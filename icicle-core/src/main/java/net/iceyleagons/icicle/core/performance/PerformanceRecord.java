@@ -26,9 +26,11 @@ package net.iceyleagons.icicle.core.performance;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
+import net.iceyleagons.icicle.core.Application;
 
-import java.util.LinkedHashSet;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @since Oct. 31, 2021
@@ -37,26 +39,40 @@ import java.util.LinkedHashSet;
 @RequiredArgsConstructor
 public class PerformanceRecord {
 
+    private final Application application;
     private final String name;
-    private final long startMs;
     private final Class<?> clazz;
-    private final LinkedHashSet<PerformanceRecord> children = new LinkedHashSet<>();
+    private final PerformanceRecord parent;
+    private final long threadId;
+    private final String threadName;
+    private final long startNanos;
+    private final Collection<PerformanceRecord> children = new ConcurrentLinkedQueue<>(); // may be read while being recorded
 
-    @Setter
-    private long endMs;
-    @Setter
-    private PerformanceRecord parent = null;
+    private volatile long endNanos = -1;
 
-    public static PerformanceRecord of(String name, Class<?> clazz) {
-        return new PerformanceRecord(name, System.currentTimeMillis(), clazz);
+    public static PerformanceRecord of(Application application, String name, Class<?> clazz, PerformanceRecord parent) {
+        Thread thread = Thread.currentThread();
+        return new PerformanceRecord(application, name, clazz, parent, thread.getId(), thread.getName(), System.nanoTime());
+    }
+
+    void end() {
+        this.endNanos = System.nanoTime();
+    }
+
+    public boolean isFinished() {
+        return endNanos != -1;
+    }
+
+    public long getExecutionTimeNanos() {
+        return isFinished() ? endNanos - startNanos : System.nanoTime() - startNanos;
     }
 
     public long getExecutionTime() {
-        return endMs - startMs;
+        return TimeUnit.NANOSECONDS.toMillis(getExecutionTimeNanos());
     }
 
     @Override
     public String toString() {
-        return name + " [" + clazz.getName() + "] (took " + getExecutionTime() + " ms)";
+        return name + " [" + clazz.getName() + "] (took " + String.format("%.3f", getExecutionTimeNanos() / 1_000_000d) + " ms" + (isFinished() ? "" : ", running") + ")";
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.performance.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a bean gets instantiated (including the creation of its proxy, excluding the creation of its dependencies).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 20, 2022
+ */
+@Name("icicle.BeanInstantiation")
+@Label("Bean Instantiation")
+@Category({"Icicle", "Beans"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class BeanInstantiationEvent extends Event {
+
+    @Label("Bean Class")
+    private Class<?> beanClass;
+
+    public static BeanInstantiationEvent start() {
+        BeanInstantiationEvent event = new BeanInstantiationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Class<?> beanClass) {
+        end();
+
+        if (shouldCommit()) {
+            this.beanClass = beanClass;
+            commit();
+        }
+    }
+}
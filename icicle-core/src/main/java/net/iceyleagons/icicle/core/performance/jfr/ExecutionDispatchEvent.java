@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.performance.jfr;
+
+import jdk.jfr.*;
+
+import java.lang.reflect.Method;
+
+/**
+ * Emitted when a call to an @Async or @Sync method returns, spanning the dispatch to the execution handler and the wait for the result.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 20, 2022
+ */
+@Name("icicle.ExecutionDispatch")
+@Label("Execution Dispatch")
+@Category({"Icicle", "Execution"})
+@Threshold("0 ms")
+public class ExecutionDispatchEvent extends Event {
+
+    @Label("Method")
+    private String method;
+
+    @Label("Mode")
+    @Description("async or sync")
+    private String mode;
+
+    @Label("Scheduling")
+    @Description("immediate, after or periodically")
+    private String scheduling;
+
+    public static ExecutionDispatchEvent start() {
+        ExecutionDispatchEvent event = new ExecutionDispatchEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Method method, String mode, String scheduling) {
+        end();
+
+        if (shouldCommit()) {
+            this.method = method.getDeclaringClass().getName() + "#" + method.getName();
+            this.mode = mode;
+            this.scheduling = scheduling;
+            commit();
+        }
+    }
+}
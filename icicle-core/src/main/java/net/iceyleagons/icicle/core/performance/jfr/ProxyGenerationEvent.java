@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.performance.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a proxy class gets generated with ByteBuddy (or loaded from the proxy class cache).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 20, 2022
+ */
+@Name("icicle.ProxyGeneration")
+@Label("Proxy Generation")
+@Category({"Icicle", "Proxies"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class ProxyGenerationEvent extends Event {
+
+    @Label("Bean Class")
+    private Class<?> beanClass;
+
+    @Label("Kind")
+    @Description("enhanced, lazy or swappable")
+    private String kind;
+
+    @Label("Cached")
+    @Description("Whether the bytecode was loaded from the proxy class cache")
+    private boolean cached;
+
+    public static ProxyGenerationEvent start() {
+        ProxyGenerationEvent event = new ProxyGenerationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(Class<?> beanClass, String kind, boolean cached) {
+        end();
+
+        if (shouldCommit()) {
+            this.beanClass = beanClass;
+            this.kind = kind;
+            this.cached = cached;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.performance.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Emitted when a translation gets rendered (looked up and its code parsed) by the TranslationService.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 20, 2022
+ */
+@Name("icicle.TranslationRendering")
+@Label("Translation Rendering")
+@Category({"Icicle", "Translations"})
+@StackTrace(false)
+@Threshold("0 ms")
+public class TranslationRenderingEvent extends Event {
+
+    @Label("Key")
+    private String key;
+
+    @Label("Language")
+    private String language;
+
+    @Label("Value Count")
+    private int valueCount;
+
+    public static TranslationRenderingEvent start() {
+        TranslationRenderingEvent event = new TranslationRenderingEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String key, String language, int valueCount) {
+        end();
+
+        if (shouldCommit()) {
+            this.key = key;
+            this.language = language;
+            this.valueCount = valueCount;
+            commit();
+        }
+    }
+}
@@ -28,19 +28,61 @@ import net.bytebuddy.ByteBuddy;
 import net.iceyleagons.icicle.core.exceptions.BeanCreationException;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodAdviceHandlerTemplate;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodInterceptorHandlerTemplate;
+import net.iceyleagons.icicle.core.proxy.swap.SwappableBeanHandler;
 
 import java.lang.reflect.Constructor;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 public interface BeanProxyHandler {
 
     <T> T createEnhancedBean(Constructor<T> constructor, Object[] arguments) throws BeanCreationException;
 
+    /**
+     * Creates a proxy of the supplied type, that creates the real bean using the initializer on the first method call
+     * and forwards every call to it. The constructor of the type is not called for the proxy.
+     *
+     * @param type        the type of the bean (must not be final)
+     * @param initializer creates the real bean
+     * @param <T>         the type
+     * @return the proxy
+     * @throws BeanCreationException if the proxy cannot be created
+     */
+    <T> T createLazyBean(Class<T> type, Callable<? extends T> initializer) throws BeanCreationException;
+
+    /**
+     * Creates a proxy of the supplied type, that forwards every call to the current target of the handler.
+     * The constructor of the type is not called for the proxy, the handler is bound to the proxy before it's returned.
+     *
+     * @param type    the type of the bean (must not be final)
+     * @param handler the handler holding the target
+     * @param <T>     the type
+     * @return the proxy
+     * @throws BeanCreationException if the proxy cannot be created
+     */
+    <T> T createSwappableBean(Class<T> type, SwappableBeanHandler handler) throws BeanCreationException;
+
     Set<MethodAdviceHandlerTemplate> getMethodAdviceHandlers();
 
     void registerAdviceTemplate(MethodAdviceHandlerTemplate adviceHandler);
 
     void registerInterceptorTemplate(MethodInterceptorHandlerTemplate interceptorTemplate);
 
+    /**
+     * @return the amount of beans created through a generated proxy class
+     */
+    int getProxiedBeanCount();
+
+    /**
+     * @return the amount of beans instantiated directly, because no handler matched any of their methods
+     */
+    int getNotProxiedBeanCount();
+
     ByteBuddy getProxy();
+
+    /**
+     * Releases the state kept for the proxies of the application (ex. the {@link net.iceyleagons.icicle.core.metrics.MethodTimings} of the proxy classes).
+     * Called when the application shuts down.
+     */
+    void cleanUp();
 }
@@ -27,27 +27,64 @@ package net.iceyleagons.icicle.core.proxy;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.ByteBuddyAgent;
 import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.field.FieldDescription;
+import net.bytebuddy.description.modifier.FieldManifestation;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.MethodList;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.loading.ClassReloadingStrategy;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.dynamic.scaffold.MethodGraph;
+import net.bytebuddy.implementation.Implementation;
+import net.bytebuddy.implementation.InvocationHandlerAdapter;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.beans.InjectionPlan;
 import net.iceyleagons.icicle.core.exceptions.BeanCreationException;
+import net.iceyleagons.icicle.core.metrics.MethodTimings;
+import net.iceyleagons.icicle.core.performance.jfr.ProxyGenerationEvent;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodAdviceHandlerTemplate;
+import net.iceyleagons.icicle.core.proxy.interfaces.MethodDescriptor;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodInterceptorHandlerTemplate;
+import net.iceyleagons.icicle.core.proxy.lazy.LazyBeanHandler;
+import net.iceyleagons.icicle.core.proxy.swap.SwappableBeanHandler;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashSet;
-import java.util.Set;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 public class ByteBuddyProxyHandler implements BeanProxyHandler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ByteBuddyProxyHandler.class);
+    private static final Comparator<Object> HANDLER_ORDER = Comparator.comparing(o -> o.getClass().getName());
+    private static final Objenesis OBJENESIS = new ObjenesisStd(true);
 
     private final Set<MethodAdviceHandlerTemplate> adviceHandlers = new HashSet<>();
     private final Set<MethodInterceptorHandlerTemplate> interceptorHandlers = new HashSet<>();
+    // Implementations are created once, so the proxies of every bean share the same delegates
+    private final Map<MethodInterceptorHandlerTemplate, Implementation> implementations = new HashMap<>();
+    private final Set<MethodInterceptorHandlerTemplate> uncacheableInterceptors = new HashSet<>();
     private final ByteBuddy byteBuddy = new ByteBuddy();
+    private final ProxyClassCache proxyClassCache = Icicle.PROXY_CLASS_CACHE ? new ProxyClassCache() : null;
+    // bean class -> proxy class (or the bean class if no proxy is needed), invalidated when a new handler gets registered
+    private final Map<Class<?>, Class<?>> proxyClasses = new ConcurrentHashMap<>();
+    private final AtomicInteger proxiedBeans = new AtomicInteger();
+    private final AtomicInteger notProxiedBeans = new AtomicInteger();
 
     public static void installBuddyAgent() {
         System.out.println("[Icicle] - Installing ByteBuddy Agent...");
@@ -61,30 +98,59 @@ public class ByteBuddyProxyHandler implements BeanProxyHandler {
         System.out.println("[Icicle] - Success!");
     }
 
-    @Override
-    public <T> T createEnhancedBean(Constructor<T> constructor, Object[] arguments) throws BeanCreationException {
-        //.with(Implementation.Context.Disabled.Factory.INSTANCE);
-        DynamicType.Builder<T> builder = byteBuddy
-                .subclass(constructor.getDeclaringClass());
+    private static List<String> getFields(InstrumentedType instrumentedType) {
+        List<String> fields = new ArrayList<>();
+        for (FieldDescription.InDefinedShape field : instrumentedType.getDeclaredFields()) {
+            fields.add(field.getName() + " " + field.getType().asErasure().getName());
+        }
 
-        for (MethodAdviceHandlerTemplate asmVisitorHandler : adviceHandlers) {
-            LOGGER.debug("Registering method asm handler {} to builder. ", asmVisitorHandler.getClass().getName());
-            builder = builder.visit(asmVisitorHandler.getAsmAdvice().on(asmVisitorHandler.getMatcher()));
+        return fields;
+    }
+
+    private static boolean isDefined(String name, ClassLoader classLoader) {
+        try {
+            Class.forName(name, false, classLoader);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
         }
+    }
 
-        for (MethodInterceptorHandlerTemplate interceptor : interceptorHandlers) {
-            LOGGER.debug("Registering method interceptor handler {} to builder. ", interceptor.getClass().getName());
-            builder = builder.method(interceptor.getMatcher()).intercept(interceptor.getImplementation());
+    /**
+     * Returns the handlers, that match at least one method of the bean, in a stable order.
+     * (The order of the handlers must be the same on every startup, otherwise the generated classes (and cache keys) would differ.)
+     */
+    private static <H extends MethodDescriptor> List<H> getMatchingHandlers(Collection<H> handlers, MethodList<?> methods) {
+        List<H> result = new ArrayList<>(handlers.size());
+        for (H handler : handlers) {
+            ElementMatcher<? super MethodDescription> matcher = handler.getMatcher();
+
+            if (methods.stream().anyMatch(matcher::matches)) {
+                result.add(handler);
+            }
         }
 
-        //builder = builder.visit(Advice.to(MeasureAdvice.class).on(ElementMatchers.isAnnotatedWith(Measure.class)));
+        result.sort(HANDLER_ORDER);
+        return result;
+    }
+
+    @Override
+    public <T> T createEnhancedBean(Constructor<T> constructor, Object[] arguments) throws BeanCreationException {
+        Class<T> beanClass = constructor.getDeclaringClass();
 
         try {
-            LOGGER.debug("Creating enhanced proxy class.");
+            // the bean class itself is stored for beans, that don't need a proxy
+            Class<?> proxyClass = proxyClasses.computeIfAbsent(beanClass, this::resolveProxyClass);
+
+            InjectionPlan plan = InjectionPlan.of(constructor);
 
-            return builder.make()
-                    .load(constructor.getDeclaringClass().getClassLoader(), ClassReloadingStrategy.fromInstalledAgent())
-                    .getLoaded().getDeclaredConstructor(constructor.getParameterTypes()).newInstance(arguments);
+            if (proxyClass == beanClass) {
+                notProxiedBeans.incrementAndGet();
+                return beanClass.cast(plan.newInstance(arguments));
+            }
+
+            proxiedBeans.incrementAndGet();
+            return beanClass.cast(plan.forSubclass(proxyClass).newInstance(arguments));
         } catch (InvocationTargetException e) {
             throw new BeanCreationException(constructor, "Constructor execution resulted in an exception.", e);
         } catch (InstantiationException e) {
@@ -93,9 +159,176 @@ public class ByteBuddyProxyHandler implements BeanProxyHandler {
             throw new BeanCreationException(constructor, "Constructor is not accessible! (Is it accessible/public?)");
         } catch (NoSuchMethodException e) {
             throw new BeanCreationException(constructor, "Matching constructor in enhanced class can not be found!");
+        } catch (IllegalStateException e) {
+            // resolveProxyClass wraps the IllegalAccessExceptions of defining the proxy, anything else is kept as it is
+            Throwable cause = e.getCause() instanceof IllegalAccessException ? e.getCause() : e;
+            throw new BeanCreationException(constructor, "Could not create enhanced proxy class.", cause);
         }
     }
 
+    private Class<?> resolveProxyClass(Class<?> beanClass) {
+        // only the methods the generated subclass could override
+        MethodList<?> methods = MethodGraph.Compiler.DEFAULT.compile(TypeDescription.ForLoadedType.of(beanClass)).listNodes().asMethodList()
+                .filter(ElementMatchers.isVirtual().and(ElementMatchers.not(ElementMatchers.isFinal())));
+
+        List<MethodAdviceHandlerTemplate> advices = getMatchingHandlers(adviceHandlers, methods);
+        List<MethodInterceptorHandlerTemplate> interceptors = getMatchingHandlers(interceptorHandlers, methods);
+
+        if (advices.isEmpty() && interceptors.isEmpty()) {
+            LOGGER.debug("No handler matches any method of {}, skipping proxy generation.", beanClass.getName());
+            return beanClass;
+        }
+
+        try {
+            return getProxyClass(beanClass, advices, interceptors);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> T createLazyBean(Class<T> type, Callable<? extends T> initializer) throws BeanCreationException {
+        LOGGER.debug("Creating lazy proxy class for {}.", type.getName());
+        return createIndirectionProxy(type, new LazyBeanHandler(type, initializer), "lazy");
+    }
+
+    @Override
+    public <T> T createSwappableBean(Class<T> type, SwappableBeanHandler handler) throws BeanCreationException {
+        LOGGER.debug("Creating swappable proxy class for {}.", type.getName());
+
+        try {
+            ProxyGenerationEvent event = ProxyGenerationEvent.start();
+            // every call is forwarded to the same method of the target stored in the field (plain bytecode, no reflection per call)
+            Class<? extends T> proxyClass = byteBuddy.subclass(type)
+                    .defineField(SwappableBeanHandler.TARGET_FIELD, type, Visibility.PUBLIC, FieldManifestation.VOLATILE)
+                    .method(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class)))
+                    .intercept(MethodCall.invokeSelf().onField(SwappableBeanHandler.TARGET_FIELD).withAllArguments())
+                    .make()
+                    .load(type.getClassLoader(), ClassReloadingStrategy.fromInstalledAgent())
+                    .getLoaded();
+            event.finish(type, "swappable", false);
+
+            T proxy = type.cast(OBJENESIS.newInstance(proxyClass)); // see createIndirectionProxy
+            handler.bind(proxy);
+            return proxy;
+        } catch (RuntimeException | ReflectiveOperationException e) {
+            throw new BeanCreationException(type, "Could not create swappable proxy.", e);
+        }
+    }
+
+    private <T> T createIndirectionProxy(Class<T> type, InvocationHandler handler, String kind) throws BeanCreationException {
+        try {
+            ProxyGenerationEvent event = ProxyGenerationEvent.start();
+            Class<? extends T> proxyClass = byteBuddy.subclass(type)
+                    .method(ElementMatchers.not(ElementMatchers.isDeclaredBy(Object.class))) // hashCode & co. must not trigger the initialization
+                    .intercept(InvocationHandlerAdapter.of(handler))
+                    .make()
+                    .load(type.getClassLoader(), ClassReloadingStrategy.fromInstalledAgent())
+                    .getLoaded();
+            event.finish(type, kind, false);
+
+            // The constructor of the bean must not run for the proxy (it would need the dependencies we want to delay),
+            // and a generated constructor cannot skip it (rejected by the verifier), so the instance is created without calling any constructor.
+            return type.cast(OBJENESIS.newInstance(proxyClass));
+        } catch (RuntimeException e) {
+            throw new BeanCreationException(type, "Could not create " + kind + " proxy.", e);
+        }
+    }
+
+    private <T> Class<? extends T> getProxyClass(Class<T> beanClass, List<MethodAdviceHandlerTemplate> advices, List<MethodInterceptorHandlerTemplate> interceptors) throws IllegalAccessException {
+        ProxyGenerationEvent event = ProxyGenerationEvent.start();
+        String cacheKey = getCacheKey(beanClass, advices, interceptors);
+        String name = cacheKey == null ? null : beanClass.getName() + "$IcicleProxy$" + cacheKey.substring(0, 16);
+
+        // A proxy with the same name may already be defined (ex. same bean in another application), those cannot share the static delegates
+        if (name != null && isDefined(name, beanClass.getClassLoader())) {
+            cacheKey = null;
+            name = null;
+        }
+
+        if (cacheKey != null) {
+            Map<String, byte[]> cached = proxyClassCache.load(cacheKey);
+
+            if (cached != null) {
+                LOGGER.debug("Loading enhanced proxy class of {} from cache.", beanClass.getName());
+                Class<? extends T> proxy = defineCachedProxy(beanClass, name, cached, interceptors);
+                event.finish(beanClass, "enhanced", true);
+                return proxy;
+            }
+        }
+
+        //.with(Implementation.Context.Disabled.Factory.INSTANCE);
+        DynamicType.Builder<T> builder = byteBuddy.subclass(beanClass);
+        if (name != null) {
+            builder = builder.name(name);
+        }
+
+        for (MethodAdviceHandlerTemplate asmVisitorHandler : advices) {
+            LOGGER.debug("Registering method asm handler {} to builder. ", asmVisitorHandler.getClass().getName());
+            builder = builder.visit(asmVisitorHandler.getAsmAdvice().on(asmVisitorHandler.getMatcher()));
+        }
+
+        for (MethodInterceptorHandlerTemplate interceptor : interceptors) {
+            LOGGER.debug("Registering method interceptor handler {} to builder. ", interceptor.getClass().getName());
+            builder = builder.method(interceptor.getMatcher()).intercept(implementations.get(interceptor));
+        }
+
+        //builder = builder.visit(Advice.to(MeasureAdvice.class).on(ElementMatchers.isAnnotatedWith(Measure.class)));
+
+        LOGGER.debug("Creating enhanced proxy class.");
+        DynamicType.Unloaded<T> unloaded = builder.make();
+
+        if (cacheKey != null) {
+            Map<String, byte[]> types = new LinkedHashMap<>();
+            types.put(unloaded.getTypeDescription().getName(), unloaded.getBytes());
+            unloaded.getAuxiliaryTypes().forEach((type, bytes) -> types.put(type.getName(), bytes));
+
+            proxyClassCache.store(cacheKey, types);
+        }
+
+        Class<? extends T> proxy = unloaded.load(beanClass.getClassLoader(), ClassReloadingStrategy.fromInstalledAgent()).getLoaded();
+        event.finish(beanClass, "enhanced", false);
+        return proxy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Class<? extends T> defineCachedProxy(Class<T> beanClass, String name, Map<String, byte[]> types, List<MethodInterceptorHandlerTemplate> interceptors) throws IllegalAccessException {
+        // the proxy lives in the package of the bean, so it can be defined with the bean's lookup
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+
+        Class<?> proxy = null;
+        for (byte[] bytes : types.values()) {
+            Class<?> defined = lookup.defineClass(bytes);
+            if (proxy == null) proxy = defined; // the proxy is always the first entry
+        }
+
+        // static delegate fields are normally set by ByteBuddy after loading, here we need to do that manually
+        getInstrumentedType(beanClass, name, interceptors).getLoadedTypeInitializer().onLoad(proxy);
+        return (Class<? extends T>) proxy;
+    }
+
+    private InstrumentedType getInstrumentedType(Class<?> beanClass, String name, List<MethodInterceptorHandlerTemplate> interceptors) {
+        InstrumentedType instrumentedType = InstrumentedType.Default.of(name, TypeDescription.ForLoadedType.of(beanClass).asGenericType(), Modifier.PUBLIC);
+        for (MethodInterceptorHandlerTemplate interceptor : interceptors) {
+            instrumentedType = implementations.get(interceptor).prepare(instrumentedType);
+        }
+
+        return instrumentedType;
+    }
+
+    private String getCacheKey(Class<?> beanClass, List<MethodAdviceHandlerTemplate> advices, List<MethodInterceptorHandlerTemplate> interceptors) {
+        if (proxyClassCache == null || interceptors.stream().anyMatch(uncacheableInterceptors::contains)) return null;
+
+        List<Class<?>> handlers = new ArrayList<>(advices.size() + interceptors.size());
+        advices.forEach(advice -> {
+            handlers.add(advice.getClass());
+            if (advice.getAdviceClass() != null) handlers.add(advice.getAdviceClass()); // the advice code is inlined into the proxy
+        });
+        interceptors.forEach(interceptor -> handlers.add(interceptor.getClass()));
+
+        return proxyClassCache.getKey(beanClass, handlers, getFields(getInstrumentedType(beanClass, beanClass.getName() + "$IcicleProxy", interceptors)));
+    }
+
     @Override
     public Set<MethodAdviceHandlerTemplate> getMethodAdviceHandlers() {
         return this.adviceHandlers;
@@ -105,16 +338,51 @@ public class ByteBuddyProxyHandler implements BeanProxyHandler {
     public void registerAdviceTemplate(MethodAdviceHandlerTemplate adviceHandler) {
         if (this.adviceHandlers.contains(adviceHandler)) return;
         this.adviceHandlers.add(adviceHandler);
+        this.proxyClasses.clear();
     }
 
     @Override
     public void registerInterceptorTemplate(MethodInterceptorHandlerTemplate interceptorTemplate) {
         if (this.interceptorHandlers.contains(interceptorTemplate)) return;
         this.interceptorHandlers.add(interceptorTemplate);
+        this.proxyClasses.clear();
+
+        Implementation implementation = interceptorTemplate.getImplementation();
+        this.implementations.put(interceptorTemplate, implementation);
+
+        // the same Implementation is applied to every proxy, ones generating randomly named fields on preparation would never hit the cache
+        TypeDescription.Generic object = TypeDescription.Generic.OBJECT;
+        List<String> fields = getFields(implementation.prepare(InstrumentedType.Default.of("IcicleProxy", object, Modifier.PUBLIC)));
+        if (!fields.equals(getFields(implementation.prepare(InstrumentedType.Default.of("IcicleProxy", object, Modifier.PUBLIC))))) {
+            LOGGER.debug("Method interceptor handler {} generates non-deterministic fields, proxies using it won't be cached.", interceptorTemplate.getClass().getName());
+            this.uncacheableInterceptors.add(interceptorTemplate);
+        }
+    }
+
+    @Override
+    public int getProxiedBeanCount() {
+        return this.proxiedBeans.get();
+    }
+
+    @Override
+    public int getNotProxiedBeanCount() {
+        return this.notProxiedBeans.get();
     }
 
     @Override
     public ByteBuddy getProxy() {
         return this.byteBuddy;
     }
+
+    @Override
+    public void cleanUp() {
+        // the timings are process-wide, only the ones of our proxies are removed (the bean classes themselves are never advised)
+        List<Class<?>> proxies = new ArrayList<>(proxyClasses.size());
+        proxyClasses.forEach((beanClass, proxyClass) -> {
+            if (proxyClass != beanClass) proxies.add(proxyClass);
+        });
+
+        MethodTimings.remove(proxies);
+        proxyClasses.clear();
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.proxy;
+
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.utilities.file.AdvancedFile;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Persistent (on-disk) cache for the bytecode of the proxy classes generated by {@link ByteBuddyProxyHandler}.
+ * <p>
+ * Entries are keyed by a hash of the bean class' bytecode (and its superclasses'), the registered handlers and the
+ * Icicle version, so any change in those results in a new entry. Entries not used for {@link #MAX_AGE_DAYS} days are deleted.
+ * <p>
+ * An entry contains every type generated for a proxy (the proxy itself first, then its auxiliary types, ex. the ones generated for @SuperCall).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 13, 2022
+ */
+public class ProxyClassCache {
+
+    public static final int MAX_AGE_DAYS = 30;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProxyClassCache.class);
+    private static final String EXTENSION = ".class";
+
+    private final AdvancedFile folder;
+
+    public ProxyClassCache() {
+        this(new AdvancedFile(new File("icicleCache"), true).createOrGetChild("proxies", true));
+    }
+
+    public ProxyClassCache(AdvancedFile folder) {
+        this.folder = folder;
+        this.removeExpiredEntries();
+    }
+
+    @Nullable
+    private static byte[] getClassBytes(Class<?> clazz) {
+        return getClassBytes(clazz.getName(), clazz.getClassLoader());
+    }
+
+    @Nullable
+    private static byte[] getClassBytes(String name, ClassLoader classLoader) {
+        if (classLoader == null) return null;
+
+        try (InputStream inputStream = classLoader.getResourceAsStream(name.replace('.', '/') + EXTENSION)) {
+            return inputStream == null ? null : inputStream.readAllBytes();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Calculates the cache key for the proxy of the supplied bean class.
+     *
+     * @param beanClass  the class of the bean
+     * @param handlers   the handler classes (advices and interceptors) applied to the proxy, in the order they are applied
+     * @param fields     the fields generated by the handlers in "name type" format, the bytecode of the types are also part of the key
+     * @return the key or null if the class cannot be cached (ex. its bytecode is not available)
+     */
+    @Nullable
+    public String getKey(Class<?> beanClass, List<Class<?>> handlers, List<String> fields) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Icicle.ICICLE_VERSION.getBytes(StandardCharsets.UTF_8));
+
+            for (Class<?> current = beanClass; current != null && current != Object.class; current = current.getSuperclass()) {
+                byte[] bytes = getClassBytes(current);
+                if (bytes == null) return null;
+
+                digest.update(bytes);
+            }
+
+            for (Class<?> handler : handlers) {
+                byte[] bytes = getClassBytes(handler);
+                if (bytes == null) return null;
+
+                digest.update(handler.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update(bytes);
+            }
+
+            for (String field : fields) {
+                digest.update(field.getBytes(StandardCharsets.UTF_8));
+
+                String type = field.substring(field.indexOf(' ') + 1);
+                if (type.contains(".") && !type.startsWith("java.")) {
+                    byte[] bytes = getClassBytes(type, beanClass.getClassLoader());
+                    if (bytes == null) return null;
+
+                    digest.update(bytes);
+                }
+            }
+
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param key the key from {@link #getKey(Class, List, List)}
+     * @return the cached types (name -> bytecode, the proxy first) or null if not present
+     */
+    @Nullable
+    public Map<String, byte[]> load(String key) {
+        Path path = folder.getChild(key + EXTENSION);
+        if (!Files.exists(path)) return null;
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis())); // used for expiration
+
+            int count = input.readInt();
+            Map<String, byte[]> types = new LinkedHashMap<>(count);
+            for (int i = 0; i < count; i++) {
+                String name = input.readUTF();
+                byte[] bytes = new byte[input.readInt()];
+                input.readFully(bytes);
+
+                types.put(name, bytes);
+            }
+
+            return types;
+        } catch (IOException e) {
+            LOGGER.debug("Could not read cached proxy class {}.", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the bytecode of a proxy class.
+     *
+     * @param key   the key from {@link #getKey(Class, List, List)}
+     * @param types the generated types (name -> bytecode), the proxy must be the first one
+     */
+    public void store(String key, Map<String, byte[]> types) {
+        Path path = folder.getChild(key + EXTENSION);
+
+        try {
+            // writing to a temp file first, so a crash (or a parallel write) can't leave a corrupted entry behind
+            Path temp = Files.createTempFile(path.getParent(), key, ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(types.size());
+                for (Map.Entry<String, byte[]> entry : types.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeInt(entry.getValue().length);
+                    output.write(entry.getValue());
+                }
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.debug("Could not write cached proxy class {}.", key, e);
+        }
+    }
+
+    private void removeExpiredEntries() {
+        long threshold = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+
+        try (Stream<Path> files = Files.list(folder.asFile().toPath())) {
+            files.filter(path -> {
+                try {
+                    return Files.getLastModifiedTime(path).toMillis() < threshold;
+                } catch (IOException e) {
+                    return false;
+                }
+            }).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                }
+            });
+        } catch (IOException e) {
+            LOGGER.debug("Could not clean up proxy class cache.", e);
+        }
+    }
+}
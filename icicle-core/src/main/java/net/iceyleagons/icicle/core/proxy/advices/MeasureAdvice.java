@@ -25,22 +25,24 @@
 package net.iceyleagons.icicle.core.proxy.advices;
 
 import net.bytebuddy.asm.Advice;
+import net.iceyleagons.icicle.core.metrics.MethodTimings;
 
+/**
+ * Inlined into the @{@link net.iceyleagons.icicle.core.annotations.execution.Measure} methods: records their execution time
+ * (in nanoseconds) into the histogram of the method. The origin string is a constant in the generated code, so this does not allocate.
+ * It contains the descriptor of the method as well, so overloads are recorded separately.
+ *
+ * @see MethodTimings
+ */
 public class MeasureAdvice {
 
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static long enter() {
-        return System.currentTimeMillis();
+        return System.nanoTime();
     }
 
     @Advice.OnMethodExit(suppress = Throwable.class, onThrowable = Throwable.class)
-    public static void exit(@Advice.Enter long time, @Advice.This Object thisObject, @Advice.Origin String origin) {
-        long now = System.currentTimeMillis();
-
-        System.out.printf("[STOPWATCH] Class: %s Method: %s took %s ms.\n",
-                thisObject.getClass().getName(),
-                origin,
-                now - time
-        );
+    public static void exit(@Advice.Enter long start, @Advice.Origin("#t.#m#d") String origin) {
+        MethodTimings.record(origin, System.nanoTime() - start);
     }
 }
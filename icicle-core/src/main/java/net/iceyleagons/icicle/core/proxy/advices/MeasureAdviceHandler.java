@@ -40,6 +40,11 @@ public class MeasureAdviceHandler implements MethodAdviceHandlerTemplate {
         return Advice.to(MeasureAdvice.class);
     }
 
+    @Override
+    public Class<?> getAdviceClass() {
+        return MeasureAdvice.class;
+    }
+
     @Override
     public ElementMatcher<? super MethodDescription> getMatcher() {
         return ElementMatchers.isAnnotatedWith(Measure.class);
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.proxy.interceptor;
+
+import lombok.SneakyThrows;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Converts the future of a dispatched @Async/@Sync method call into the value returned by the proxy.
+ * <ul>
+ *     <li>void methods return immediately, failures are logged</li>
+ *     <li>methods returning {@link CompletableFuture} or {@link CompletionStage} return immediately, with a future completed by
+ *     the future returned by the method (or exceptionally if the method or its future fails)</li>
+ *     <li>every other method blocks the caller until the result is available (the declared return type is an explicit opt-in to a synchronous result),
+ *     the exceptions of the method are rethrown as they are</li>
+ * </ul>
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public final class ExecutionResults {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ExecutionResults.class);
+
+    private ExecutionResults() {
+    }
+
+    /**
+     * @param method the intercepted method
+     * @param future the future of the dispatched call
+     * @return the value to return from the proxy
+     */
+    @SuppressWarnings("unchecked")
+    public static Object adapt(Method method, CompletableFuture<?> future) {
+        Class<?> returnType = method.getReturnType();
+
+        if (returnType == void.class) {
+            future.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    LOGGER.warn("Execution of {}.{} failed.", method.getDeclaringClass().getName(), method.getName(), unwrap(throwable));
+                }
+            });
+            return null;
+        }
+
+        if (returnType == CompletableFuture.class || returnType == CompletionStage.class) {
+            return future.thenCompose(result -> result instanceof CompletionStage ? (CompletionStage<Object>) result : CompletableFuture.<Object>completedFuture(result));
+        }
+
+        return join(future);
+    }
+
+    /**
+     * @param method   the intercepted method
+     * @param callable the call of the method
+     * @return a task running the call, logging its failures (for periodic tasks, whose results are not returned)
+     */
+    public static Runnable logging(Method method, Callable<?> callable) {
+        return () -> {
+            try {
+                callable.call();
+            } catch (Exception e) {
+                LOGGER.warn("Execution of {}.{} failed.", method.getDeclaringClass().getName(), method.getName(), e);
+            }
+        };
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    @SneakyThrows
+    private static Object join(CompletableFuture<?> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+}
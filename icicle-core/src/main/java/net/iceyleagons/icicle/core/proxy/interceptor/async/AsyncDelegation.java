@@ -30,13 +30,18 @@ import net.bytebuddy.implementation.bind.annotation.RuntimeType;
 import net.bytebuddy.implementation.bind.annotation.SuperCall;
 import net.iceyleagons.icicle.core.annotations.execution.extra.After;
 import net.iceyleagons.icicle.core.annotations.execution.extra.Periodically;
+import net.iceyleagons.icicle.core.execution.PeriodicSchedule;
+import net.iceyleagons.icicle.core.execution.ScheduledTask;
+import net.iceyleagons.icicle.core.performance.jfr.ExecutionDispatchEvent;
+import net.iceyleagons.icicle.core.proxy.interceptor.ExecutionResults;
 import net.iceyleagons.icicle.core.utils.ExecutionHandler;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
 
 /**
+ * Dispatches the calls of the @Async methods, see {@link ExecutionResults} for what the proxy returns.
+ *
  * @author TOTHTOMI
  * @version 1.0.0
  * @since Nov. 13, 2021
@@ -48,24 +53,29 @@ public class AsyncDelegation {
 
     @RuntimeType
     public Object run(@SuperCall Callable<?> callable, @Origin Method method) {
-        if (method.isAnnotationPresent(Periodically.class)) {
-            final Periodically period = method.getAnnotation(Periodically.class);
+        ExecutionDispatchEvent event = ExecutionDispatchEvent.start();
+        String scheduling = "immediate";
+
+        try {
+            if (method.isAnnotationPresent(Periodically.class)) {
+                scheduling = "periodically";
+                PeriodicSchedule schedule = PeriodicSchedule.of(method.getAnnotation(Periodically.class), method.getAnnotation(After.class));
 
-            long delay = 0;
-            TimeUnit delayUnit = TimeUnit.SECONDS;
-            if (method.isAnnotationPresent(After.class)) {
+                if (method.getReturnType() == ScheduledTask.class) {
+                    return executionHandler.scheduleAsync(ExecutionResults.logging(method, callable), schedule);
+                }
+
+                //periodical execution only returns the first time it gets run
+                return ExecutionResults.adapt(method, executionHandler.runAsyncPeriodically(callable, schedule));
+            } else if (method.isAnnotationPresent(After.class)) {
                 After after = method.getAnnotation(After.class);
-                delay = after.delay();
-                delayUnit = after.unit();
+                scheduling = "after";
+                return ExecutionResults.adapt(method, executionHandler.runAsyncAfter(callable, after.unit(), after.delay()));
             }
 
-            //periodical execution only returns the first time it gets run
-            return executionHandler.runAsyncPeriodically(callable, period.unit(), period.period(), delayUnit, delay).join();
-        } else if (method.isAnnotationPresent(After.class)) {
-            After after = method.getAnnotation(After.class);
-            return executionHandler.runAsyncAfter(callable, after.unit(), after.delay()).join();
+            return ExecutionResults.adapt(method, executionHandler.runAsync(callable));
+        } finally {
+            event.finish(method, "async", scheduling);
         }
-
-        return executionHandler.runAsync(callable).join();
     }
 }
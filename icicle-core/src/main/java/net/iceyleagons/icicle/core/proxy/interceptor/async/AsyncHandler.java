@@ -34,6 +34,7 @@ import net.iceyleagons.icicle.core.annotations.execution.Sync;
 import net.iceyleagons.icicle.core.annotations.handlers.proxy.MethodInterceptionHandler;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodInterceptorHandlerTemplate;
 import net.iceyleagons.icicle.core.utils.ExecutionHandler;
+import net.iceyleagons.icicle.core.utils.Kotlin;
 
 /**
  * @author TOTHTOMI
@@ -51,11 +52,14 @@ public class AsyncHandler implements MethodInterceptorHandlerTemplate {
 
     @Override
     public ElementMatcher<? super MethodDescription> getMatcher() {
-        return ElementMatchers.isAnnotatedWith(Async.class).and(ElementMatchers.not(ElementMatchers.isAnnotatedWith(Sync.class)));
+        // suspend functions and functions returning Deferred are handled by icicle-kotlin
+        return ElementMatchers.isAnnotatedWith(Async.class).and(ElementMatchers.not(ElementMatchers.isAnnotatedWith(Sync.class)))
+                .and(ElementMatchers.not((ElementMatcher<MethodDescription>) Kotlin::isSuspendingMethod))
+                .and(ElementMatchers.not((ElementMatcher<MethodDescription>) Kotlin::isReturningDeferred));
     }
 
     @Override
     public Implementation getImplementation() {
-        return MethodDelegation.to(new AsyncDelegation(this.executionHandler));
+        return MethodDelegation.to(new AsyncDelegation(this.executionHandler), "delegate$icicle$async");
     }
 }
@@ -57,6 +57,6 @@ public class BeanHandler implements MethodInterceptorHandlerTemplate {
 
     @Override
     public Implementation getImplementation() {
-        return MethodDelegation.to(new BeanDelegation(this.beanRegistry));
+        return MethodDelegation.to(new BeanDelegation(this.beanRegistry), "delegate$icicle$bean");
     }
 }
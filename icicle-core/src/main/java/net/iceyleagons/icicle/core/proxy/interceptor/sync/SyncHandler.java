@@ -34,6 +34,7 @@ import net.iceyleagons.icicle.core.annotations.execution.Sync;
 import net.iceyleagons.icicle.core.annotations.handlers.proxy.MethodInterceptionHandler;
 import net.iceyleagons.icicle.core.proxy.interfaces.MethodInterceptorHandlerTemplate;
 import net.iceyleagons.icicle.core.utils.ExecutionHandler;
+import net.iceyleagons.icicle.core.utils.Kotlin;
 
 /**
  * @author TOTHTOMI
@@ -51,11 +52,14 @@ public class SyncHandler implements MethodInterceptorHandlerTemplate {
 
     @Override
     public ElementMatcher<? super MethodDescription> getMatcher() {
-        return ElementMatchers.isAnnotatedWith(Sync.class).and(ElementMatchers.not(ElementMatchers.isAnnotatedWith(Async.class)));
+        // suspend functions and functions returning Deferred are handled by icicle-kotlin
+        return ElementMatchers.isAnnotatedWith(Sync.class).and(ElementMatchers.not(ElementMatchers.isAnnotatedWith(Async.class)))
+                .and(ElementMatchers.not((ElementMatcher<MethodDescription>) Kotlin::isSuspendingMethod))
+                .and(ElementMatchers.not((ElementMatcher<MethodDescription>) Kotlin::isReturningDeferred));
     }
 
     @Override
     public Implementation getImplementation() {
-        return MethodDelegation.to(new SyncDelegation(this.executionHandler));
+        return MethodDelegation.to(new SyncDelegation(this.executionHandler), "delegate$icicle$sync");
     }
 }
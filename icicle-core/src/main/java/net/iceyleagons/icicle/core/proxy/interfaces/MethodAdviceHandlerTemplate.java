@@ -30,4 +30,11 @@ public interface MethodAdviceHandlerTemplate extends MethodDescriptor {
 
     Advice getAsmAdvice();
 
+    /**
+     * @return the class containing the advice code (its bytecode becomes part of the proxy class cache key) or null if unknown
+     */
+    default Class<?> getAdviceClass() {
+        return null;
+    }
+
 }
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.proxy.lazy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Invocation handler of the lazy bean proxies: creates the real bean on the first call (thread-safely) and forwards every call to it.
+ * <p>
+ * The creation is a {@link FutureTask} run by the first caller, the concurrent callers wait for its result. No monitor is held during the creation,
+ * so initializing lazy beans (whose dependencies may also be lazy) from multiple threads cannot deadlock on lock ordering.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 14, 2022
+ */
+public class LazyBeanHandler implements InvocationHandler {
+
+    private final Class<?> beanClass;
+    private final FutureTask<Object> creation;
+    private volatile Thread creator;
+    private volatile Object bean;
+
+    public LazyBeanHandler(Class<?> beanClass, Callable<?> initializer) {
+        this.beanClass = beanClass;
+        this.creation = new FutureTask<>(() -> {
+            creator = Thread.currentThread();
+            try {
+                return initializer.call();
+            } finally {
+                creator = null;
+            }
+        });
+    }
+
+    /**
+     * @return the real bean, creates it if it has not been created yet
+     * @throws IllegalStateException if the bean cannot be created, or it is used during its own creation
+     */
+    public Object getBean() {
+        Object result = bean;
+        if (result != null) return result;
+
+        if (creator == Thread.currentThread()) {
+            throw new IllegalStateException("Lazy bean of type " + beanClass.getName() + " is used during its own creation.");
+        }
+
+        creation.run(); // no-op if it is already running or done
+
+        try {
+            result = creation.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not initialize lazy bean of type " + beanClass.getName(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for lazy bean of type " + beanClass.getName(), e);
+        }
+
+        bean = result;
+        return result;
+    }
+
+    /**
+     * @return true if the real bean has already been created
+     */
+    public boolean isInitialized() {
+        return bean != null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object target = getBean();
+        if (!method.canAccess(target)) {
+            method.setAccessible(true); // the method instances are cached by the proxy, so this only happens once
+        }
+
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
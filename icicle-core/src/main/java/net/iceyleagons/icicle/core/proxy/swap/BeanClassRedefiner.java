@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.proxy.swap;
+
+import net.bytebuddy.agent.ByteBuddyAgent;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.iceyleagons.icicle.core.exceptions.BeanCreationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.instrument.ClassDefinition;
+import java.lang.instrument.Instrumentation;
+import java.lang.instrument.UnmodifiableClassException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Redefines already loaded bean classes with their current class files, so reloaded beans are created with the new code.
+ * <p>
+ * The class files are read through the class loader of the bean (ex. an exploded output directory during development),
+ * and the classes are redefined via the installed ByteBuddy agent. The objects and proxies referencing the classes stay valid,
+ * therefore only method bodies can be changed: adding, removing or changing fields and method signatures is rejected by the JVM.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public final class BeanClassRedefiner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BeanClassRedefiner.class);
+
+    private BeanClassRedefiner() {
+    }
+
+    /**
+     * Redefines the supplied classes with the class files currently available from their class loaders.
+     * Either every class is redefined or none of them.
+     *
+     * @param types the classes to redefine
+     * @throws BeanCreationException if a class file cannot be read or the new class file changes more than method bodies
+     */
+    public static void redefine(Collection<Class<?>> types) throws BeanCreationException {
+        Instrumentation instrumentation = ByteBuddyAgent.getInstrumentation();
+        List<ClassDefinition> definitions = new ArrayList<>(types.size());
+
+        for (Class<?> type : types) {
+            if (!instrumentation.isModifiableClass(type)) {
+                throw new BeanCreationException(type, "Class cannot be redefined by the installed agent.");
+            }
+
+            try {
+                ClassFileLocator locator = ClassFileLocator.ForClassLoader.of(type.getClassLoader());
+                definitions.add(new ClassDefinition(type, locator.locate(type.getName()).resolve()));
+            } catch (IOException | IllegalStateException e) {
+                throw new BeanCreationException(type, "Could not read the class file of the bean.", e);
+            }
+        }
+
+        try {
+            instrumentation.redefineClasses(definitions.toArray(new ClassDefinition[0]));
+            LOGGER.debug("Redefined {} bean class(es).", definitions.size());
+        } catch (ClassNotFoundException | UnmodifiableClassException | UnsupportedOperationException | ClassFormatError e) {
+            throw new BeanCreationException(definitions.get(0).getDefinitionClass(), "Could not redefine the bean classes (only method bodies can be changed at runtime).", e);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.core.proxy.swap;
+
+import java.lang.reflect.Field;
+
+/**
+ * Holds the target of the indirection proxies used for hot reloading.
+ * <p>
+ * The generated proxy stores the target in a volatile field ({@link #TARGET_FIELD}) and calls the same method on it directly,
+ * so no reflection is involved per call. The target can be swapped atomically, so everyone holding the proxy starts using the new bean at once.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 19, 2022
+ */
+public class SwappableBeanHandler {
+
+    /**
+     * Name of the field of the generated proxy classes holding the current target.
+     */
+    public static final String TARGET_FIELD = "icicle$target";
+
+    private volatile Object target;
+    private Object proxy;
+    private Field field;
+
+    public SwappableBeanHandler(Object target) {
+        this.target = target;
+    }
+
+    /**
+     * Binds the handler to its proxy and sets the proxy's target.
+     * (Called by the {@link net.iceyleagons.icicle.core.proxy.BeanProxyHandler} once the proxy has been created.)
+     *
+     * @param proxy the proxy, its class must declare {@link #TARGET_FIELD}
+     * @throws ReflectiveOperationException if the field cannot be found or set
+     */
+    public synchronized void bind(Object proxy) throws ReflectiveOperationException {
+        Field field = proxy.getClass().getDeclaredField(TARGET_FIELD);
+        field.set(proxy, target);
+
+        this.proxy = proxy;
+        this.field = field;
+    }
+
+    /**
+     * @return the proxy (null if not bound yet)
+     */
+    public synchronized Object getProxy() {
+        return proxy;
+    }
+
+    /**
+     * @return the current target
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * Replaces the target, calls already in progress finish on the old one.
+     *
+     * @param target the new target
+     * @return the old target
+     */
+    public synchronized Object swap(Object target) {
+        Object old = this.target;
+        this.target = target;
+
+        if (proxy != null) {
+            try {
+                field.set(proxy, target);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not swap the target of the proxy!", e); // the field is public, cannot happen
+            }
+        }
+
+        return old;
+    }
+}
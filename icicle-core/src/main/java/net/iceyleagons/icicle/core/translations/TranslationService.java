@@ -28,6 +28,7 @@ import lombok.Getter;
 import lombok.Setter;
 import net.iceyleagons.icicle.core.Application;
 import net.iceyleagons.icicle.core.annotations.Service;
+import net.iceyleagons.icicle.core.performance.jfr.TranslationRenderingEvent;
 import net.iceyleagons.icicle.core.translations.code.CodeParser;
 import net.iceyleagons.icicle.core.translations.code.functions.AbstractCodeFunction;
 import net.iceyleagons.icicle.core.translations.impl.ConstantLanguageProvider;
@@ -59,10 +60,13 @@ public class TranslationService {
     }
 
     public String getTranslation(String key, String language, String defaultValue, Map<String, String> values) {
+        TranslationRenderingEvent event = TranslationRenderingEvent.start();
         String translation = translationStringProvider == null ? defaultValue : translationStringProvider.get(key, language);
         String toParse = translation == null ? defaultValue : translation;
 
-        return getNewParser().addValues(values).parseCode(toParse);
+        String result = getNewParser().addValues(values).parseCode(toParse);
+        event.finish(key, language, values.size());
+        return result;
     }
 
     private CodeParser getNewParser() {
@@ -63,7 +63,7 @@ public class CodeParser {
     }
 
     public static Set<Class<?>> discoverCodeFunctions(Application application) {
-        return discoverCodeFunctions(application.getReflections());
+        return application.getBeanIndex().getTypesAnnotatedWith(CodeFunction.class);
     }
 
     public static Set<Class<?>> discoverCodeFunctions(Reflections reflections) {
@@ -24,6 +24,7 @@
 
 package net.iceyleagons.icicle.core.utils;
 
+import net.iceyleagons.icicle.core.beans.InjectionPlan;
 import net.iceyleagons.icicle.core.exceptions.BeanCreationException;
 import net.iceyleagons.icicle.core.proxy.BeanProxyHandler;
 import net.iceyleagons.icicle.utilities.Asserts;
@@ -31,6 +32,10 @@ import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**
  * Utility methods for the creating and autowiring of beans.
@@ -41,9 +46,34 @@ import java.lang.reflect.InvocationTargetException;
  */
 public final class BeanUtils {
 
+    private static final ClassValue<Class<?>[]> SUPER_TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> result = new LinkedHashSet<>();
+            Deque<Class<?>> stack = new ArrayDeque<>();
+            stack.push(type);
+
+            while (!stack.isEmpty()) {
+                Class<?> current = stack.pop();
+                Class<?> superclass = current.getSuperclass();
+
+                if (superclass != null && superclass != Object.class && result.add(superclass)) {
+                    stack.push(superclass);
+                }
+                for (Class<?> anInterface : current.getInterfaces()) {
+                    if (result.add(anInterface)) {
+                        stack.push(anInterface);
+                    }
+                }
+            }
+
+            return result.toArray(new Class<?>[0]);
+        }
+    };
+
     /**
      * Instantiates a class using the supplied constructor and arguments.
-     * If a {@link BeanProxyHandler} is present and not null, the object will be created via the proxy and not {@link Constructor#newInstance(Object...)}
+     * If a {@link BeanProxyHandler} is present and not null, the object will be created via the proxy, otherwise via the {@link InjectionPlan} of the constructor.
      *
      * @param constructor      the constructor to use (from {@link #getResolvableConstructor(Class)})
      * @param beanProxyHandler the {@link BeanProxyHandler} to use (can be null)
@@ -56,9 +86,6 @@ public final class BeanUtils {
         Asserts.notNull(constructor, "Constructor must not be null!");
 
         try {
-            constructor.setAccessible(true);
-
-
             Class<?>[] parameterTypes = constructor.getParameterTypes();
             Asserts.isTrue(arguments.length <= parameterTypes.length, "Cannot specify more arguments than constructor parameters!");
 
@@ -74,10 +101,11 @@ public final class BeanUtils {
 
             if (Kotlin.isKotlinReflectionPresent() && Kotlin.isKotlinType(constructor.getDeclaringClass())) {
                 //TODO are kotlin classes supported by ByteBuddy? (collectively: figure out how to enhance kotlin classes)
+                constructor.setAccessible(true);
                 return Kotlin.instantiateKotlinClass(constructor, argObjects);
             }
 
-            T value = beanProxyHandler == null ? constructor.newInstance(argObjects) : beanProxyHandler.createEnhancedBean(constructor, argObjects);
+            T value = beanProxyHandler == null ? constructor.getDeclaringClass().cast(InjectionPlan.of(constructor).newInstance(argObjects)) : beanProxyHandler.createEnhancedBean(constructor, argObjects);
             if (value == null)
                 throw new BeanCreationException(constructor, "Resulting value from instance generation is null."); //just in case
 
@@ -122,4 +150,15 @@ public final class BeanUtils {
             throw new IllegalStateException("No default or single public constructor found for " + clazz);
         }
     }
+
+    /**
+     * Returns every supertype (superclasses except {@link Object} and interfaces) of the supplied class.
+     * The result is computed once per class, the returned array must not be modified.
+     *
+     * @param type the class
+     * @return the supertypes of the class
+     */
+    public static Class<?>[] getSuperTypes(Class<?> type) {
+        return SUPER_TYPES.get(type);
+    }
 }
@@ -24,22 +24,122 @@
 
 package net.iceyleagons.icicle.core.utils;
 
+import net.iceyleagons.icicle.core.execution.DelayChainedTask;
+import net.iceyleagons.icicle.core.execution.PeriodicSchedule;
+import net.iceyleagons.icicle.core.execution.ScheduledTask;
+import net.iceyleagons.icicle.core.execution.TaskPriority;
+import org.slf4j.LoggerFactory;
+
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 public interface ExecutionHandler {
 
     <T> CompletableFuture<T> runSync(Callable<T> callable);
 
+    /**
+     * Same as {@link #runSync(Callable)}, but implementations batching the main-thread work (see {@link net.iceyleagons.icicle.core.execution.MainThreadQueue})
+     * run higher priority tasks first.
+     *
+     * @param callable the task
+     * @param priority the priority of the task
+     * @return the future completed with the result of the task
+     */
+    default <T> CompletableFuture<T> runSync(Callable<T> callable, TaskPriority priority) {
+        return runSync(callable);
+    }
+
     <T> CompletableFuture<T> runSyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay);
 
-    <T> CompletableFuture<T> runSyncPeriodically(Callable<T> callable, TimeUnit periodUnit, long period, TimeUnit delayUnit, long delay);
+    default <T> CompletableFuture<T> runSyncPeriodically(Callable<T> callable, TimeUnit periodUnit, long period, TimeUnit delayUnit, long delay) {
+        return runSyncPeriodically(callable, PeriodicSchedule.every(period, periodUnit).after(delay, delayUnit));
+    }
+
+    /**
+     * @param callable the task
+     * @param schedule the schedule of the task
+     * @return the future completed by the first execution (or exceptionally if the task cannot be scheduled), the failures of the later ones are only logged
+     */
+    default <T> CompletableFuture<T> runSyncPeriodically(Callable<T> callable, PeriodicSchedule schedule) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        try {
+            scheduleSync(completingFirst(completableFuture, callable), schedule);
+        } catch (RejectedExecutionException e) {
+            completableFuture.completeExceptionally(e); // the handler has been shut down
+        }
+
+        return completableFuture;
+    }
+
+    /**
+     * Runs the task periodically on the main thread.
+     * By default every execution is a {@link #runSyncAfter(Callable, TimeUnit, long)} call (see {@link DelayChainedTask}),
+     * handlers with their own timers should override this.
+     *
+     * @param task     the task
+     * @param schedule the schedule of the task
+     * @return the handle to cancel, pause or reschedule the task
+     */
+    default ScheduledTask scheduleSync(Runnable task, PeriodicSchedule schedule) {
+        return DelayChainedTask.start(task, schedule, (step, delayNanos) -> runSyncAfter(Executors.callable(step), TimeUnit.NANOSECONDS, delayNanos));
+    }
 
     <T> CompletableFuture<T> runAsync(Callable<T> callable);
 
     <T> CompletableFuture<T> runAsyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay);
 
-    <T> CompletableFuture<T> runAsyncPeriodically(Callable<T> callable, TimeUnit periodUnit, long period, TimeUnit delayUnit, long delay);
+    default <T> CompletableFuture<T> runAsyncPeriodically(Callable<T> callable, TimeUnit periodUnit, long period, TimeUnit delayUnit, long delay) {
+        return runAsyncPeriodically(callable, PeriodicSchedule.every(period, periodUnit).after(delay, delayUnit));
+    }
+
+    /**
+     * @see #runSyncPeriodically(Callable, PeriodicSchedule)
+     */
+    default <T> CompletableFuture<T> runAsyncPeriodically(Callable<T> callable, PeriodicSchedule schedule) {
+        CompletableFuture<T> completableFuture = new CompletableFuture<>();
+        try {
+            scheduleAsync(completingFirst(completableFuture, callable), schedule);
+        } catch (RejectedExecutionException e) {
+            completableFuture.completeExceptionally(e); // the handler has been shut down
+        }
+
+        return completableFuture;
+    }
+
+    /**
+     * Runs the task periodically off the main thread.
+     * By default every execution is a {@link #runAsyncAfter(Callable, TimeUnit, long)} call (see {@link DelayChainedTask}),
+     * handlers with their own timers should override this.
+     *
+     * @param task     the task
+     * @param schedule the schedule of the task
+     * @return the handle to cancel, pause or reschedule the task
+     */
+    default ScheduledTask scheduleAsync(Runnable task, PeriodicSchedule schedule) {
+        return DelayChainedTask.start(task, schedule, (step, delayNanos) -> runAsyncAfter(Executors.callable(step), TimeUnit.NANOSECONDS, delayNanos));
+    }
+
+    /**
+     * Releases the resources (ex. thread pools) of the handler, called when the application shuts down.
+     */
+    default void shutdown() {
+    }
+
+    private static <T> Runnable completingFirst(CompletableFuture<T> completableFuture, Callable<T> callable) {
+        return () -> {
+            try {
+                T obj = callable.call();
 
+                if (!completableFuture.isDone())
+                    completableFuture.complete(obj);
+            } catch (Exception e) {
+                if (!completableFuture.completeExceptionally(e)) {
+                    LoggerFactory.getLogger(ExecutionHandler.class).warn("Periodic task threw an exception.", e);
+                }
+            }
+        };
+    }
 }
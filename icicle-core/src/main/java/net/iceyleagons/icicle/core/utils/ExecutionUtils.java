@@ -24,6 +24,8 @@
 
 package net.iceyleagons.icicle.core.utils;
 
+import net.iceyleagons.icicle.core.execution.PeriodicSchedule;
+import net.iceyleagons.icicle.core.execution.ScheduledTask;
 import net.iceyleagons.icicle.utilities.lang.Internal;
 
 import java.util.concurrent.Callable;
@@ -68,6 +70,11 @@ public final class ExecutionUtils {
                 return getFrom(callable);
             }
 
+            @Override
+            public ScheduledTask scheduleSync(Runnable task, PeriodicSchedule schedule) {
+                return runOnce(task);
+            }
+
             @Override
             public <T> CompletableFuture<T> runAsync(Callable<T> callable) {
                 System.out.println("Running async");
@@ -85,17 +92,76 @@ public final class ExecutionUtils {
                 System.out.println("Running async periodically");
                 return getFrom(callable);
             }
+
+            @Override
+            public ScheduledTask scheduleAsync(Runnable task, PeriodicSchedule schedule) {
+                return runOnce(task);
+            }
         };
     }
 
+    private static ScheduledTask runOnce(Runnable task) {
+        task.run(); // only the first execution is simulated, the handle still tracks the state of the schedule
+        return new ImmediateTask();
+    }
+
     private static <T> CompletableFuture<T> getFrom(Callable<T> callable) {
         CompletableFuture<T> completableFuture = new CompletableFuture<>();
         try {
             completableFuture.complete(callable.call());
         } catch (Exception e) {
-            e.printStackTrace();
+            completableFuture.completeExceptionally(e);
         }
 
         return completableFuture;
     }
+
+    private static final class ImmediateTask implements ScheduledTask {
+        private boolean cancelled;
+        private boolean paused;
+
+        @Override
+        public synchronized boolean cancel() {
+            if (cancelled) return false;
+
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean pause() {
+            if (cancelled || paused) return false;
+
+            paused = true;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean resume() {
+            if (cancelled || !paused) return false;
+
+            paused = false;
+            return true;
+        }
+
+        @Override
+        public synchronized boolean reschedule(long delay, long period, TimeUnit unit) {
+            return !cancelled;
+        }
+
+        @Override
+        public synchronized boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public synchronized boolean isPaused() {
+            return paused;
+        }
+
+        @Override
+        public boolean isDone() {
+            return false; // periodic, never done
+        }
+    }
 }
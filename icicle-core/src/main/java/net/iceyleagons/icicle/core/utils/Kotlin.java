@@ -30,6 +30,9 @@ import kotlin.reflect.KParameter;
 import kotlin.reflect.full.KClasses;
 import kotlin.reflect.jvm.KCallablesJvm;
 import kotlin.reflect.jvm.ReflectJvmMapping;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterList;
 import net.iceyleagons.icicle.utilities.ReflectionUtils;
 import org.jetbrains.annotations.Nullable;
 
@@ -51,6 +54,10 @@ import java.util.Map;
  */
 public final class Kotlin {
 
+    private static final String KOTLIN_METADATA_CLASS = "kotlin.Metadata";
+    private static final String CONTINUATION_CLASS = "kotlin.coroutines.Continuation";
+    private static final String DEFERRED_CLASS = "kotlinx.coroutines.Deferred";
+
     @Nullable
     private static final Class<? extends Annotation> kotlinMeta;
     private static final boolean kotlinReflectionPresent;
@@ -66,7 +73,7 @@ public final class Kotlin {
     private static Class<? extends Annotation> getKotlinMeta(ClassLoader cl) {
         Class<?> meta = null;
         try {
-            meta = Class.forName("kotlin.Metadata", false, cl);
+            meta = Class.forName(KOTLIN_METADATA_CLASS, false, cl);
         } catch (Exception ignored) {
         }
 
@@ -98,12 +105,39 @@ public final class Kotlin {
     public static boolean isSuspendingMethod(Method method) {
         if (isKotlinType(method.getDeclaringClass())) {
             Class<?>[] types = method.getParameterTypes();
-            return types.length > 0 && "kotlin.coroutines.Continuation".equals(types[types.length - 1].getName());
+            return types.length > 0 && CONTINUATION_CLASS.equals(types[types.length - 1].getName());
+        }
+
+        return false;
+    }
+
+    /**
+     * Same as {@link #isSuspendingMethod(Method)}, but for the method descriptions used by the proxy matchers.
+     *
+     * @param method the method to check
+     * @return true if the method is a Kotlin suspend function
+     */
+    public static boolean isSuspendingMethod(MethodDescription method) {
+        ParameterList<?> parameters = method.getParameters();
+        if (parameters.isEmpty() || !CONTINUATION_CLASS.equals(parameters.get(parameters.size() - 1).getType().asErasure().getName())) {
+            return false;
+        }
+
+        for (AnnotationDescription annotation : method.getDeclaringType().asErasure().getDeclaredAnnotations()) {
+            if (annotation.getAnnotationType().getName().equals(KOTLIN_METADATA_CLASS)) return true;
         }
 
         return false;
     }
 
+    /**
+     * @param method the method to check
+     * @return true if the method returns a kotlinx.coroutines.Deferred
+     */
+    public static boolean isReturningDeferred(MethodDescription method) {
+        return method.getReturnType().asErasure().getName().equals(DEFERRED_CLASS);
+    }
+
     @Nullable
     public static <T> Constructor<T> findPrimaryConstructor(Class<T> clazz) {
         if (clazz == null || !isKotlinPresent() || !isKotlinReflectionPresent() || !isKotlinType(clazz)) return null;
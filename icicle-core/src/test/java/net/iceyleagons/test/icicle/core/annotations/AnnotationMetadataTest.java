@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.annotations;
+
+import net.iceyleagons.icicle.core.annotations.AnnotationMetadata;
+import net.iceyleagons.icicle.core.annotations.AutoCreate;
+import net.iceyleagons.icicle.core.annotations.Service;
+import net.iceyleagons.icicle.core.annotations.scope.Prototype;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class AnnotationMetadataTest {
+
+    @Test
+    @DisplayName("Meta-annotations are merged")
+    public void testMergedAnnotations() {
+        AnnotationMetadata metadata = AnnotationMetadata.of(TestService.class);
+
+        Assertions.assertTrue(metadata.isAutoCreate());
+        Assertions.assertTrue(metadata.isAnnotated(Service.class));
+        Assertions.assertEquals(1, metadata.getAnnotations().size());
+        Assertions.assertNull(metadata.getScope());
+        Assertions.assertSame(metadata, AnnotationMetadata.of(TestService.class));
+    }
+
+    @Test
+    @DisplayName("Scope is resolved")
+    public void testScope() {
+        AnnotationMetadata metadata = AnnotationMetadata.of(TestPrototype.class);
+
+        Assertions.assertTrue(metadata.isAnnotated(AutoCreate.class));
+        Assertions.assertEquals("prototype", metadata.getScope());
+        Assertions.assertFalse(AnnotationMetadata.of(Object.class).isAutoCreate());
+    }
+
+    @Service
+    static class TestService {
+    }
+
+    @Prototype
+    static class TestPrototype {
+    }
+}
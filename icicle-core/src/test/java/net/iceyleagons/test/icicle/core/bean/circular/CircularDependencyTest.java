@@ -33,6 +33,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 /**
  * @author TOTHTOMI
  * @version 1.0.0
@@ -49,4 +51,28 @@ public class CircularDependencyTest {
         };
         Assertions.assertThrows(CircularDependencyException.class, app::start);
     }
+
+    @Test
+    @DisplayName("Circular dependency (whole graph)")
+    public void testCircularDependencyGraph() {
+        if(!Icicle.LOADED)
+            Icicle.loadIcicle();
+        Application app = new AbstractIcicleApplication("net.iceyleagons.test.icicle.core.bean.circular", ExecutionUtils.debugHandler()) {
+        };
+        Assertions.assertThrows(CircularDependencyException.class, () -> app.getBeanManager().getDependencyTreeResolver().resolveCreationLevels(Set.of(Circular1.class, Circular2.class, Circular3.class)));
+    }
+
+    @Test
+    @DisplayName("Circular dependency (reported members)")
+    public void testCircularDependencyMembers() {
+        if(!Icicle.LOADED)
+            Icicle.loadIcicle();
+        Application app = new AbstractIcicleApplication("net.iceyleagons.test.icicle.core.bean.circular", ExecutionUtils.debugHandler()) {
+        };
+        CircularDependencyException exception = Assertions.assertThrows(CircularDependencyException.class, () -> app.getBeanManager().getDependencyTreeResolver().resolveCreationOrder(Set.of(Circular1.class)));
+
+        for (Class<?> member : new Class<?>[]{Circular1.class, Circular2.class, Circular3.class}) {
+            Assertions.assertTrue(exception.getMessage().contains(member.getName()));
+        }
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.implementor;
+
+import net.iceyleagons.icicle.core.AbstractIcicleApplication;
+import net.iceyleagons.icicle.core.Application;
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.beans.resolvers.DependencyTreeResolver;
+import net.iceyleagons.icicle.core.exceptions.UnsatisfiedDependencyException;
+import net.iceyleagons.icicle.core.utils.ExecutionUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class ImplementorDependencyTest {
+
+    @BeforeAll
+    public static void setupIcicle() {
+        if (!Icicle.LOADED)
+            Icicle.loadIcicle();
+    }
+
+    private static Application createApplication() {
+        return new AbstractIcicleApplication("net.iceyleagons.test.icicle.core.bean.implementor", ExecutionUtils.debugHandler()) {
+        };
+    }
+
+    @Test
+    @DisplayName("Interface dependency on a not yet created bean")
+    public void testInterfaceDependency() throws Exception {
+        Application app = createApplication();
+        app.start();
+
+        Greeter greeter = app.getBeanManager().getBeanRegistry().getBeanNullable(Greeter.class);
+        Assertions.assertNotNull(greeter);
+        Assertions.assertSame(app.getBeanManager().getBeanRegistry().getBeanNullable(EnglishGreeting.class), greeter.getGreeting());
+    }
+
+    @Test
+    @DisplayName("Creation order does not depend on scan order")
+    public void testCreationOrder() throws Exception {
+        DependencyTreeResolver resolver = createApplication().getBeanManager().getDependencyTreeResolver();
+
+        Assertions.assertThrows(UnsatisfiedDependencyException.class, () -> resolver.resolveCreationOrder(List.of(Greeter.class)));
+        Assertions.assertEquals(Arrays.asList(EnglishGreeting.class, Greeter.class), resolver.resolveCreationOrder(List.of(Greeter.class, EnglishGreeting.class)));
+        Assertions.assertEquals(Arrays.asList(EnglishGreeting.class, Greeter.class), resolver.resolveCreationOrder(List.of(EnglishGreeting.class, Greeter.class)));
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.index;
+
+import net.iceyleagons.icicle.core.beans.index.ClassMetadataIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.reflections.Reflections;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class ClassMetadataIndexTest {
+
+    private static final String PACKAGE = "net.iceyleagons.test.icicle.core.bean.index";
+
+    private static void copyClass(Path root, Class<?> type) throws IOException {
+        Path file = root.resolve(type.getName().replace('.', '/') + ".class");
+        Files.createDirectories(file.getParent());
+
+        try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            Files.copy(in, file);
+        }
+    }
+
+    private static Set<String> getIndexedTypes(Reflections reflections, ClassLoader classLoader) throws ClassNotFoundException {
+        Set<? extends Class<?>> types = reflections.getSubTypesOf(classLoader.loadClass(Indexed.class.getName()));
+        for (Class<?> type : types) {
+            Assertions.assertSame(classLoader, type.getClassLoader()); // resolved with the loader of the caller, not a cached one
+        }
+
+        return types.stream().map(Class::getSimpleName).collect(Collectors.toSet());
+    }
+
+    private static WeakReference<ClassLoader> scanIsolated(ClassMetadataIndex index, URL root) throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{root}, ClassLoader.getPlatformClassLoader())) {
+            Assertions.assertEquals(Collections.singleton("IndexedType"), getIndexedTypes(index.scan(root, PACKAGE, classLoader), classLoader));
+            return new WeakReference<>(classLoader);
+        }
+    }
+
+    @Test
+    @DisplayName("Views use the class loaders of the caller")
+    public void testClassLoaders(@TempDir Path root) throws Exception {
+        copyClass(root, Indexed.class);
+        copyClass(root, IndexedType.class);
+        URL url = root.toUri().toURL();
+        ClassMetadataIndex index = new ClassMetadataIndex();
+
+        try (URLClassLoader first = new URLClassLoader(new URL[]{url}, ClassLoader.getPlatformClassLoader());
+             URLClassLoader second = new URLClassLoader(new URL[]{url}, ClassLoader.getPlatformClassLoader())) {
+            Reflections firstView = index.scan(url, PACKAGE, first);
+            Reflections secondView = index.scan(url, PACKAGE, second);
+
+            Assertions.assertNotSame(firstView, secondView);
+            Assertions.assertEquals(Collections.singleton("IndexedType"), getIndexedTypes(firstView, first));
+            Assertions.assertEquals(Collections.singleton("IndexedType"), getIndexedTypes(secondView, second));
+        }
+    }
+
+    @Test
+    @DisplayName("Eviction")
+    public void testEviction(@TempDir Path root) throws Exception {
+        copyClass(root, Indexed.class);
+        copyClass(root, IndexedType.class);
+        URL url = root.toUri().toURL();
+        ClassMetadataIndex index = new ClassMetadataIndex();
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{url}, ClassLoader.getPlatformClassLoader())) {
+            Assertions.assertEquals(Collections.singleton("IndexedType"), getIndexedTypes(index.scan(url, PACKAGE, classLoader), classLoader));
+
+            copyClass(root, OtherIndexedType.class); // cached until evicted, regardless of the modification times
+            Assertions.assertEquals(Collections.singleton("IndexedType"), getIndexedTypes(index.scan(url, PACKAGE, classLoader), classLoader));
+
+            index.evict(Collections.singletonList(url));
+            Assertions.assertEquals(Set.of("IndexedType", "OtherIndexedType"), getIndexedTypes(index.scan(url, PACKAGE, classLoader), classLoader));
+        }
+    }
+
+    @Test
+    @DisplayName("Class loaders are not pinned")
+    public void testClassLoaderRelease(@TempDir Path root) throws Exception {
+        copyClass(root, Indexed.class);
+        copyClass(root, IndexedType.class);
+        ClassMetadataIndex index = new ClassMetadataIndex();
+
+        WeakReference<ClassLoader> reference = scanIsolated(index, root.toUri().toURL());
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        Assertions.assertNull(reference.get());
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.lazy;
+
+import net.iceyleagons.icicle.core.AbstractIcicleApplication;
+import net.iceyleagons.icicle.core.Application;
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.utils.ExecutionUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+@DisplayName("Lazy beans")
+public class LazyBeanTest {
+
+    private static Application start() {
+        Icicle.loadIcicle();
+        Application application = new AbstractIcicleApplication("net.iceyleagons.test.icicle.core.bean.lazy", ExecutionUtils.debugHandler()) {
+        };
+
+        Assertions.assertDoesNotThrow(application::start);
+        return application;
+    }
+
+    @Test
+    @DisplayName("Creation on first call, cyclic dependencies")
+    public void testLazyCreation() {
+        LazyFirst.CREATED.set(0);
+        LazySecond.CREATED.set(0);
+        Application application = start();
+
+        LazyFirst first = application.getBeanManager().getBeanRegistry().getBeanNullable(LazyFirst.class);
+        Assertions.assertNotNull(first);
+        Assertions.assertEquals(0, LazyFirst.CREATED.get());
+        Assertions.assertEquals(0, LazySecond.CREATED.get());
+
+        Assertions.assertEquals("first", first.getName());
+        Assertions.assertEquals(1, LazyFirst.CREATED.get());
+        Assertions.assertEquals(0, LazySecond.CREATED.get()); // only its proxy has been injected
+
+        Assertions.assertEquals("second", first.getSecond().getName());
+        Assertions.assertEquals("first", first.getSecond().getFirst().getName());
+        Assertions.assertEquals(1, LazyFirst.CREATED.get());
+        Assertions.assertEquals(1, LazySecond.CREATED.get());
+    }
+
+    @Test
+    @DisplayName("Concurrent initialization")
+    public void testConcurrentInitialization() throws Exception {
+        LazyFirst.CREATED.set(0);
+        LazySecond.CREATED.set(0);
+        Application application = start();
+
+        LazyFirst first = application.getBeanManager().getBeanRegistry().getBeanNullable(LazyFirst.class);
+        LazySecond second = application.getBeanManager().getBeanRegistry().getBeanNullable(LazySecond.class);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 16; i++) {
+                boolean even = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return even ? first.getSecond().getName() : second.getFirst().getName();
+                }));
+            }
+
+            start.countDown();
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertEquals(i % 2 == 0 ? "second" : "first", results.get(i).get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertEquals(1, LazyFirst.CREATED.get());
+        Assertions.assertEquals(1, LazySecond.CREATED.get());
+    }
+}
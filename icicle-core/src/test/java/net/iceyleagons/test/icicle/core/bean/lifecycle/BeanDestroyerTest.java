@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.lifecycle;
+
+import net.iceyleagons.icicle.core.annotations.PreDestroy;
+import net.iceyleagons.icicle.core.beans.lifecycle.BeanDestroyer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 18, 2022
+ */
+public class BeanDestroyerTest {
+
+    private static final List<String> DESTROYED = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("Reverse dependency order")
+    public void testReverseOrder() {
+        DESTROYED.clear();
+        Repository repository = new Repository();
+        Service service = new Service(repository);
+
+        new BeanDestroyer(5000).destroy(List.of(Map.entry(Repository.class, repository), Map.entry(Service.class, service)));
+        Assertions.assertEquals(List.of("service", "repository"), DESTROYED);
+    }
+
+    @Test
+    @DisplayName("Dependency created after its dependent")
+    public void testLazyDependency() {
+        DESTROYED.clear();
+        Repository repository = new Repository();
+        Service service = new Service(repository);
+
+        // a @Lazy dependency is only created (and registered) on its first use, after the beans depending on it
+        new BeanDestroyer(5000).destroy(List.of(Map.entry(Service.class, service), Map.entry(Repository.class, repository)));
+        Assertions.assertEquals(List.of("service", "repository"), DESTROYED);
+    }
+
+    @Test
+    @DisplayName("Timeout")
+    public void testTimeout() {
+        DESTROYED.clear();
+        Repository repository = new Repository();
+        SlowService slowService = new SlowService(repository);
+
+        new BeanDestroyer(100).destroy(List.of(Map.entry(Repository.class, repository), Map.entry(SlowService.class, slowService)));
+        Assertions.assertTrue(DESTROYED.isEmpty()); // the slow hook was interrupted, and its dependency's level was skipped
+    }
+
+    static class Repository {
+        @PreDestroy
+        public void flush() {
+            DESTROYED.add("repository");
+        }
+    }
+
+    static class Service {
+        public Service(Repository repository) {
+        }
+
+        @PreDestroy
+        public void save() {
+            DESTROYED.add("service");
+        }
+    }
+
+    static class SlowService {
+        public SlowService(Repository repository) {
+        }
+
+        @PreDestroy
+        public void save() throws InterruptedException {
+            Thread.sleep(5000);
+            DESTROYED.add("slow");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.registry;
+
+import net.iceyleagons.icicle.core.beans.DelegatingBeanRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 14, 2022
+ */
+public class BeanRegistryTest {
+
+    @Test
+    @DisplayName("Lookup by supertype")
+    public void testSupertypeLookup() {
+        DelegatingBeanRegistry registry = new DelegatingBeanRegistry();
+        FirstService service = new FirstService();
+        registry.registerBean(FirstService.class, service);
+
+        Assertions.assertSame(service, registry.getBeanNullable(Service.class));
+        Assertions.assertTrue(registry.isResolvable(Service.class));
+        Assertions.assertFalse(registry.isRegistered(Service.class));
+    }
+
+    @Test
+    @DisplayName("Ambiguous supertype")
+    public void testAmbiguousSupertype() {
+        DelegatingBeanRegistry registry = new DelegatingBeanRegistry();
+        registry.registerBean(FirstService.class, new FirstService());
+        registry.registerBean(SecondService.class, new SecondService());
+
+        Assertions.assertNull(registry.getBeanNullable(Service.class));
+        Assertions.assertFalse(registry.getBean(Service.class).isPresent());
+        Assertions.assertFalse(registry.isResolvable(Service.class));
+
+        // exact registrations take precedence
+        SecondService explicit = new SecondService();
+        registry.registerBean(Service.class, explicit);
+        Assertions.assertSame(explicit, registry.getBeanNullable(Service.class));
+    }
+
+    @Test
+    @DisplayName("Unregistering and providers")
+    public void testUnregister() {
+        DelegatingBeanRegistry registry = new DelegatingBeanRegistry();
+        FirstService first = new FirstService();
+        registry.registerBean(FirstService.class, first);
+        registry.registerBean(SecondService.class, new SecondService());
+        Assertions.assertFalse(registry.isResolvable(Service.class));
+
+        registry.unregisterBean(SecondService.class);
+        Assertions.assertSame(first, registry.getBeanNullable(Service.class));
+        Assertions.assertNull(registry.getBeanNullable(SecondService.class));
+
+        // providers take precedence over the supertype index, and are only indexed by their exact type
+        SecondService provided = new SecondService();
+        registry.registerProvider(Service.class, () -> provided);
+        registry.registerProvider(SecondService.class, SecondService::new);
+        Assertions.assertSame(provided, registry.getBeanNullable(Service.class));
+        Assertions.assertNotSame(registry.getBeanNullable(SecondService.class), registry.getBeanNullable(SecondService.class));
+
+        registry.cleanUp();
+        Assertions.assertFalse(registry.isResolvable(Service.class));
+        Assertions.assertFalse(registry.isResolvable(FirstService.class));
+    }
+
+    interface Service {
+    }
+
+    static class FirstService implements Service {
+    }
+
+    static class SecondService implements Service {
+    }
+}
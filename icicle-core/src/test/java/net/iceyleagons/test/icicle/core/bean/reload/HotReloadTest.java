@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.reload;
+
+import net.iceyleagons.icicle.core.AbstractIcicleApplication;
+import net.iceyleagons.icicle.core.Application;
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.beans.BeanRegistry;
+import net.iceyleagons.icicle.core.utils.ExecutionUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Hot reload is enabled for the whole JVM, so these tests run in a separate task (hotReloadTest).
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+@EnabledIfSystemProperty(named = "icicle.beans.hotreload", matches = "true")
+public class HotReloadTest {
+
+    private static Application app;
+
+    @BeforeAll
+    public static void setupIcicle() throws Exception {
+        if (!Icicle.LOADED)
+            Icicle.loadIcicle();
+
+        app = new AbstractIcicleApplication("net.iceyleagons.test.icicle.core.bean.reload", ExecutionUtils.debugHandler()) {
+        };
+        app.start();
+    }
+
+    @Test
+    @DisplayName("Swappable beans are swapped behind their proxy")
+    public void testSwap() throws Exception {
+        BeanRegistry registry = app.getBeanManager().getBeanRegistry();
+        ReloadedService proxy = registry.getBeanNullable(ReloadedService.class);
+        ReloadDependent dependent = registry.getBeanNullable(ReloadDependent.class);
+        Assertions.assertNotNull(proxy);
+        Assertions.assertSame(proxy, dependent.getService());
+
+        int generation = proxy.getGeneration();
+        app.getBeanManager().reloadBean(ReloadedService.class);
+
+        Assertions.assertSame(proxy, registry.getBeanNullable(ReloadedService.class));
+        Assertions.assertEquals(generation + 1, proxy.getGeneration());
+        Assertions.assertEquals(generation + 1, dependent.getService().getGeneration()); // references held by others see the new bean
+        Assertions.assertSame(dependent, registry.getBeanNullable(ReloadDependent.class)); // re-created behind its proxy as well
+    }
+
+    @Test
+    @DisplayName("Not swappable beans are re-registered")
+    public void testReRegister() throws Exception {
+        BeanRegistry registry = app.getBeanManager().getBeanRegistry();
+        FinalService old = registry.getBeanNullable(FinalService.class);
+        Assertions.assertNotNull(old);
+
+        app.getBeanManager().reloadBean(FinalService.class);
+
+        FinalService reloaded = registry.getBeanNullable(FinalService.class);
+        Assertions.assertNotNull(reloaded);
+        Assertions.assertNotSame(old, reloaded);
+    }
+
+    @Test
+    @DisplayName("Handlers and @Bean methods see the new instances")
+    public void testHandlers() throws Exception {
+        BeanRegistry registry = app.getBeanManager().getBeanRegistry();
+        Assertions.assertEquals(1, TrackedHandler.TRACKED.size());
+        Object old = TrackedHandler.TRACKED.get(0);
+        Assertions.assertSame(old, registry.getBeanNullable(TrackedProduct.class).getProducer());
+
+        app.getBeanManager().reloadBean(TrackedBean.class);
+
+        Assertions.assertEquals(1, TrackedHandler.TRACKED.size());
+        Object reloaded = TrackedHandler.TRACKED.get(0);
+        Assertions.assertNotSame(old, reloaded);
+        Assertions.assertSame(reloaded, registry.getBeanNullable(TrackedProduct.class).getProducer());
+    }
+
+    @Test
+    @DisplayName("Failed reloads leave the old beans working")
+    public void testFailedReload() {
+        FailingService service = app.getBeanManager().getBeanRegistry().getBeanNullable(FailingService.class);
+        Assertions.assertNotNull(service);
+
+        FailingService.FAIL = true;
+        try {
+            Assertions.assertThrows(Exception.class, () -> app.getBeanManager().reloadBean(FailingService.class));
+        } finally {
+            FailingService.FAIL = false;
+        }
+
+        Assertions.assertEquals(0, FailingService.DESTROYED.get());
+        Assertions.assertTrue(service.isAlive());
+        Assertions.assertSame(service, app.getBeanManager().getBeanRegistry().getBeanNullable(FailingService.class));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.scope;
+
+import net.iceyleagons.icicle.core.beans.scope.BeanScopes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class BeanScopesTest {
+
+    @Test
+    @DisplayName("Thread scope")
+    public void testThreadScope() throws Exception {
+        BeanScopes scopes = new BeanScopes();
+        Supplier<?> provider = scopes.register(BeanScopes.THREAD, Object.class, Object::new);
+
+        Object bean = provider.get();
+        Assertions.assertSame(bean, provider.get());
+        Assertions.assertNotSame(bean, CompletableFuture.supplyAsync(provider).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Clean up of other threads' instances")
+    public void testThreadScopeCleanUp() throws Exception {
+        BeanScopes scopes = new BeanScopes();
+        AtomicInteger created = new AtomicInteger();
+        Supplier<?> provider = scopes.register(BeanScopes.THREAD, Object.class, () -> {
+            created.incrementAndGet();
+            return new Object();
+        });
+
+        CountDownLatch cleaned = new CountDownLatch(1);
+        CompletableFuture<Boolean> recreated = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                Object bean = provider.get();
+                cleaned.await();
+                recreated.complete(bean != provider.get());
+            } catch (Throwable t) {
+                recreated.completeExceptionally(t);
+            }
+        });
+
+        thread.start();
+        while (created.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        scopes.cleanUp(); // called from another thread than the one owning the instance
+        cleaned.countDown();
+
+        Assertions.assertTrue(recreated.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, created.get());
+        thread.join();
+    }
+}
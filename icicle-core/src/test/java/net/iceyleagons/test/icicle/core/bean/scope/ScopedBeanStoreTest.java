@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.scope;
+
+import net.iceyleagons.icicle.core.beans.scope.Poolable;
+import net.iceyleagons.icicle.core.beans.scope.ScopedBeanStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 17, 2022
+ */
+public class ScopedBeanStoreTest {
+
+    @Test
+    @DisplayName("Instance per context")
+    public void testInstancePerContext() {
+        ScopedBeanStore<String> store = new ScopedBeanStore<>("test", 4);
+        store.register(PooledBean.class, PooledBean::new);
+
+        PooledBean first = store.get("first", PooledBean.class);
+        Assertions.assertSame(first, store.get("first", PooledBean.class));
+        Assertions.assertNotSame(first, store.get("second", PooledBean.class));
+        Assertions.assertEquals(2, store.getContextCount());
+    }
+
+    @Test
+    @DisplayName("Pooling of closed contexts")
+    public void testPooling() {
+        ScopedBeanStore<String> store = new ScopedBeanStore<>("test", 4);
+        store.register(PooledBean.class, PooledBean::new);
+
+        store.open("first");
+        PooledBean bean = store.getIfPresent("first", PooledBean.class);
+        Assertions.assertNotNull(bean);
+        bean.value = 10;
+
+        store.close("first");
+        Assertions.assertNull(store.getIfPresent("first", PooledBean.class));
+
+        PooledBean reused = store.get("second", PooledBean.class);
+        Assertions.assertSame(bean, reused);
+        Assertions.assertEquals(0, reused.value);
+    }
+
+    @Test
+    @DisplayName("Clearing the store")
+    public void testClear() {
+        ScopedBeanStore<String> store = new ScopedBeanStore<>("test", 4);
+        store.register(PooledBean.class, PooledBean::new);
+
+        PooledBean pooled = store.get("first", PooledBean.class);
+        store.close("first");
+        PooledBean open = store.get("second", PooledBean.class);
+        Assertions.assertSame(pooled, open);
+
+        store.get("third", PooledBean.class);
+        store.closeAll(key -> key.equals("third"));
+        Assertions.assertTrue(store.isOpen("second"));
+        Assertions.assertFalse(store.isOpen("third"));
+
+        store.clear();
+        Assertions.assertEquals(0, store.getContextCount());
+        Assertions.assertNotSame(open, store.get("fourth", PooledBean.class));
+    }
+
+    @Test
+    @DisplayName("Contexts managed by a module")
+    public void testManagedContexts() {
+        ScopedBeanStore<String> store = new ScopedBeanStore<>("test", 4, false);
+        store.register(PooledBean.class, PooledBean::new);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> store.get("first", PooledBean.class));
+        Assertions.assertFalse(store.isOpen("first"));
+
+        store.open("first");
+        Assertions.assertNotNull(store.get("first", PooledBean.class));
+
+        store.close("first");
+        Assertions.assertThrows(IllegalStateException.class, () -> store.get("first", PooledBean.class)); // late lookup after the player quit
+        Assertions.assertEquals(0, store.getContextCount());
+    }
+
+    static class PooledBean implements Poolable {
+        private int value;
+
+        @Override
+        public void reset() {
+            this.value = 0;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.bean.snapshot;
+
+import net.iceyleagons.icicle.core.beans.index.BeanIndex;
+import net.iceyleagons.icicle.core.beans.snapshot.StartupSnapshot;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class StartupSnapshotTest {
+
+    private static final String PACKAGE = "net.iceyleagons.test.icicle.core.bean.snapshot.jarred";
+
+    @TempDir
+    Path tempDir;
+
+    private static void writeJar(Path jar, String content) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new JarEntry(PACKAGE.replace('.', '/') + "/"));
+            out.closeEntry();
+
+            out.putNextEntry(new JarEntry(PACKAGE.replace('.', '/') + "/content.txt"));
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot of a jar root")
+    public void testJarRoot() throws Exception {
+        Path jar = tempDir.resolve("plugin.jar");
+        writeJar(jar, "first");
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, getClass().getClassLoader())) {
+            BeanIndex beanIndex = BeanIndex.load(PACKAGE, loader);
+            Assertions.assertTrue(beanIndex.getRoots().stream().anyMatch(root -> root.getProtocol().equals("jar")));
+            Assertions.assertEquals(jar.toRealPath(), StartupSnapshot.toPath(beanIndex.getRoots().get(0)).toRealPath());
+
+            String key = StartupSnapshot.calculateKey(beanIndex);
+            Assertions.assertNotNull(key);
+
+            Path file = StartupSnapshot.getFile(tempDir.resolve("snapshots"), key, beanIndex);
+            StartupSnapshot.write(file, key, Set.of(SnapshotBean.class), List.of(SnapshotBean.class));
+
+            StartupSnapshot snapshot = StartupSnapshot.load(file, key, beanIndex);
+            Assertions.assertNotNull(snapshot);
+            Assertions.assertEquals(List.of(SnapshotBean.class), snapshot.getCreationOrder());
+            Assertions.assertEquals(Set.of(SnapshotBean.class), snapshot.getAutoCreationTypes());
+        }
+
+        writeJar(jar, "second, changed");
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{jar.toUri().toURL()}, getClass().getClassLoader())) {
+            BeanIndex beanIndex = BeanIndex.load(PACKAGE, loader);
+            String key = StartupSnapshot.calculateKey(beanIndex);
+            Path file = StartupSnapshot.getFile(tempDir.resolve("snapshots"), key, beanIndex);
+
+            Assertions.assertNull(StartupSnapshot.load(file, key, beanIndex));
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshot file per application")
+    public void testFileNames() {
+        BeanIndex first = BeanIndex.load(PACKAGE + ".first");
+        BeanIndex second = BeanIndex.load(PACKAGE + ".first").merge(BeanIndex.load(PACKAGE + ".second"));
+        String key = "0123456789abcdef0123456789abcdef";
+
+        Assertions.assertNotEquals(StartupSnapshot.getFile(tempDir, key, first), StartupSnapshot.getFile(tempDir, key, second));
+    }
+
+    public static class SnapshotBean {
+        public SnapshotBean() {
+        }
+    }
+}
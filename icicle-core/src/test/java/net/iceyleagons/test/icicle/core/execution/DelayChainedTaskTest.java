@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.execution.PeriodicSchedule;
+import net.iceyleagons.icicle.core.execution.ScheduledTask;
+import net.iceyleagons.icicle.core.utils.ExecutionHandler;
+import net.iceyleagons.icicle.core.utils.ExecutionUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class DelayChainedTaskTest {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+    // a third-party handler implementing only the one-shot methods
+    private final ExecutionHandler handler = new ExecutionHandler() {
+        @Override
+        public <T> CompletableFuture<T> runSync(Callable<T> callable) {
+            return runSyncAfter(callable, TimeUnit.NANOSECONDS, 0);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> runSyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay) {
+            CompletableFuture<T> completableFuture = new CompletableFuture<>();
+            executor.schedule(() -> {
+                try {
+                    completableFuture.complete(callable.call());
+                } catch (Exception e) {
+                    completableFuture.completeExceptionally(e);
+                }
+            }, delay, timeUnit);
+
+            return completableFuture;
+        }
+
+        @Override
+        public <T> CompletableFuture<T> runAsync(Callable<T> callable) {
+            return runSync(callable);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> runAsyncAfter(Callable<T> callable, TimeUnit timeUnit, long delay) {
+            return runSyncAfter(callable, timeUnit, delay);
+        }
+    };
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Default periodic scheduling")
+    public void testPeriodic() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        ScheduledTask task = handler.scheduleSync(latch::countDown, PeriodicSchedule.every(5, TimeUnit.MILLISECONDS));
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(task.cancel());
+        Assertions.assertFalse(task.cancel());
+        Assertions.assertTrue(task.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Cancel, pause and reschedule")
+    public void testControl() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        ScheduledTask task = handler.scheduleAsync(executions::incrementAndGet, PeriodicSchedule.every(5, TimeUnit.MILLISECONDS).after(1, TimeUnit.HOURS));
+
+        Assertions.assertTrue(task.pause());
+        Assertions.assertTrue(task.isPaused());
+        Assertions.assertTrue(task.reschedule(0, 5, TimeUnit.MILLISECONDS));
+        Thread.sleep(50);
+        Assertions.assertEquals(0, executions.get()); // paused periodic tasks skip their executions
+
+        Assertions.assertTrue(task.resume());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executions.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertTrue(executions.get() >= 2);
+
+        Assertions.assertTrue(task.cancel());
+        int cancelledAt = executions.get();
+        Thread.sleep(50);
+        Assertions.assertTrue(executions.get() <= cancelledAt + 1); // one step may have been running already
+        Assertions.assertFalse(task.reschedule(0, 5, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("One-shot reschedule")
+    public void testOneShot() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        ScheduledTask task = handler.scheduleSync(latch::countDown, PeriodicSchedule.every(1, TimeUnit.HOURS).after(1, TimeUnit.HOURS));
+
+        Assertions.assertTrue(task.reschedule(1, 0, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!task.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertTrue(task.isDone());
+        Assertions.assertFalse(task.cancel());
+    }
+
+    @Test
+    @DisplayName("Debug handler handles")
+    public void testDebugHandler() {
+        AtomicInteger executions = new AtomicInteger();
+        ScheduledTask task = ExecutionUtils.debugHandler().scheduleSync(executions::incrementAndGet, PeriodicSchedule.every(1, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(1, executions.get());
+        Assertions.assertTrue(task.pause());
+        Assertions.assertTrue(task.isPaused());
+        Assertions.assertTrue(task.cancel());
+        Assertions.assertTrue(task.isCancelled());
+        Assertions.assertFalse(task.cancel());
+        Assertions.assertFalse(task.resume());
+    }
+}
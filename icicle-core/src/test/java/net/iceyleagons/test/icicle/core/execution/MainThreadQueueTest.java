@@ -0,0 +1,126 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.execution.MainThreadQueue;
+import net.iceyleagons.icicle.core.execution.TaskPriority;
+import net.iceyleagons.icicle.core.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+public class MainThreadQueueTest {
+
+    @Test
+    @DisplayName("Priority order")
+    public void testPriorities() {
+        MainThreadQueue queue = new MainThreadQueue(1, TimeUnit.SECONDS);
+        List<String> order = new ArrayList<>();
+
+        queue.submit(() -> order.add("low"), TaskPriority.LOW);
+        queue.submit(() -> order.add("normal"), TaskPriority.NORMAL);
+        queue.submit(() -> order.add("high"), TaskPriority.HIGH);
+
+        Assertions.assertEquals(3, queue.drain());
+        Assertions.assertEquals(List.of("high", "normal", "low"), order);
+        Assertions.assertEquals(0, queue.size());
+    }
+
+    @Test
+    @DisplayName("Budget carries work over")
+    public void testBudget() {
+        MainThreadQueue queue = new MainThreadQueue(0, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < 3; i++) {
+            queue.submit(() -> {
+            }, TaskPriority.NORMAL);
+        }
+
+        // the first task always runs
+        Assertions.assertEquals(1, queue.drain());
+        Assertions.assertEquals(2, queue.size());
+        Assertions.assertFalse(queue.submit(() -> "value", TaskPriority.HIGH).isDone());
+    }
+
+    @Test
+    @DisplayName("Carried over tasks are counted once")
+    public void testCarriedOverMetrics() {
+        MainThreadQueue queue = new MainThreadQueue(0, TimeUnit.NANOSECONDS);
+        MetricsRegistry registry = new MetricsRegistry();
+        queue.bindMetrics(registry);
+
+        for (int i = 0; i < 3; i++) {
+            queue.submit(() -> {
+            }, TaskPriority.NORMAL);
+        }
+
+        queue.drain();
+        Assertions.assertEquals(2, registry.counter("icicle_main_queue_tasks_carried_over").get());
+
+        // a new task overtakes the waiting ones, those are not counted again
+        queue.submit(() -> {
+        }, TaskPriority.HIGH);
+        queue.drain();
+        Assertions.assertEquals(2, registry.counter("icicle_main_queue_tasks_carried_over").get());
+
+        queue.submit(() -> {
+        }, TaskPriority.LOW);
+        queue.drain();
+        Assertions.assertEquals(3, registry.counter("icicle_main_queue_tasks_carried_over").get());
+
+        while (queue.size() > 0) queue.drain();
+        Assertions.assertEquals(5, registry.counter("icicle_main_queue_tasks_executed").get());
+    }
+
+    @Test
+    @DisplayName("Discarded tasks are not carried over")
+    public void testDiscardedMetrics() {
+        MainThreadQueue queue = new MainThreadQueue(0, TimeUnit.NANOSECONDS);
+        MetricsRegistry registry = new MetricsRegistry();
+        queue.bindMetrics(registry);
+
+        for (int i = 0; i < 3; i++) {
+            queue.submit(() -> {
+            }, TaskPriority.NORMAL);
+        }
+        Assertions.assertEquals(3, queue.discard(new RejectedExecutionException()));
+
+        queue.submit(() -> {
+        }, TaskPriority.NORMAL);
+        queue.submit(() -> {
+        }, TaskPriority.NORMAL);
+        queue.drain();
+        Assertions.assertEquals(1, registry.counter("icicle_main_queue_tasks_carried_over").get());
+    }
+}
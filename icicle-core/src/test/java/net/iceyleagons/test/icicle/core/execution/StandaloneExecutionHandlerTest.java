@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.execution.PeriodicSchedule;
+import net.iceyleagons.icicle.core.execution.ScheduledTask;
+import net.iceyleagons.icicle.core.execution.StandaloneExecutionHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+public class StandaloneExecutionHandlerTest {
+
+    private StandaloneExecutionHandler handler;
+
+    @BeforeEach
+    public void setup() {
+        handler = new StandaloneExecutionHandler("test", 100, 5, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterEach
+    public void shutdown() {
+        handler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Threading")
+    public void testThreads() throws Exception {
+        Assertions.assertTrue(handler.runSync(handler::isMainThread).get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(handler.runSyncAfter(handler::isMainThread, TimeUnit.MILLISECONDS, 20).get(5, TimeUnit.SECONDS));
+        Assertions.assertFalse(handler.runAsync(handler::isMainThread).get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(handler.getTickCount() > 0);
+    }
+
+    @Test
+    @DisplayName("Main-thread work submitted from the main thread")
+    public void testNestedSync() throws Exception {
+        // a value returning @Sync method called on the main thread blocks on the result of runSync
+        Assertions.assertTrue(handler.runSync(() -> handler.runSync(handler::isMainThread).join()).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Periodic task")
+    public void testPeriodic() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        ScheduledTask task = handler.scheduleSync(latch::countDown, PeriodicSchedule.every(10, TimeUnit.MILLISECONDS));
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(task.cancel());
+        Assertions.assertTrue(task.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Delayed tasks never run early")
+    public void testDelay() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            long start = System.nanoTime();
+            long end = handler.runSyncAfter(System::nanoTime, TimeUnit.MILLISECONDS, 15).get(5, TimeUnit.SECONDS);
+
+            Assertions.assertTrue(end - start >= TimeUnit.MILLISECONDS.toNanos(15));
+        }
+    }
+
+    @Test
+    @DisplayName("Shutdown")
+    public void testShutdown() throws Exception {
+        CountDownLatch blocking = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = handler.runSync(() -> {
+            blocking.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+
+        Assertions.assertTrue(blocking.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Object> queued = handler.runSync(Object::new);
+        CompletableFuture<Object> delayed = handler.runSyncAfter(Object::new, TimeUnit.HOURS, 1);
+        CompletableFuture<Object> delayedAsync = handler.runAsyncAfter(Object::new, TimeUnit.HOURS, 1);
+
+        handler.shutdown();
+        release.countDown();
+
+        Assertions.assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertRejected(queued);
+        assertRejected(delayed);
+        assertRejected(delayedAsync);
+
+        // submitted after the shutdown
+        assertRejected(handler.runSync(Object::new));
+        assertRejected(handler.runAsync(Object::new));
+        assertRejected(handler.runAsyncAfter(Object::new, TimeUnit.MILLISECONDS, 1));
+        assertRejected(handler.runSyncPeriodically(Object::new, PeriodicSchedule.every(10, TimeUnit.MILLISECONDS)));
+        Assertions.assertThrows(RejectedExecutionException.class, () -> handler.scheduleSync(() -> {}, PeriodicSchedule.every(10, TimeUnit.MILLISECONDS)));
+        Assertions.assertThrows(RejectedExecutionException.class, () -> handler.scheduleAsync(() -> {}, PeriodicSchedule.every(10, TimeUnit.MILLISECONDS)));
+    }
+
+    private static void assertRejected(CompletableFuture<?> completableFuture) {
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> completableFuture.get(5, TimeUnit.SECONDS));
+        Assertions.assertTrue(exception.getCause() instanceof RejectedExecutionException);
+    }
+}
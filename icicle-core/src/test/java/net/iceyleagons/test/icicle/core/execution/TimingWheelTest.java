@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.execution;
+
+import net.iceyleagons.icicle.core.execution.CatchUpPolicy;
+import net.iceyleagons.icicle.core.execution.ScheduledTask;
+import net.iceyleagons.icicle.core.execution.TimingWheel;
+import net.iceyleagons.icicle.core.execution.WheelTimer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class TimingWheelTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("Delayed task")
+    public void testDelay() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        AtomicInteger counter = new AtomicInteger();
+
+        long before = System.nanoTime();
+        wheel.schedule(counter::incrementAndGet, 10, 0, TimeUnit.MILLISECONDS);
+        long after = System.nanoTime();
+
+        Assertions.assertEquals(0, wheel.advance(before + 9 * MILLIS));
+        Assertions.assertEquals(1, wheel.advance(after + 12 * MILLIS));
+        Assertions.assertEquals(1, counter.get());
+        Assertions.assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cascading from higher levels")
+    public void testCascade() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        AtomicInteger counter = new AtomicInteger();
+
+        long before = System.nanoTime();
+        wheel.schedule(counter::incrementAndGet, 5, 0, TimeUnit.SECONDS);
+        wheel.schedule(counter::incrementAndGet, 2, 0, TimeUnit.HOURS);
+        long after = System.nanoTime();
+
+        for (long now = before; now < before + 4999 * MILLIS; now += 7 * MILLIS) {
+            wheel.advance(now);
+        }
+
+        Assertions.assertEquals(0, counter.get());
+        Assertions.assertEquals(1, wheel.advance(after + 5002 * MILLIS));
+        Assertions.assertEquals(1, wheel.size());
+
+        Assertions.assertEquals(0, wheel.advance(before + TimeUnit.MINUTES.toNanos(119)));
+        Assertions.assertEquals(1, wheel.advance(after + TimeUnit.HOURS.toNanos(2) + 2 * MILLIS));
+        Assertions.assertEquals(2, counter.get());
+    }
+
+    @Test
+    @DisplayName("Periodic task")
+    public void testPeriodic() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        AtomicInteger counter = new AtomicInteger();
+
+        long before = System.nanoTime();
+        wheel.schedule(counter::incrementAndGet, 10, 10, TimeUnit.MILLISECONDS, CatchUpPolicy.CATCH_UP);
+
+        // catching up processes the ticks one-by-one, so every period in between runs once
+        Assertions.assertEquals(3, wheel.advance(before + 39 * MILLIS));
+        Assertions.assertEquals(1, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Cancel, pause and reschedule")
+    public void testHandle() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        AtomicInteger counter = new AtomicInteger();
+
+        long before = System.nanoTime();
+        ScheduledTask periodic = wheel.schedule(counter::incrementAndGet, 10, 10, TimeUnit.MILLISECONDS);
+        ScheduledTask oneShot = wheel.schedule(counter::incrementAndGet, 5, 0, TimeUnit.MILLISECONDS);
+        ScheduledTask moved = wheel.schedule(counter::incrementAndGet, 5, 0, TimeUnit.MILLISECONDS);
+        long after = System.nanoTime();
+
+        Assertions.assertTrue(periodic.pause());
+        Assertions.assertTrue(oneShot.pause());
+        Assertions.assertTrue(moved.reschedule(1, 0, TimeUnit.HOURS));
+
+        Assertions.assertEquals(0, wheel.advance(before + 35 * MILLIS));
+        Assertions.assertEquals(2, wheel.size()); // the paused one-shot task is held outside of the wheel
+
+        Assertions.assertTrue(periodic.resume());
+        Assertions.assertTrue(oneShot.resume());
+        Assertions.assertEquals(2, wheel.advance(after + 42 * MILLIS));
+        Assertions.assertTrue(oneShot.isDone());
+
+        Assertions.assertTrue(periodic.cancel());
+        Assertions.assertFalse(periodic.cancel());
+        Assertions.assertEquals(0, wheel.advance(after + 100 * MILLIS));
+        Assertions.assertEquals(1, wheel.size());
+        Assertions.assertEquals(2, counter.get());
+    }
+
+    @Test
+    @DisplayName("Catch-up policies")
+    public void testCatchUpPolicies() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        AtomicInteger skip = new AtomicInteger();
+        AtomicInteger coalesce = new AtomicInteger();
+        AtomicInteger catchUp = new AtomicInteger();
+
+        long before = System.nanoTime();
+        wheel.schedule(skip::incrementAndGet, 10, 10, TimeUnit.MILLISECONDS, CatchUpPolicy.SKIP);
+        wheel.schedule(coalesce::incrementAndGet, 10, 10, TimeUnit.MILLISECONDS, CatchUpPolicy.COALESCE);
+        wheel.schedule(catchUp::incrementAndGet, 10, 10, TimeUnit.MILLISECONDS, CatchUpPolicy.CATCH_UP);
+        long after = System.nanoTime();
+
+        // the driver lags 5 periods behind
+        wheel.advance(before + 55 * MILLIS);
+        Assertions.assertEquals(1, skip.get());
+        Assertions.assertEquals(1, coalesce.get());
+        Assertions.assertEquals(5, catchUp.get());
+
+        // skipping keeps the phase (next at 60 ms), coalescing continues one period after the late execution (at 65 ms)
+        wheel.advance(after + 62 * MILLIS);
+        Assertions.assertEquals(2, skip.get());
+        Assertions.assertEquals(1, coalesce.get());
+    }
+
+    @Test
+    @DisplayName("Next wake-up")
+    public void testNextWakeUp() {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        Assertions.assertEquals(Long.MAX_VALUE, wheel.nextWakeUpNanos());
+
+        long before = System.nanoTime();
+        wheel.schedule(() -> {
+        }, 5, 0, TimeUnit.SECONDS);
+        Assertions.assertTrue(wheel.hasPendingChanges());
+        Assertions.assertTrue(wheel.nextWakeUpNanos() <= System.nanoTime()); // the driver has to pick up the change first
+
+        wheel.advance(before);
+        long wakeUp = wheel.nextWakeUpNanos();
+        long after = System.nanoTime();
+        Assertions.assertFalse(wheel.hasPendingChanges());
+        Assertions.assertTrue(wakeUp > before + 4 * MILLIS); // not woken up every tick
+        Assertions.assertTrue(wakeUp <= after + 5001 * MILLIS); // never later than the deadline
+
+        // advancing to the wake-up time never skips the task
+        for (int i = 0; i < 10 && wheel.size() > 0; i++) {
+            wheel.advance(Math.max(wheel.nextWakeUpNanos(), System.nanoTime()));
+        }
+        Assertions.assertEquals(0, wheel.size());
+
+        TimingWheel other = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        other.schedule(() -> {
+        }, 20, 0, TimeUnit.MILLISECONDS);
+        other.advance(System.nanoTime());
+        Assertions.assertTrue(other.nextWakeUpNanos() - System.nanoTime() <= 21 * MILLIS);
+    }
+
+    @Test
+    @DisplayName("Timer woken up by earlier tasks")
+    public void testTimerWakeUp() throws Exception {
+        WheelTimer timer = new WheelTimer("Icicle-TestTimer", 1, TimeUnit.MILLISECONDS);
+        CountDownLatch latch = new CountDownLatch(1);
+
+        try {
+            timer.schedule(() -> {
+            }, 1, 0, TimeUnit.HOURS);
+            Thread.sleep(20); // the timer thread goes to sleep until the first task
+
+            long start = System.nanoTime();
+            timer.schedule(latch::countDown, 10, 0, TimeUnit.MILLISECONDS);
+
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+            Assertions.assertTrue(System.nanoTime() - start >= 10 * MILLIS);
+        } finally {
+            timer.shutdown();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.metrics;
+
+import net.iceyleagons.icicle.core.metrics.MethodTimings;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class MethodTimingsTest {
+
+    private static final String PREFIX = MethodTimingsTest.class.getName();
+
+    @Test
+    @DisplayName("Removal by type")
+    public void testRemove() {
+        MethodTimings.record(PREFIX + ".measured(I)V", 10);
+        MethodTimings.record(PREFIX + ".measured(J)V", 20);
+        MethodTimings.record(PREFIX + "$Other.measured()V", 30);
+
+        // overloads are recorded separately
+        Assertions.assertEquals(1, MethodTimings.getHistograms().get(PREFIX + ".measured(I)V").snapshot().getCount());
+        Assertions.assertEquals(1, MethodTimings.getHistograms().get(PREFIX + ".measured(J)V").snapshot().getCount());
+
+        MethodTimings.remove(Collections.singletonList(MethodTimingsTest.class));
+        Assertions.assertFalse(MethodTimings.getHistograms().containsKey(PREFIX + ".measured(I)V"));
+        Assertions.assertFalse(MethodTimings.getHistograms().containsKey(PREFIX + ".measured(J)V"));
+        Assertions.assertTrue(MethodTimings.getHistograms().containsKey(PREFIX + "$Other.measured()V"));
+
+        MethodTimings.remove(Collections.singletonList(Other.class));
+        Assertions.assertFalse(MethodTimings.getHistograms().containsKey(PREFIX + "$Other.measured()V"));
+    }
+
+    private static final class Other {
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.performance;
+
+import net.iceyleagons.icicle.core.Application;
+import net.iceyleagons.icicle.core.performance.PerformanceLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class PerformanceLogTest {
+
+    private final Application application = createApplication();
+    private boolean wasEnabled;
+
+    private static Application createApplication() {
+        // only used as a key, the name of the trace process falls back to the class name
+        return (Application) Proxy.newProxyInstance(PerformanceLogTest.class.getClassLoader(), new Class<?>[]{Application.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TestApplication";
+                default:
+                    throw new UnsupportedOperationException();
+            }
+        });
+    }
+
+    @BeforeEach
+    public void enable() {
+        this.wasEnabled = PerformanceLog.isEnabled();
+        PerformanceLog.setEnabled(true);
+    }
+
+    @AfterEach
+    public void disable() {
+        PerformanceLog.clear(application);
+        PerformanceLog.setEnabled(wasEnabled);
+    }
+
+    @Test
+    @DisplayName("Nested records across threads")
+    public void testNestedRecords() throws Exception {
+        PerformanceLog.begin(application, "root", PerformanceLogTest.class);
+        PerformanceLog.begin(application, "child", PerformanceLogTest.class);
+
+        // sections of another thread do not nest into the open sections of this one
+        Thread worker = new Thread(() -> {
+            PerformanceLog.begin(application, "worker", PerformanceLogTest.class);
+            PerformanceLog.begin(application, "inner", PerformanceLogTest.class);
+            PerformanceLog.end(application);
+            PerformanceLog.end(application);
+        }, "Icicle-TestWorker");
+        worker.start();
+        worker.join();
+
+        PerformanceLog.end(application);
+        PerformanceLog.end(application);
+
+        Map<String, Map<String, Object>> events = getEvents(exportTrace());
+        Assertions.assertEquals(Thread.currentThread().getId(), ((Number) events.get("child").get("tid")).longValue());
+        Assertions.assertEquals(worker.getId(), ((Number) events.get("worker").get("tid")).longValue());
+        Assertions.assertEquals(worker.getId(), ((Number) events.get("inner").get("tid")).longValue());
+        assertContains(events.get("root"), events.get("child"));
+        assertContains(events.get("worker"), events.get("inner"));
+
+        String log = PerformanceLog.dumpExecutionLog(application);
+        Assertions.assertTrue(log.contains("{Icicle-TestWorker}"));
+        Assertions.assertTrue(log.indexOf(" -> child") > log.indexOf("root"));
+    }
+
+    @Test
+    @DisplayName("Sections open while switching are dropped")
+    public void testGeneration() throws Exception {
+        PerformanceLog.begin(application, "dropped", PerformanceLogTest.class);
+        PerformanceLog.setEnabled(false);
+        PerformanceLog.setEnabled(true);
+
+        PerformanceLog.begin(application, "kept", PerformanceLogTest.class);
+        PerformanceLog.end(application);
+        PerformanceLog.end(application); // nothing is open anymore
+
+        Map<String, Map<String, Object>> events = getEvents(exportTrace());
+        Assertions.assertTrue(events.containsKey("kept"));
+        Assertions.assertFalse(events.containsKey("dropped"));
+    }
+
+    @Test
+    @DisplayName("Well-formed Chrome trace")
+    public void testChromeTrace() throws Exception {
+        String name = "quoted \"name\"\n\twith \\ and \u0001";
+        PerformanceLog.begin(application, name, PerformanceLogTest.class);
+        PerformanceLog.end(application);
+
+        Map<?, ?> trace = (Map<?, ?>) new JsonParser(exportTrace()).parse();
+        Assertions.assertEquals("ms", trace.get("displayTimeUnit"));
+
+        Map<String, Object> event = getEvents(trace).get(name);
+        Assertions.assertNotNull(event);
+        Assertions.assertEquals("X", event.get("ph"));
+        Assertions.assertEquals("PerformanceLogTest", event.get("cat"));
+        Assertions.assertEquals(PerformanceLogTest.class.getName(), ((Map<?, ?>) event.get("args")).get("class"));
+        Assertions.assertTrue(((Number) event.get("dur")).doubleValue() >= 0);
+    }
+
+    private static void assertContains(Map<String, Object> parent, Map<String, Object> child) {
+        double start = ((Number) parent.get("ts")).doubleValue();
+        double end = start + ((Number) parent.get("dur")).doubleValue();
+        double childStart = ((Number) child.get("ts")).doubleValue();
+        double childEnd = childStart + ((Number) child.get("dur")).doubleValue();
+
+        Assertions.assertTrue(childStart >= start && childEnd <= end + 0.001); // rounded to nanoseconds
+    }
+
+    private static String exportTrace() throws IOException {
+        StringWriter writer = new StringWriter();
+        PerformanceLog.exportChromeTrace(writer);
+        return writer.toString();
+    }
+
+    private static Map<String, Map<String, Object>> getEvents(String trace) {
+        return getEvents((Map<?, ?>) new JsonParser(trace).parse());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> getEvents(Map<?, ?> trace) {
+        // complete events by name, the records of other applications (ex. left by other tests) are in the trace as well
+        Map<String, Map<String, Object>> events = new LinkedHashMap<>();
+        for (Object event : (List<?>) trace.get("traceEvents")) {
+            Map<String, Object> map = (Map<String, Object>) event;
+            if ("X".equals(map.get("ph")) && "PerformanceLogTest".equals(map.get("cat"))) {
+                events.put((String) map.get("name"), map);
+            }
+        }
+
+        return events;
+    }
+
+    /**
+     * Minimal strict JSON parser, fails on anything that is not well-formed.
+     */
+    private static final class JsonParser {
+        private final String json;
+        private int index;
+
+        private JsonParser(String json) {
+            this.json = json;
+        }
+
+        private Object parse() {
+            Object value = parseValue();
+            skipWhitespace();
+            Assertions.assertEquals(json.length(), index, "Trailing characters");
+            return value;
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            char c = peek();
+
+            if (c == '{') return parseObject();
+            if (c == '[') return parseArray();
+            if (c == '"') return parseString();
+            if (c == '-' || Character.isDigit(c)) return parseNumber();
+            if (json.startsWith("true", index)) return literal("true", Boolean.TRUE);
+            if (json.startsWith("false", index)) return literal("false", Boolean.FALSE);
+            if (json.startsWith("null", index)) return literal("null", null);
+
+            return Assertions.fail("Unexpected character at " + index + ": " + c);
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                index++;
+                return result;
+            }
+
+            do {
+                skipWhitespace();
+                String key = parseString();
+                skipWhitespace();
+                expect(':');
+                result.put(key, parseValue());
+                skipWhitespace();
+            } while (tryConsume(','));
+
+            expect('}');
+            return result;
+        }
+
+        private List<Object> parseArray() {
+            List<Object> result = new ArrayList<>();
+            expect('[');
+            skipWhitespace();
+            if (peek() == ']') {
+                index++;
+                return result;
+            }
+
+            do {
+                result.add(parseValue());
+                skipWhitespace();
+            } while (tryConsume(','));
+
+            expect(']');
+            return result;
+        }
+
+        private String parseString() {
+            StringBuilder sb = new StringBuilder();
+            expect('"');
+
+            for (char c = next(); c != '"'; c = next()) {
+                Assertions.assertTrue(c >= 0x20, "Unescaped control character at " + (index - 1));
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+
+                char escaped = next();
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        sb.append(escaped);
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        sb.append((char) Integer.parseInt(json.substring(index, index + 4), 16));
+                        index += 4;
+                        break;
+                    default:
+                        Assertions.fail("Invalid escape at " + (index - 1) + ": " + escaped);
+                }
+            }
+
+            return sb.toString();
+        }
+
+        private Number parseNumber() {
+            int start = index;
+            while (index < json.length() && "+-0123456789.eE".indexOf(json.charAt(index)) != -1) {
+                index++;
+            }
+
+            String number = json.substring(start, index);
+            Assertions.assertTrue(number.matches("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?"), "Invalid number: " + number);
+            return Double.parseDouble(number);
+        }
+
+        private Object literal(String literal, Object value) {
+            index += literal.length();
+            return value;
+        }
+
+        private void skipWhitespace() {
+            while (index < json.length() && " \t\r\n".indexOf(json.charAt(index)) != -1) {
+                index++;
+            }
+        }
+
+        private boolean tryConsume(char c) {
+            if (index < json.length() && json.charAt(index) == c) {
+                index++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void expect(char c) {
+            Assertions.assertEquals(c, next(), "Unexpected character at " + (index - 1));
+        }
+
+        private char peek() {
+            Assertions.assertTrue(index < json.length(), "Unexpected end of input");
+            return json.charAt(index);
+        }
+
+        private char next() {
+            char c = peek();
+            index++;
+            return c;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.proxy;
+
+import net.iceyleagons.icicle.core.proxy.interceptor.ExecutionResults;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class ExecutionResultsTest {
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return ExecutionResultsTest.class.getDeclaredMethod(name);
+    }
+
+    @Test
+    @DisplayName("Futures are returned without blocking")
+    public void testFuture() throws Exception {
+        CompletableFuture<Object> dispatched = new CompletableFuture<>();
+        Object result = ExecutionResults.adapt(method("futureMethod"), dispatched);
+
+        Assertions.assertTrue(result instanceof CompletableFuture);
+        Assertions.assertFalse(((CompletableFuture<?>) result).isDone());
+
+        dispatched.complete(CompletableFuture.completedFuture("value"));
+        Assertions.assertEquals("value", ((CompletableFuture<?>) result).join());
+    }
+
+    @Test
+    @DisplayName("Void methods return immediately")
+    public void testVoid() throws Exception {
+        Assertions.assertNull(ExecutionResults.adapt(method("voidMethod"), new CompletableFuture<>()));
+    }
+
+    @Test
+    @DisplayName("Exceptions are propagated")
+    public void testExceptions() throws Exception {
+        IllegalStateException exception = new IllegalStateException("failed");
+
+        CompletableFuture<Object> dispatched = new CompletableFuture<>();
+        CompletableFuture<?> result = (CompletableFuture<?>) ExecutionResults.adapt(method("futureMethod"), dispatched);
+        dispatched.completeExceptionally(exception);
+        Assertions.assertTrue(result.isCompletedExceptionally());
+
+        Assertions.assertSame(exception, Assertions.assertThrows(IllegalStateException.class,
+                () -> ExecutionResults.adapt(method("valueMethod"), CompletableFuture.failedFuture(exception))));
+    }
+
+    CompletableFuture<String> futureMethod() {
+        return null;
+    }
+
+    void voidMethod() {
+    }
+
+    String valueMethod() {
+        return null;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.core.proxy;
+
+import net.iceyleagons.icicle.core.Icicle;
+import net.iceyleagons.icicle.core.proxy.ByteBuddyProxyHandler;
+import net.iceyleagons.icicle.core.proxy.swap.SwappableBeanHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class SwappableProxyTest {
+
+    @BeforeAll
+    public static void setupIcicle() {
+        if (!Icicle.LOADED)
+            Icicle.loadIcicle();
+    }
+
+    @Test
+    @DisplayName("Calls are forwarded to the current target")
+    public void testSwap() throws Exception {
+        Target first = new Target("first");
+        Target second = new Target("second");
+        SwappableBeanHandler handler = new SwappableBeanHandler(first);
+        Assertions.assertNull(handler.getProxy());
+
+        Target proxy = new ByteBuddyProxyHandler().createSwappableBean(Target.class, handler);
+        Assertions.assertSame(proxy, handler.getProxy());
+        Assertions.assertSame(first, handler.getTarget());
+        Assertions.assertNotSame(Target.class, proxy.getClass());
+        Assertions.assertEquals("first: 5", proxy.describe(2, 3));
+
+        Assertions.assertSame(first, handler.swap(second));
+        Assertions.assertSame(second, handler.getTarget());
+        Assertions.assertEquals("second: 5", proxy.describe(2, 3));
+        Assertions.assertEquals("second", proxy.getName());
+    }
+
+    @Test
+    @DisplayName("Exceptions are not wrapped")
+    public void testExceptions() throws Exception {
+        Target proxy = new ByteBuddyProxyHandler().createSwappableBean(Target.class, new SwappableBeanHandler(new Target("target")));
+
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class, proxy::fail);
+        Assertions.assertEquals("target", exception.getMessage());
+    }
+
+    public static class Target {
+
+        private final String name;
+
+        public Target(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String describe(int a, int b) {
+            return name + ": " + (a + b);
+        }
+
+        public void fail() {
+            throw new IllegalArgumentException(name);
+        }
+    }
+}
@@ -46,12 +46,20 @@ dependencies {
 
     extraLibs("com.amihaiemil.web:eo-yaml:5.2.2")
     configurations.implementation.get().extendsFrom(extraLibs)
+
+    testImplementation("com.google.testing.compile:compile-testing:0.19")
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.7.0")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.7.0")
 }
 
 tasks.compileJava {
     options.encoding = "UTF-8"
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
 tasks.jar {
     from(extraLibs.map { if (it.isDirectory) it else zipTree(it) })
 }
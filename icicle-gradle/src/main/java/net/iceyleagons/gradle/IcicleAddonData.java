@@ -44,5 +44,13 @@ public class IcicleAddonData {
     private String version = "0.1-SNAPSHOT";
     @Setter
     private List<String> developers = new ArrayList<>(1);
+    @Setter
+    private boolean generateBeanIndex = true;
+    /**
+     * Custom annotations (meta-annotated with Icicle ones) the bean index processor should be triggered by,
+     * so the types using only these are not dropped from the index on incremental builds.
+     */
+    @Setter
+    private List<String> beanIndexAnnotations = new ArrayList<>(1);
 
 }
@@ -27,9 +27,12 @@ package net.iceyleagons.gradle;
 import com.amihaiemil.eoyaml.Yaml;
 import com.amihaiemil.eoyaml.YamlMappingBuilder;
 import com.amihaiemil.eoyaml.YamlNode;
+import kotlin.Unit;
+import kotlin.jvm.functions.Function1;
 import lombok.SneakyThrows;
 import lombok.val;
 import lombok.var;
+import net.iceyleagons.gradle.processor.BeanIndexProcessor;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
@@ -65,11 +68,57 @@ public class IciclePlugin implements Plugin<Project> {
         // Icicle.yml generation setup
         setupIcicleGeneration(target, addonData);
 
+        // Compile-time bean index, so the core does not have to scan the jar with Reflections at startup
+        setupBeanIndex(target, addonData);
+
         // Set the project encoding to UTF-8 & Minecraft-specific: modify plugin.yml to include Icicle in it's dependencies
         setupUTF8(target);
         setupPluginYML(target);
     }
 
+    private void setupBeanIndex(Project target, IcicleAddonData addonData) {
+        target.afterEvaluate(project -> {
+            if (!addonData.isGenerateBeanIndex()) return;
+
+            // The processor is shipped inside this plugin's jar, so there is no separate artifact to resolve.
+            val pluginJar = project.files(IciclePlugin.class.getProtectionDomain().getCodeSource().getLocation());
+            val annotations = String.join(",", addonData.getBeanIndexAnnotations());
+
+            if (project.getPluginManager().hasPlugin("org.jetbrains.kotlin.kapt")) {
+                // kapt runs the processors for both the Java and the Kotlin sources (javac runs with -proc:none then)
+                project.getDependencies().add("kapt", pluginJar);
+                if (!annotations.isEmpty()) addKaptArgument(project, BeanIndexProcessor.ANNOTATIONS_OPTION, annotations);
+                return;
+            }
+
+            project.getDependencies().add("annotationProcessor", pluginJar);
+            val compilerArgs = ((JavaCompile) project.getTasks().getByName("compileJava")).getOptions().getCompilerArgs();
+            if (!annotations.isEmpty()) compilerArgs.add("-A" + BeanIndexProcessor.ANNOTATIONS_OPTION + "=" + annotations);
+
+            // javac does not see the Kotlin sources, the core must still scan the jar for them
+            if (project.getPluginManager().hasPlugin("org.jetbrains.kotlin.jvm")) {
+                compilerArgs.add("-A" + BeanIndexProcessor.PARTIAL_OPTION + "=true");
+            }
+        });
+    }
+
+    /**
+     * Calls kapt { arguments { arg(name, value) } }. The Kotlin Gradle plugin is not a dependency of this plugin,
+     * so its extension can only be reached reflectively.
+     */
+    @SneakyThrows
+    private void addKaptArgument(Project target, String name, String value) {
+        val kapt = target.getExtensions().getByName("kapt");
+        kapt.getClass().getMethod("arguments", Function1.class).invoke(kapt, (Function1<Object, Unit>) arguments -> {
+            try {
+                arguments.getClass().getMethod("arg", Object.class, Object[].class).invoke(arguments, name, new Object[]{value});
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not pass " + name + " to kapt", e);
+            }
+            return Unit.INSTANCE;
+        });
+    }
+
     private void setupPluginYML(Project target) {
         target.getTasks().getByName("processResources").doFirst(task -> {
             try {
@@ -0,0 +1,294 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.gradle.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Annotation processor writing the compile-time bean index of an Icicle addon/plugin.
+ * <p>
+ * The index lists every annotated type of the compilation together with its annotations and direct supertypes, and the
+ * meta-annotation hierarchy of every annotation reachable from them (including the ones coming from other jars, like @Service).
+ * At runtime the core reads this file instead of scanning the jar with Reflections.
+ * <p>
+ * The processor is aggregating, so on incremental builds Gradle only hands it the types using one of its supported annotations:
+ * the annotations of Icicle, and the ones listed in the {@value #ANNOTATIONS_OPTION} option (comma separated, for custom
+ * annotations meta-annotated with Icicle ones). Types without any of these are not indexed.
+ * Using an annotation, that is meta-annotated with an Icicle one but not listed in that option, fails the compilation,
+ * because the types using it would silently disappear from the index on the next incremental build.
+ * <p>
+ * Unlike classpath scanning, the index does not contain the unannotated subtypes of annotated types
+ * (a warning is emitted for them): beans have to be annotated themselves.
+ * <p>
+ * Only Java sources are visible to annotation processors. Kotlin sources are covered when the processor runs through kapt,
+ * otherwise the {@value #PARTIAL_OPTION} option must be set, so the index is marked partial, and the core still scans the jar.
+ * <p>
+ * Format (one record per line, tab separated, lists are comma separated):
+ * <pre>
+ * T    binaryName    annotations    supertypes
+ * A    binaryName    meta-annotations
+ * P    (the index does not cover every source of the jar)
+ * </pre>
+ */
+public class BeanIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Must be kept in sync with BeanIndex.INDEX_LOCATION in icicle-core.
+     */
+    public static final String INDEX_LOCATION = "META-INF/icicle/bean-index";
+    public static final String INDEX_HEADER = "# icicle bean index v1";
+    public static final String ANNOTATIONS_OPTION = "icicle.index.annotations";
+    public static final String PARTIAL_OPTION = "icicle.index.partial";
+    private static final String ICICLE_ANNOTATIONS = "net.iceyleagons.icicle.*";
+    private static final String ICICLE_PACKAGE = "net.iceyleagons.icicle.";
+
+    private final Map<String, String> types = new TreeMap<>();
+    private final Map<String, String> annotations = new TreeMap<>();
+    private final Set<String> reportedAnnotations = new HashSet<>();
+
+    private static String join(List<String> list) {
+        return list.isEmpty() ? "-" : String.join(",", list);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> supported = new HashSet<>();
+        supported.add(ICICLE_ANNOTATIONS);
+
+        String custom = processingEnv == null ? null : processingEnv.getOptions().get(ANNOTATIONS_OPTION);
+        if (custom != null) {
+            for (String annotation : custom.split(",")) {
+                if (!annotation.trim().isEmpty()) {
+                    supported.add(annotation.trim());
+                }
+            }
+        }
+
+        return Collections.unmodifiableSet(supported);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return new HashSet<>(Arrays.asList(ANNOTATIONS_OPTION, PARTIAL_OPTION));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> set, RoundEnvironment roundEnvironment) {
+        for (Element rootElement : roundEnvironment.getRootElements()) {
+            visit(rootElement);
+        }
+
+        if (roundEnvironment.processingOver()) {
+            writeIndex();
+        }
+
+        return false; // we only observe, other processors (lombok for ex.) may still claim these annotations
+    }
+
+    private void visit(Element element) {
+        if (!(element instanceof TypeElement)) return;
+        TypeElement type = (TypeElement) element;
+
+        if (type.getKind() == ElementKind.ANNOTATION_TYPE) {
+            visitAnnotation(type);
+        } else {
+            List<String> typeAnnotations = new ArrayList<>(2);
+            for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+                TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+
+                typeAnnotations.add(getName(annotation));
+                visitAnnotation(annotation);
+                checkSupported(annotation, type);
+            }
+
+            List<String> superTypes = new ArrayList<>(2);
+            addSuperType(type.getSuperclass(), superTypes);
+            for (TypeMirror anInterface : type.getInterfaces()) {
+                addSuperType(anInterface, superTypes);
+            }
+
+            if (!typeAnnotations.isEmpty()) { // unannotated types would be dropped by the next incremental build anyway
+                types.put(getName(type), join(typeAnnotations) + "\t" + join(superTypes));
+            } else if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)) {
+                checkSuperTypes(type);
+            }
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            visit(enclosed);
+        }
+    }
+
+    private void visitAnnotation(TypeElement annotation) {
+        String name = getName(annotation);
+        if (annotations.containsKey(name) || name.startsWith("java.lang.annotation.")) return;
+
+        annotations.put(name, ""); // placeholder, so recursive meta-annotations (@Documented on itself for ex.) won't loop
+
+        List<String> metaAnnotations = new ArrayList<>(2);
+        for (AnnotationMirror mirror : annotation.getAnnotationMirrors()) {
+            TypeElement meta = (TypeElement) mirror.getAnnotationType().asElement();
+            String metaName = getName(meta);
+            if (metaName.startsWith("java.lang.annotation.")) continue;
+
+            metaAnnotations.add(metaName);
+            visitAnnotation(meta);
+        }
+
+        annotations.put(name, join(metaAnnotations));
+    }
+
+    /**
+     * Fails the compilation if the annotation is meta-annotated with an Icicle annotation, but the processor does not support it:
+     * incremental builds would not hand the types using it to the processor, so they would be missing from the index.
+     */
+    private void checkSupported(TypeElement annotation, TypeElement user) {
+        String name = annotation.getQualifiedName().toString();
+        if (name.startsWith(ICICLE_PACKAGE) || getSupportedAnnotationTypes().contains(name)) return;
+        if (!isIcicleAnnotation(annotation, new HashSet<>()) || !reportedAnnotations.add(name)) return;
+
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "@" + name + " is meta-annotated with an Icicle annotation, " +
+                "but it is not listed in the " + ANNOTATIONS_OPTION + " option (beanIndexAnnotations of the icicle extension). " +
+                "Types using it would be missing from the bean index after incremental builds.", user);
+    }
+
+    /**
+     * Warns about an unannotated class extending/implementing a type annotated with an Icicle annotation: classpath scanning used to find these,
+     * but they are not part of the index.
+     */
+    private void checkSuperTypes(TypeElement type) {
+        Set<TypeElement> visited = new HashSet<>();
+        Deque<TypeMirror> stack = new ArrayDeque<>();
+        stack.push(type.getSuperclass());
+        type.getInterfaces().forEach(stack::push);
+
+        while (!stack.isEmpty()) {
+            TypeMirror typeMirror = stack.pop();
+            if (typeMirror.getKind() != TypeKind.DECLARED) continue;
+
+            TypeElement superType = (TypeElement) ((DeclaredType) typeMirror).asElement();
+            if (!visited.add(superType)) continue;
+
+            for (AnnotationMirror mirror : superType.getAnnotationMirrors()) {
+                TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+
+                if (isIcicleAnnotation(annotation, new HashSet<>())) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, type.getQualifiedName() + " is not annotated, " +
+                            "so it is not part of the bean index, although " + superType.getQualifiedName() + " is annotated with @" +
+                            annotation.getQualifiedName() + ". Annotate it, if it should be found as well.", type);
+                    return;
+                }
+            }
+
+            stack.push(superType.getSuperclass());
+            superType.getInterfaces().forEach(stack::push);
+        }
+    }
+
+    private boolean isIcicleAnnotation(TypeElement annotation, Set<String> visited) {
+        String name = annotation.getQualifiedName().toString();
+        if (name.startsWith(ICICLE_PACKAGE)) return true;
+        if (name.startsWith("java.lang.annotation.") || !visited.add(name)) return false;
+
+        for (AnnotationMirror mirror : annotation.getAnnotationMirrors()) {
+            if (isIcicleAnnotation((TypeElement) mirror.getAnnotationType().asElement(), visited)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void addSuperType(TypeMirror typeMirror, List<String> superTypes) {
+        if (typeMirror.getKind() != TypeKind.DECLARED) return;
+
+        TypeElement element = (TypeElement) ((DeclaredType) typeMirror).asElement();
+        String name = getName(element);
+        if (!name.equals("java.lang.Object")) {
+            superTypes.add(name);
+        }
+    }
+
+    private String getName(TypeElement typeElement) {
+        return processingEnv.getElementUtils().getBinaryName(typeElement).toString();
+    }
+
+    private void writeIndex() {
+        if (types.isEmpty() && annotations.isEmpty()) return;
+
+        try {
+            FileObject fileObject = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+
+            try (Writer writer = fileObject.openWriter()) {
+                writer.write(INDEX_HEADER);
+                writer.write('\n');
+
+                if (Boolean.parseBoolean(processingEnv.getOptions().get(PARTIAL_OPTION))) {
+                    writer.write("P\n");
+                }
+
+                for (Map.Entry<String, String> entry : annotations.entrySet()) {
+                    writer.write("A\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+                }
+
+                for (Map.Entry<String, String> entry : types.entrySet()) {
+                    writer.write("T\t" + entry.getKey() + "\t" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Could not write Icicle bean index: " + e.getMessage());
+        }
+    }
+}
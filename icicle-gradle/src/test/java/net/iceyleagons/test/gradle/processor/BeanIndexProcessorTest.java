@@ -0,0 +1,152 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.gradle.processor;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import net.iceyleagons.gradle.processor.BeanIndexProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+
+import static com.google.testing.compile.CompilationSubject.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+public class BeanIndexProcessorTest {
+
+    private static final JavaFileObject AUTO_CREATE = JavaFileObjects.forSourceLines("net.iceyleagons.icicle.stub.AutoCreate",
+            "package net.iceyleagons.icicle.stub;",
+            "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)",
+            "public @interface AutoCreate {}");
+
+    private static final JavaFileObject SERVICE = JavaFileObjects.forSourceLines("net.iceyleagons.icicle.stub.Service",
+            "package net.iceyleagons.icicle.stub;",
+            "@AutoCreate",
+            "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)",
+            "public @interface Service {}");
+
+    private static final JavaFileObject MY_SERVICE = JavaFileObjects.forSourceLines("com.example.MyService",
+            "package com.example;",
+            "@net.iceyleagons.icicle.stub.Service",
+            "public class MyService implements Runnable {",
+            "    public void run() {}",
+            "    public static class Unannotated extends MyService {}",
+            "}");
+
+    private static final JavaFileObject PLAIN = JavaFileObjects.forSourceLines("com.example.Plain",
+            "package com.example;",
+            "public class Plain implements Runnable {",
+            "    public void run() {}",
+            "}");
+
+    private static String getIndex(Compilation compilation) throws IOException {
+        assertThat(compilation).succeeded();
+        return compilation.generatedFile(StandardLocation.CLASS_OUTPUT, "", BeanIndexProcessor.INDEX_LOCATION)
+                .orElseThrow(() -> new AssertionError("No bean index has been generated"))
+                .getCharContent(false).toString();
+    }
+
+    @Test
+    @DisplayName("Annotated types and their annotation hierarchy")
+    public void testIndex() throws IOException {
+        Compilation compilation = javac().withProcessors(new BeanIndexProcessor()).compile(AUTO_CREATE, SERVICE, MY_SERVICE, PLAIN);
+        String index = getIndex(compilation);
+
+        Assertions.assertTrue(index.startsWith(BeanIndexProcessor.INDEX_HEADER + "\n"));
+        Assertions.assertTrue(index.contains("A\tnet.iceyleagons.icicle.stub.Service\tnet.iceyleagons.icicle.stub.AutoCreate\n"));
+        Assertions.assertTrue(index.contains("T\tcom.example.MyService\tnet.iceyleagons.icicle.stub.Service\tjava.lang.Runnable\n"));
+
+        // incremental builds would not hand these to the processor, so they must not be indexed by full builds either
+        Assertions.assertFalse(index.contains("com.example.Plain"));
+        Assertions.assertFalse(index.contains("com.example.MyService$Unannotated"));
+        Assertions.assertFalse(index.contains("\nP\n"));
+
+        // classpath scanning found the unannotated subtypes, so the user is warned about them
+        assertThat(compilation).hadWarningContaining("com.example.MyService.Unannotated is not annotated");
+        Assertions.assertEquals(1, compilation.warnings().size());
+    }
+
+    @Test
+    @DisplayName("Unsupported stereotypes fail the compilation")
+    public void testUnsupportedStereotype() throws IOException {
+        JavaFileObject stereotype = JavaFileObjects.forSourceLines("com.example.Stereotype",
+                "package com.example;",
+                "@net.iceyleagons.icicle.stub.Service",
+                "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)",
+                "public @interface Stereotype {}");
+        JavaFileObject bean = JavaFileObjects.forSourceLines("com.example.StereotypeBean",
+                "package com.example;",
+                "@Stereotype",
+                "public class StereotypeBean {}");
+
+        Compilation failed = javac().withProcessors(new BeanIndexProcessor()).compile(AUTO_CREATE, SERVICE, stereotype, bean);
+        assertThat(failed).failed();
+        assertThat(failed).hadErrorContaining("@com.example.Stereotype is meta-annotated with an Icicle annotation");
+
+        String index = getIndex(javac().withProcessors(new BeanIndexProcessor())
+                .withOptions("-A" + BeanIndexProcessor.ANNOTATIONS_OPTION + "=com.example.Stereotype")
+                .compile(AUTO_CREATE, SERVICE, stereotype, bean));
+        Assertions.assertTrue(index.contains("T\tcom.example.StereotypeBean\tcom.example.Stereotype\t-\n"));
+    }
+
+    @Test
+    @DisplayName("Supported annotation types")
+    public void testSupportedAnnotationTypes() {
+        BeanIndexProcessor processor = new BeanIndexProcessor();
+        Assertions.assertFalse(processor.getSupportedAnnotationTypes().contains("*"));
+
+        JavaFileObject custom = JavaFileObjects.forSourceLines("com.example.Custom",
+                "package com.example;",
+                "@net.iceyleagons.icicle.stub.AutoCreate",
+                "public @interface Custom {}");
+
+        Compilation compilation = javac().withProcessors(processor)
+                .withOptions("-A" + BeanIndexProcessor.ANNOTATIONS_OPTION + "=com.example.Custom, com.example.Other")
+                .compile(AUTO_CREATE, custom);
+
+        assertThat(compilation).succeededWithoutWarnings(); // the options are declared as supported
+        Assertions.assertTrue(processor.getSupportedAnnotationTypes().contains("com.example.Custom"));
+        Assertions.assertTrue(processor.getSupportedAnnotationTypes().contains("com.example.Other"));
+    }
+
+    @Test
+    @DisplayName("Partial index")
+    public void testPartial() throws IOException {
+        String index = getIndex(javac().withProcessors(new BeanIndexProcessor())
+                .withOptions("-A" + BeanIndexProcessor.PARTIAL_OPTION + "=true")
+                .compile(AUTO_CREATE, SERVICE, MY_SERVICE));
+
+        Assertions.assertTrue(index.startsWith(BeanIndexProcessor.INDEX_HEADER + "\nP\n"));
+    }
+}
@@ -39,14 +39,24 @@ repositories {
 dependencies {
     implementation(project(":icicle-core"))
     implementation(project(":icicle-utilities"))
+    implementation("net.bytebuddy:byte-buddy:1.11.15")
     shadow(kotlin("stdlib"))
+    shadow("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.6.0")
+
+    testImplementation("org.jetbrains.kotlinx:kotlinx-coroutines-core:1.6.0")
+    testImplementation("org.junit.jupiter:junit-jupiter-api:5.7.0")
+    testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.7.0")
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 icicle {
     name = "Standard Kotlin"
 
     dependencyNotation = "net.iceyleagons:icicle-addon-kotlin:$version"
-    description = "Contains standard methods/libraries for speeding up Kotlin development."
+    description = "Contains standard methods/libraries (and coroutine support) for speeding up Kotlin development."
     version = project.version.toString()
     developers = listOf("Gabe")
 
@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import kotlinx.coroutines.CoroutineDispatcher
+import net.iceyleagons.icicle.core.utils.ExecutionHandler
+import java.util.concurrent.Callable
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * Dispatches coroutines to the async threads of an [ExecutionHandler], using at most [parallelism] of them at once.
+ *
+ * Dispatched blocks are queued and drained by up to [parallelism] workers (each one a single [ExecutionHandler.runAsync] task),
+ * so a burst of resumed coroutines does not become a burst of pool threads.
+ * Suspended coroutines (ex. waiting for I/O) do not occupy a worker at all.
+ *
+ * If a worker cannot be started, or it's discarded without running (ex. the plugin is already disabled), the queued coroutines are cancelled
+ * and resumed on [kotlinx.coroutines.Dispatchers.IO], so they can run their finally blocks.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+class AsyncDispatcher(
+    private val executionHandler: ExecutionHandler,
+    val parallelism: Int = DEFAULT_PARALLELISM
+) : CoroutineDispatcher() {
+
+    private val queue = ConcurrentLinkedQueue<Task>()
+    private val workers = AtomicInteger()
+
+    init {
+        require(parallelism > 0) { "Parallelism must be positive, got $parallelism" }
+    }
+
+    override fun dispatch(context: CoroutineContext, block: Runnable) {
+        val task = Task(context, block)
+        queue.add(task)
+
+        try {
+            startWorker()
+        } catch (e: RuntimeException) {
+            if (queue.remove(task)) {
+                rejectDispatch(context, block, REJECTED, e)
+            }
+        }
+    }
+
+    private fun startWorker() {
+        while (queue.isNotEmpty()) {
+            val current = workers.get()
+            if (current >= parallelism) return // a running worker will pick the block up
+
+            if (workers.compareAndSet(current, current + 1)) {
+                val started = AtomicBoolean()
+                try {
+                    executionHandler.runAsync(Callable { started.set(true); work() })
+                        .whenComplete { _, e -> if (e != null && !started.get()) onWorkerDiscarded(e) }
+                } catch (e: RuntimeException) {
+                    workers.decrementAndGet()
+                    throw e
+                }
+                return
+            }
+        }
+    }
+
+    private fun onWorkerDiscarded(cause: Throwable) {
+        workers.decrementAndGet()
+
+        while (true) {
+            val task = queue.poll() ?: break
+            rejectDispatch(task.context, task.block, REJECTED, cause)
+        }
+    }
+
+    private fun work() {
+        try {
+            while (true) {
+                val task = queue.poll() ?: break
+                task.block.run()
+            }
+        } finally {
+            workers.decrementAndGet()
+            // a block may have been queued after the last poll, but before the decrement
+            if (queue.isNotEmpty()) startWorker()
+        }
+    }
+
+    override fun toString(): String = "Icicle.Async[parallelism=$parallelism]"
+
+    private class Task(val context: CoroutineContext, val block: Runnable)
+
+    companion object {
+        private const val REJECTED = "Async executor rejected the coroutine"
+
+        /**
+         * Can be changed with -Dicicle.coroutines.parallelism=<threads>
+         */
+        @JvmField
+        val DEFAULT_PARALLELISM: Int = Integer.getInteger("icicle.coroutines.parallelism", 64)
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.delay
+import net.bytebuddy.implementation.bind.annotation.Origin
+import net.bytebuddy.implementation.bind.annotation.RuntimeType
+import net.bytebuddy.implementation.bind.annotation.SuperCall
+import net.iceyleagons.icicle.core.annotations.execution.extra.After
+import java.lang.reflect.Method
+import java.util.concurrent.Callable
+
+/**
+ * Runs the intercepted functions returning [Deferred] in [scope] and returns immediately with a [Deferred],
+ * which completes with the result of the [Deferred] returned by the function (or exceptionally if the function fails).
+ *
+ * @After delays the body (without blocking), @Periodically is not supported for these functions.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+class DeferredDelegation(private val scope: CoroutineScope) {
+
+    @RuntimeType
+    fun run(@SuperCall callable: Callable<*>, @Origin method: Method): Any {
+        val after = method.getAnnotation(After::class.java)
+        val delayMillis = after?.unit?.toMillis(after.delay) ?: 0L
+
+        return scope.async {
+            if (delayMillis > 0) delay(delayMillis)
+            (callable.call() as Deferred<*>?)?.await()
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import net.bytebuddy.description.method.MethodDescription
+import net.bytebuddy.implementation.Implementation
+import net.bytebuddy.implementation.MethodDelegation
+import net.bytebuddy.matcher.ElementMatcher
+import net.bytebuddy.matcher.ElementMatchers
+import net.iceyleagons.icicle.core.annotations.execution.Async
+import net.iceyleagons.icicle.core.annotations.execution.Sync
+import net.iceyleagons.icicle.core.annotations.handlers.proxy.MethodInterceptionHandler
+import net.iceyleagons.icicle.core.proxy.interfaces.MethodInterceptorHandlerTemplate
+import net.iceyleagons.icicle.core.utils.Kotlin
+
+/**
+ * Counterpart of the core SyncHandler for functions returning Deferred: they run in [IcicleDispatchers.mainScope] and return immediately.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+@MethodInterceptionHandler
+class DeferredSyncHandler(private val dispatchers: IcicleDispatchers) : MethodInterceptorHandlerTemplate {
+
+    override fun getMatcher(): ElementMatcher<in MethodDescription> =
+        ElementMatchers.isAnnotatedWith<MethodDescription>(Sync::class.java)
+            .and(ElementMatchers.not(ElementMatchers.isAnnotatedWith<MethodDescription>(Async::class.java)))
+            .and(ElementMatcher<MethodDescription> { Kotlin.isReturningDeferred(it) && !Kotlin.isSuspendingMethod(it) })
+
+    override fun getImplementation(): Implementation =
+        MethodDelegation.to(DeferredDelegation(dispatchers.mainScope), "delegate\$icicle\$sync\$deferred")
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import net.iceyleagons.icicle.core.annotations.PreDestroy
+import net.iceyleagons.icicle.core.annotations.Service
+import net.iceyleagons.icicle.core.utils.ExecutionHandler
+import java.lang.ref.WeakReference
+import java.util.*
+
+/**
+ * The coroutine dispatchers of an application, backed by its [ExecutionHandler].
+ * Created as a bean, so every application has exactly one instance (kept by its bean registry, released together with the application),
+ * and the async parallelism limit applies to the whole application. The coroutine handlers of Icicle get it injected.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+@Service
+class IcicleDispatchers(executionHandler: ExecutionHandler) {
+
+    /**
+     * Runs coroutines on the main thread.
+     */
+    val main: CoroutineDispatcher = MainThreadDispatcher(executionHandler)
+
+    /**
+     * Runs coroutines on the async threads of the application (bounded, see [AsyncDispatcher]).
+     */
+    val async: CoroutineDispatcher = AsyncDispatcher(executionHandler)
+
+    /**
+     * Scope of the coroutines started on the main thread by Icicle (ex. @Sync functions returning Deferred).
+     * Failure of a coroutine does not cancel the others.
+     */
+    val mainScope: CoroutineScope = CoroutineScope(SupervisorJob() + main)
+
+    /**
+     * Scope of the coroutines started on the async threads by Icicle (ex. @Async functions returning Deferred).
+     * Failure of a coroutine does not cancel the others.
+     */
+    val asyncScope: CoroutineScope = CoroutineScope(SupervisorJob() + async)
+
+    init {
+        synchronized(dispatchers) {
+            dispatchers[executionHandler] = WeakReference(this)
+        }
+    }
+
+    /**
+     * Cancels the coroutines started in [mainScope] and [asyncScope], called when the application shuts down.
+     * (Before the execution handler is shut down, so the cancelled coroutines can still run their finally blocks on their dispatchers.)
+     */
+    @PreDestroy
+    fun shutdown() {
+        mainScope.cancel("Application is shutting down")
+        asyncScope.cancel("Application is shutting down")
+    }
+
+    companion object {
+        // the values reference their handler, so they must not be kept strongly by the map (the entries would never expire)
+        private val dispatchers = WeakHashMap<ExecutionHandler, WeakReference<IcicleDispatchers>>()
+
+        /**
+         * Returns the dispatchers of the application using the handler.
+         * If there is no such application (or it has no dispatchers bean), a new instance is created, kept only as long as it's referenced
+         * (its scopes are not cancelled automatically, see [shutdown]).
+         */
+        @JvmStatic
+        fun of(executionHandler: ExecutionHandler): IcicleDispatchers = synchronized(dispatchers) {
+            dispatchers[executionHandler]?.get() ?: IcicleDispatchers(executionHandler)
+        }
+    }
+}
+
+val ExecutionHandler.mainDispatcher: CoroutineDispatcher
+    get() = IcicleDispatchers.of(this).main
+
+val ExecutionHandler.asyncDispatcher: CoroutineDispatcher
+    get() = IcicleDispatchers.of(this).async
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import net.iceyleagons.icicle.core.utils.ExecutionHandler
+import java.util.concurrent.Callable
+import java.util.concurrent.atomic.AtomicBoolean
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * Dispatches coroutines to the main thread through [ExecutionHandler.runSync].
+ *
+ * If the task cannot be scheduled, or it's discarded without running (ex. the plugin is already disabled), the coroutine is cancelled
+ * and resumed on [Dispatchers.IO], so it can run its finally blocks.
+ *
+ * @author TOTHTOMI
+ * @version 1.1.0
+ * @since Mar. 21, 2022
+ */
+class MainThreadDispatcher(private val executionHandler: ExecutionHandler) : CoroutineDispatcher() {
+
+    override fun dispatch(context: CoroutineContext, block: Runnable) {
+        val claimed = AtomicBoolean() // the block must run exactly once, either on the main thread or after the rejection
+
+        try {
+            executionHandler.runSync(Callable { if (claimed.compareAndSet(false, true)) block.run() })
+                .whenComplete { _, e ->
+                    if (e != null && claimed.compareAndSet(false, true)) rejectDispatch(context, block, REJECTED, e)
+                }
+        } catch (e: RuntimeException) {
+            if (claimed.compareAndSet(false, true)) rejectDispatch(context, block, REJECTED, e)
+        }
+    }
+
+    override fun toString(): String = "Icicle.Main"
+
+    private companion object {
+        const val REJECTED = "Main thread rejected the coroutine"
+    }
+}
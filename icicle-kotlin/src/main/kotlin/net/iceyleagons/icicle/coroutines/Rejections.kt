@@ -0,0 +1,39 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.cancel
+import java.util.concurrent.CancellationException
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * Handles a block the [net.iceyleagons.icicle.core.utils.ExecutionHandler] did not accept (ex. the application is already shut down):
+ * the coroutine is cancelled and resumed on [Dispatchers.IO], so it can run its finally blocks instead of hanging forever.
+ */
+internal fun rejectDispatch(context: CoroutineContext, block: Runnable, message: String, cause: Throwable) {
+    context.cancel(CancellationException(message).apply { initCause(cause) })
+    Dispatchers.IO.dispatch(context, block)
+}
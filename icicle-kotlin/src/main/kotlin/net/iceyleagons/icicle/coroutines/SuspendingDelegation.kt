@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.icicle.coroutines
+
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.withContext
+import net.bytebuddy.implementation.bind.annotation.*
+import net.iceyleagons.icicle.core.annotations.execution.extra.After
+import java.lang.reflect.InvocationTargetException
+import java.lang.reflect.Method
+import kotlin.coroutines.Continuation
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.intrinsics.startCoroutineUninterceptedOrReturn
+import kotlin.coroutines.intrinsics.suspendCoroutineUninterceptedOrReturn
+
+/**
+ * Runs the intercepted suspend functions in [context], as a child of the caller's coroutine (same as `withContext`),
+ * so cancellation and exceptions propagate the structured way. While the body is suspended it holds no thread.
+ *
+ * @After delays the body (without blocking), @Periodically is not supported for suspend functions.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+class SuspendingDelegation(private val context: CoroutineContext) {
+
+    @RuntimeType
+    @Suppress("UNCHECKED_CAST")
+    fun run(@This self: Any, @SuperMethod superMethod: Method, @AllArguments args: Array<Any?>, @Origin method: Method): Any? {
+        val continuation = args[args.size - 1] as Continuation<Any?>
+        val after = method.getAnnotation(After::class.java)
+        val delayMillis = after?.unit?.toMillis(after.delay) ?: 0L
+
+        val block: suspend () -> Any? = {
+            withContext(context) {
+                if (delayMillis > 0) delay(delayMillis)
+
+                suspendCoroutineUninterceptedOrReturn<Any?> {
+                    val arguments = args.copyOf()
+                    arguments[arguments.size - 1] = it
+
+                    try {
+                        superMethod.invoke(self, *arguments)
+                    } catch (e: InvocationTargetException) {
+                        throw e.targetException
+                    }
+                }
+            }
+        }
+
+        // returns COROUTINE_SUSPENDED to the caller, which is then resumed by withContext
+        return block.startCoroutineUninterceptedOrReturn(continuation)
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.kotlin.coroutines
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.delay
+
+/**
+ * Proxied by the tests, the functions record the threads they run on.
+ *
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+open class CoroutineTarget {
+
+    @Volatile
+    var started = false
+
+    @Volatile
+    var finallyThread: String? = null
+
+    open suspend fun threadAfterSuspension(): String {
+        delay(10)
+        return Thread.currentThread().name
+    }
+
+    open suspend fun waitForever() {
+        try {
+            started = true
+            awaitCancellation()
+        } finally {
+            finallyThread = Thread.currentThread().name
+        }
+    }
+
+    open fun deferredThread(): Deferred<String> = CompletableDeferred(Thread.currentThread().name)
+
+    open fun failingDeferred(): Deferred<String> = throw IllegalStateException("failed")
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.kotlin.coroutines
+
+import kotlinx.coroutines.cancelAndJoin
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import net.bytebuddy.ByteBuddy
+import net.bytebuddy.implementation.MethodDelegation
+import net.bytebuddy.matcher.ElementMatchers
+import net.iceyleagons.icicle.core.execution.StandaloneExecutionHandler
+import net.iceyleagons.icicle.coroutines.DeferredDelegation
+import net.iceyleagons.icicle.coroutines.IcicleDispatchers
+import net.iceyleagons.icicle.coroutines.SuspendingDelegation
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+class DelegationTest {
+
+    private val handler = StandaloneExecutionHandler("delegation-test")
+    private val dispatchers = IcicleDispatchers(handler)
+    private val mainThread = "Icicle-Main-delegation-test"
+
+    @AfterEach
+    fun shutdown() {
+        handler.shutdown()
+    }
+
+    private fun proxy(delegation: Any, method: String): CoroutineTarget =
+        ByteBuddy().subclass(CoroutineTarget::class.java)
+            .method(ElementMatchers.named(method))
+            .intercept(MethodDelegation.to(delegation))
+            .make()
+            .load(CoroutineTarget::class.java.classLoader)
+            .loaded
+            .getDeclaredConstructor()
+            .newInstance()
+
+    @Test
+    @DisplayName("Suspend functions resume on the main thread")
+    fun testSuspendingMain() {
+        val proxy = proxy(SuspendingDelegation(dispatchers.main), "threadAfterSuspension")
+        val caller = Thread.currentThread().name
+
+        runBlocking {
+            Assertions.assertEquals(mainThread, proxy.threadAfterSuspension())
+            Assertions.assertEquals(caller, Thread.currentThread().name) // the caller is resumed in its own context
+        }
+    }
+
+    @Test
+    @DisplayName("Cancellation propagates to the suspend function")
+    fun testCancellation() {
+        val proxy = proxy(SuspendingDelegation(dispatchers.main), "waitForever")
+
+        runBlocking {
+            val job = launch { proxy.waitForever() }
+            withTimeout(5000) {
+                while (!proxy.started) delay(5)
+            }
+
+            job.cancelAndJoin()
+            Assertions.assertTrue(job.isCancelled)
+        }
+
+        Assertions.assertEquals(mainThread, proxy.finallyThread)
+    }
+
+    @Test
+    @DisplayName("Deferred functions return immediately and run on the main thread")
+    fun testDeferred() {
+        val proxy = proxy(DeferredDelegation(dispatchers.mainScope), "deferredThread")
+        val deferred = proxy.deferredThread()
+
+        Assertions.assertEquals(mainThread, runBlocking { deferred.await() })
+    }
+
+    @Test
+    @DisplayName("Deferred functions complete exceptionally")
+    fun testDeferredFailure() {
+        val proxy = proxy(DeferredDelegation(dispatchers.mainScope), "failingDeferred")
+        val deferred = proxy.failingDeferred()
+
+        val exception = Assertions.assertThrows(IllegalStateException::class.java) { runBlocking { deferred.await() } }
+        Assertions.assertEquals("failed", exception.message)
+    }
+}
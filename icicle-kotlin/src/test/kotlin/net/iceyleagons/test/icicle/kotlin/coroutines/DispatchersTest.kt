@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2021 IceyLeagons and Contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package net.iceyleagons.test.icicle.kotlin.coroutines
+
+import kotlinx.coroutines.awaitCancellation
+import kotlinx.coroutines.joinAll
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeout
+import net.iceyleagons.icicle.core.execution.StandaloneExecutionHandler
+import net.iceyleagons.icicle.core.utils.ExecutionHandler
+import net.iceyleagons.icicle.core.utils.ExecutionUtils
+import net.iceyleagons.icicle.coroutines.AsyncDispatcher
+import net.iceyleagons.icicle.coroutines.IcicleDispatchers
+import net.iceyleagons.icicle.coroutines.mainDispatcher
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Test
+import java.lang.ref.WeakReference
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * @author TOTHTOMI
+ * @version 1.0.0
+ * @since Mar. 21, 2022
+ */
+class DispatchersTest {
+
+    private val handler = StandaloneExecutionHandler("dispatchers-test")
+
+    @AfterEach
+    fun shutdown() {
+        handler.shutdown()
+    }
+
+    @Test
+    @DisplayName("Main dispatcher runs on the main thread")
+    fun testMain() {
+        val dispatchers = IcicleDispatchers(handler)
+
+        runBlocking {
+            withContext(dispatchers.main) {
+                Assertions.assertTrue(handler.isMainThread)
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Async dispatcher respects its parallelism")
+    fun testParallelism() {
+        val dispatcher = AsyncDispatcher(handler, 2)
+        val active = AtomicInteger()
+        val maxActive = AtomicInteger()
+        val completed = AtomicInteger()
+
+        runBlocking {
+            (1..8).map {
+                launch(dispatcher) {
+                    Assertions.assertFalse(handler.isMainThread)
+                    maxActive.accumulateAndGet(active.incrementAndGet()) { a, b -> maxOf(a, b) }
+                    Thread.sleep(20)
+                    active.decrementAndGet()
+                    completed.incrementAndGet()
+                }
+            }.joinAll()
+        }
+
+        Assertions.assertEquals(8, completed.get())
+        Assertions.assertTrue(maxActive.get() <= 2, "At most 2 blocks should run at once, got ${maxActive.get()}")
+    }
+
+    @Test
+    @DisplayName("Lookup returns the instance of the application")
+    fun testLookup() {
+        val dispatchers = IcicleDispatchers(handler)
+
+        Assertions.assertSame(dispatchers, IcicleDispatchers.of(handler))
+        Assertions.assertSame(dispatchers.main, handler.mainDispatcher)
+    }
+
+    @Test
+    @DisplayName("Scopes are cancelled at shutdown")
+    fun testShutdown() {
+        val dispatchers = IcicleDispatchers(handler)
+        val main = dispatchers.mainScope.launch { awaitCancellation() }
+        val async = dispatchers.asyncScope.launch { awaitCancellation() }
+
+        dispatchers.shutdown()
+
+        runBlocking {
+            withTimeout(5000) {
+                main.join()
+                async.join()
+            }
+        }
+        Assertions.assertTrue(main.isCancelled)
+        Assertions.assertTrue(async.isCancelled)
+    }
+
+    private fun lookUpTemporaryHandler(): WeakReference<ExecutionHandler> {
+        val temporary = ExecutionUtils.debugHandler()
+        IcicleDispatchers.of(temporary)
+        return WeakReference(temporary)
+    }
+
+    @Test
+    @DisplayName("Handlers are not pinned by the lookup")
+    fun testRelease() {
+        val reference = lookUpTemporaryHandler()
+        for (i in 0 until 50) {
+            if (reference.get() == null) break
+            System.gc()
+            Thread.sleep(20)
+        }
+
+        Assertions.assertNull(reference.get())
+    }
+}